@@ -4,6 +4,7 @@ import android.util.Base64
 import android.util.Base64.DEFAULT
 import com.goterl.lazysodium.interfaces.SecretStream
 import com.goterl.lazysodium.utils.KeyPair
+import okio.Buffer
 import org.json.JSONObject
 import org.junit.Assert.assertEquals
 import org.junit.Assert.assertNotNull
@@ -14,6 +15,7 @@ import org.wordpress.android.fluxc.model.encryptedlogging.EncryptedSecretStreamK
 import org.wordpress.android.fluxc.model.encryptedlogging.EncryptionUtils
 import org.wordpress.android.fluxc.model.encryptedlogging.LogEncrypter
 import org.wordpress.android.fluxc.model.encryptedlogging.SecretStreamKey
+import java.io.File
 import java.util.UUID
 import kotlin.random.Random.Default.nextInt
 
@@ -89,8 +91,40 @@ class LogEncrypterTest {
         assertEquals(uuid, testUuid)
     }
 
+    @Test
+    fun testThatLogFilesCanBeDecrypted() {
+        val testLogString = (0..(nextInt(100) + 2)).joinToString(separator = "\n") { UUID.randomUUID().toString() }
+        assertEquals(testLogString, decryptContent(encryptFile(testLogString)))
+    }
+
+    @Test
+    fun testThatLogFilesEndingWithALineBreakCanBeDecrypted() {
+        val testLogString = UUID.randomUUID().toString() + "\n"
+        assertEquals(testLogString, decryptContent(encryptFile(testLogString)))
+    }
+
+    @Test
+    fun testThatLogFilesAreEncryptedLikeTheirText() {
+        val testLogString = (0..(nextInt(100) + 2)).joinToString(separator = "\n") { UUID.randomUUID().toString() }
+        assertEquals(
+                "There should be one message per line and the closing tag",
+                JSONObject(encryptContent(testLogString)).getJSONArray("messages").length(),
+                JSONObject(encryptFile(testLogString)).getJSONArray("messages").length()
+        )
+    }
+
     // Helpers
 
+    private fun encryptFile(content: String, uuid: String = UUID.randomUUID().toString()): String {
+        val file = File.createTempFile("log", ".txt").apply {
+            deleteOnExit()
+            writeText(content)
+        }
+        val encrypted = Buffer()
+        LogEncrypter(EncryptedLoggingKey(keypair.publicKey)).encrypt(file, uuid, encrypted)
+        return encrypted.readUtf8()
+    }
+
     private fun encryptContent(content: String, uuid: String = UUID.randomUUID().toString()): String {
         return LogEncrypter(EncryptedLoggingKey(keypair.publicKey)).encrypt(content, uuid)
     }
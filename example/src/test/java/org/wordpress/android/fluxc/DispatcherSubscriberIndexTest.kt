@@ -0,0 +1,128 @@
+package org.wordpress.android.fluxc
+
+import org.assertj.core.api.Assertions.assertThat
+import org.greenrobot.eventbus.EventBus
+import org.greenrobot.eventbus.EventBusBuilder
+import org.junit.After
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.mockito.Mockito.mock
+import org.robolectric.RobolectricTestRunner
+import org.wordpress.android.fluxc.annotations.action.Action
+import org.wordpress.android.fluxc.store.AccountStore
+import org.wordpress.android.fluxc.store.ActivityLogStore
+import org.wordpress.android.fluxc.store.CommentStore
+import org.wordpress.android.fluxc.store.CommentsStore
+import org.wordpress.android.fluxc.store.EditorThemeStore
+import org.wordpress.android.fluxc.store.EncryptedLogStore
+import org.wordpress.android.fluxc.store.JetpackStore
+import org.wordpress.android.fluxc.store.ListStore
+import org.wordpress.android.fluxc.store.MediaStore
+import org.wordpress.android.fluxc.store.NotificationStore
+import org.wordpress.android.fluxc.store.PageStore
+import org.wordpress.android.fluxc.store.PlanOffersStore
+import org.wordpress.android.fluxc.store.PluginStore
+import org.wordpress.android.fluxc.store.PostStore
+import org.wordpress.android.fluxc.store.ProductsStore
+import org.wordpress.android.fluxc.store.QuickStartStore
+import org.wordpress.android.fluxc.store.ReaderStore
+import org.wordpress.android.fluxc.store.ScanStore
+import org.wordpress.android.fluxc.store.SiteStore
+import org.wordpress.android.fluxc.store.StockMediaStore
+import org.wordpress.android.fluxc.store.TaxonomyStore
+import org.wordpress.android.fluxc.store.ThemeStore
+import org.wordpress.android.fluxc.store.TransactionsStore
+import org.wordpress.android.fluxc.store.UploadStore
+import org.wordpress.android.fluxc.store.VerticalStore
+import org.wordpress.android.fluxc.store.WCOrderFetcher
+import org.wordpress.android.fluxc.store.WCOrderStore
+import org.wordpress.android.fluxc.store.WCProductStore
+import org.wordpress.android.fluxc.store.WCStatsStore
+import org.wordpress.android.fluxc.store.WhatsNewStore
+import org.wordpress.android.fluxc.store.WooCommerceStore
+
+@RunWith(RobolectricTestRunner::class)
+class DispatcherSubscriberIndexTest {
+    @After
+    fun tearDown() {
+        EventBus.clearCaches()
+    }
+
+    @Test
+    fun `the generated indexes cover the subscribers of the core and woocommerce modules`() {
+        val indexes = Dispatcher.loadSubscriberIndexes()
+
+        assertThat(indexes.map { it.javaClass.simpleName })
+                .containsExactly("FluxCEventBusIndex", "WooCommerceEventBusIndex")
+        SUBSCRIBER_CLASSES.forEach { subscriberClass ->
+            assertThat(indexes.mapNotNull { it.getSubscriberInfo(subscriberClass) })
+                    .describedAs(subscriberClass.simpleName)
+                    .hasSize(1)
+        }
+    }
+
+    @Test
+    fun `registering the stores with the indexes finds the same subscribers as with reflection`() {
+        // Mocks of the inline mock maker have the class of the store, without running its constructor
+        val subscribers = SUBSCRIBER_CLASSES.map { mock(it) }
+
+        val reflectionBus = EventBus.builder().build()
+        register(reflectionBus, subscribers)
+        val indexedBus = EventBus.builder().apply { addIndexes() }.build()
+        register(indexedBus, subscribers)
+
+        subscribers.forEach { subscriber ->
+            assertThat(indexedBus.isRegistered(subscriber)).isTrue
+        }
+        listOf(Action::class.java, WCOrderStore.OnOrdersFetchedByIds::class.java).forEach { eventClass ->
+            assertThat(indexedBus.hasSubscriberForEvent(eventClass)).isTrue
+            assertThat(reflectionBus.hasSubscriberForEvent(eventClass)).isTrue
+        }
+    }
+
+    private fun EventBusBuilder.addIndexes() {
+        Dispatcher.loadSubscriberIndexes().forEach { addIndex(it) }
+    }
+
+    private fun register(bus: EventBus, subscribers: List<Any>) {
+        // The subscriber methods found are cached across buses, so that each bus looks them up on its own
+        EventBus.clearCaches()
+        subscribers.forEach { bus.register(it) }
+    }
+
+    private companion object {
+        val SUBSCRIBER_CLASSES = listOf(
+                AccountStore::class.java,
+                ActivityLogStore::class.java,
+                CommentStore::class.java,
+                CommentsStore::class.java,
+                EditorThemeStore::class.java,
+                EncryptedLogStore::class.java,
+                JetpackStore::class.java,
+                ListStore::class.java,
+                MediaStore::class.java,
+                NotificationStore::class.java,
+                PageStore::class.java,
+                PlanOffersStore::class.java,
+                PluginStore::class.java,
+                PostStore::class.java,
+                ProductsStore::class.java,
+                QuickStartStore::class.java,
+                ReaderStore::class.java,
+                ScanStore::class.java,
+                SiteStore::class.java,
+                StockMediaStore::class.java,
+                TaxonomyStore::class.java,
+                ThemeStore::class.java,
+                TransactionsStore::class.java,
+                UploadStore::class.java,
+                VerticalStore::class.java,
+                WhatsNewStore::class.java,
+                WCOrderFetcher::class.java,
+                WCOrderStore::class.java,
+                WCProductStore::class.java,
+                WCStatsStore::class.java,
+                WooCommerceStore::class.java
+        )
+    }
+}
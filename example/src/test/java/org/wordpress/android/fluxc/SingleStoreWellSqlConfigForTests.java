@@ -8,6 +8,7 @@ import com.yarolegovich.wellsql.WellTableManager;
 import com.yarolegovich.wellsql.core.Identifiable;
 import com.yarolegovich.wellsql.core.TableClass;
 
+import org.wordpress.android.fluxc.persistence.SiteSqlUtils;
 import org.wordpress.android.fluxc.persistence.WellSqlConfig;
 
 import java.util.ArrayList;
@@ -58,5 +59,6 @@ public class SingleStoreWellSqlConfigForTests extends WellSqlConfig {
             db.execSQL("DROP TABLE " + table.getTableName());
             db.execSQL(table.createStatement());
         }
+        SiteSqlUtils.invalidateSiteCache();
     }
 }
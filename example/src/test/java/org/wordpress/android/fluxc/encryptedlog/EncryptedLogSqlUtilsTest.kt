@@ -166,18 +166,48 @@ class EncryptedLogSqlUtilsTest {
         assertThat(sqlUtils.getEncryptedLogsForUpload().firstOrNull()?.uploadState).isEqualTo(QUEUED)
     }
 
+    @Test
+    fun `test get encrypted logs due for upload excludes logs to retry later`() {
+        val now = Date()
+        sqlUtils.insertOrUpdateEncryptedLog(createTestEncryptedLog(uuid = "due", nextAttemptDate = now))
+        sqlUtils.insertOrUpdateEncryptedLog(
+                createTestEncryptedLog(uuid = "later", uploadState = FAILED, nextAttemptDate = Date(now.time + 1))
+        )
+
+        assertThat(sqlUtils.getEncryptedLogsDueForUpload(now).map { it.uuid }).containsExactly("due")
+        assertThat(sqlUtils.getEncryptedLogsForUpload()).hasSize(2)
+    }
+
+    @Test
+    fun `test get next upload attempt date returns the earliest future attempt`() {
+        val now = Date()
+        listOf(now.time - 1, now.time + 2, now.time + 1).forEachIndexed { index, nextAttemptTime ->
+            sqlUtils.insertOrUpdateEncryptedLog(
+                    createTestEncryptedLog(uuid = "uuid-$index", nextAttemptDate = Date(nextAttemptTime))
+            )
+        }
+        sqlUtils.insertOrUpdateEncryptedLog(
+                createTestEncryptedLog(uploadState = UPLOADING, nextAttemptDate = Date(now.time + 1))
+        )
+
+        assertThat(sqlUtils.getNextUploadAttemptDate(after = now)).isEqualTo(Date(now.time + 1))
+        assertThat(sqlUtils.getNextUploadAttemptDate(after = Date(now.time + 2))).isNull()
+    }
+
     private fun getTestEncryptedLogFromDB(uuid: String = TEST_UUID) = sqlUtils.getEncryptedLog(uuid)
 
     private fun createTestEncryptedLog(
         uuid: String = TEST_UUID,
         filePath: String = TEST_FILE_PATH,
         dateCreated: Date = Date(),
-        uploadState: EncryptedLogUploadState = QUEUED
+        uploadState: EncryptedLogUploadState = QUEUED,
+        nextAttemptDate: Date = Date(0)
     ) = EncryptedLog(
             uuid = uuid,
             file = File(filePath),
             // Bypass the annoying milliseconds comparison issue
             dateCreated = Date.from(dateCreated.toInstant().truncatedTo(SECONDS)),
-            uploadState = uploadState
+            uploadState = uploadState,
+            nextAttemptDate = nextAttemptDate
     )
 }
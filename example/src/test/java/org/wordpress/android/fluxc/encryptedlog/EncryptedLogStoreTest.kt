@@ -0,0 +1,244 @@
+package org.wordpress.android.fluxc.encryptedlog
+
+import com.yarolegovich.wellsql.WellSql
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.asCoroutineDispatcher
+import kotlinx.coroutines.runBlocking
+import okhttp3.Call
+import okhttp3.Callback
+import okhttp3.OkHttpClient
+import okhttp3.Protocol
+import okhttp3.Request
+import okhttp3.Response
+import okhttp3.ResponseBody.Companion.toResponseBody
+import okio.Timeout
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.After
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+import org.junit.runner.RunWith
+import org.mockito.kotlin.any
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.whenever
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.RuntimeEnvironment
+import org.wordpress.android.fluxc.Dispatcher
+import org.wordpress.android.fluxc.SingleStoreWellSqlConfigForTests
+import org.wordpress.android.fluxc.model.encryptedlogging.EncryptedLog
+import org.wordpress.android.fluxc.model.encryptedlogging.EncryptedLogModel
+import org.wordpress.android.fluxc.model.encryptedlogging.EncryptedLogUploadState.FAILED
+import org.wordpress.android.fluxc.network.rest.wpcom.auth.AppSecrets
+import org.wordpress.android.fluxc.network.rest.wpcom.encryptedlog.EncryptedLogRestClient
+import org.wordpress.android.fluxc.persistence.EncryptedLogSqlUtils
+import org.wordpress.android.fluxc.store.EncryptedLogStore
+import org.wordpress.android.fluxc.tools.CoroutineEngine
+import org.wordpress.android.fluxc.utils.PreferenceUtils.PreferenceUtilsWrapper
+import java.text.SimpleDateFormat
+import java.util.Collections
+import java.util.Date
+import java.util.Locale
+import java.util.TimeZone
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+@RunWith(RobolectricTestRunner::class)
+class EncryptedLogStoreTest {
+    @get:Rule val tempFolder = TemporaryFolder()
+
+    private val okHttpClient = mock<OkHttpClient>()
+    private val engineJob = SupervisorJob()
+    private val engineExecutor = Executors.newSingleThreadExecutor()
+    private val sqlUtils = EncryptedLogSqlUtils()
+    private val callTimes: MutableList<Long> = Collections.synchronizedList(mutableListOf())
+    private lateinit var server: (Request) -> Response
+    private lateinit var store: EncryptedLogStore
+
+    @Before
+    fun setUp() {
+        val appContext = RuntimeEnvironment.application.applicationContext
+        val config = SingleStoreWellSqlConfigForTests(appContext, EncryptedLogModel::class.java)
+        WellSql.init(config)
+        config.reset()
+
+        whenever(okHttpClient.newCall(any())).thenAnswer { FakeCall(it.getArgument(0)) }
+        store = EncryptedLogStore(
+                EncryptedLogRestClient(okHttpClient, AppSecrets("app-id", "app-secret")),
+                sqlUtils,
+                CoroutineEngine(engineJob + engineExecutor.asCoroutineDispatcher(), mock()),
+                mock(),
+                PreferenceUtilsWrapper(appContext),
+                mock<Dispatcher>()
+        )
+    }
+
+    @After
+    fun tearDown() {
+        engineJob.cancel()
+        engineExecutor.shutdownNow()
+    }
+
+    @Test
+    fun `at most three logs are uploaded at once`() {
+        val release = CountDownLatch(1)
+        val running = AtomicInteger()
+        val maxRunning = AtomicInteger()
+        server = { request ->
+            maxRunning.accumulateAndGet(running.incrementAndGet()) { a, b -> maxOf(a, b) }
+            release.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)
+            running.decrementAndGet()
+            response(request, HTTP_OK)
+        }
+        repeat(5) { queueLog("log-$it") }
+
+        runBlocking { store.uploadQueuedEncryptedLogs() }
+
+        awaitUntil { callTimes.size == MAX_CONCURRENT_UPLOADS }
+        // Leaves time for a fourth upload to start, if the store didn't wait for one of the first three
+        Thread.sleep(SETTLE_MS)
+        assertThat(callTimes).hasSize(MAX_CONCURRENT_UPLOADS)
+
+        release.countDown()
+
+        awaitUntil { sqlUtils.getEncryptedLogsForUpload().isEmpty() && callTimes.size == 5 }
+        assertThat(maxRunning.get()).isEqualTo(MAX_CONCURRENT_UPLOADS)
+    }
+
+    @Test
+    fun `a failed log is retried after an exponential backoff with jitter`() {
+        server = { response(it, HTTP_SERVICE_UNAVAILABLE) }
+        // The backoff of the next retry, from the number of retries so far
+        val backoffs = mapOf(
+                0 to TimeUnit.MINUTES.toMillis(1),
+                1 to TimeUnit.MINUTES.toMillis(2),
+                2 to TimeUnit.MINUTES.toMillis(4),
+                10 to TimeUnit.HOURS.toMillis(1)
+        )
+        backoffs.keys.forEach { queueLog("log-$it", retryCount = it) }
+        val before = System.currentTimeMillis()
+
+        runBlocking { store.uploadQueuedEncryptedLogs() }
+
+        awaitUntil { backoffs.keys.all { sqlUtils.getEncryptedLog("log-$it")?.uploadState == FAILED } }
+        val after = System.currentTimeMillis()
+        backoffs.forEach { (retryCount, backoff) ->
+            val log = sqlUtils.getEncryptedLog("log-$retryCount")!!
+            assertThat(log.retryCount).isEqualTo(retryCount + 1)
+            // The jitter takes up to half of the backoff off
+            assertThat(log.nextAttemptDate.time).isBetween(before + backoff / 2, after + backoff)
+        }
+    }
+
+    @Test
+    fun `a retry after delay in seconds replaces the backoff`() {
+        server = { response(it, HTTP_SERVICE_UNAVAILABLE, retryAfter = "120") }
+        queueLog("log")
+        val before = System.currentTimeMillis()
+
+        runBlocking { store.uploadQueuedEncryptedLogs() }
+
+        awaitUntil { sqlUtils.getEncryptedLog("log")?.uploadState == FAILED }
+        val after = System.currentTimeMillis()
+        val retryAfter = TimeUnit.SECONDS.toMillis(120)
+        assertThat(sqlUtils.getEncryptedLog("log")!!.nextAttemptDate.time)
+                .isBetween(before + retryAfter, after + retryAfter)
+    }
+
+    @Test
+    fun `a retry after http date replaces the backoff`() {
+        // HTTP dates have a precision of one second
+        val retryDate = (System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(10)) / 1000 * 1000
+        server = { response(it, HTTP_SERVICE_UNAVAILABLE, retryAfter = toHttpDate(retryDate)) }
+        queueLog("log")
+        val before = System.currentTimeMillis()
+
+        runBlocking { store.uploadQueuedEncryptedLogs() }
+
+        awaitUntil { sqlUtils.getEncryptedLog("log")?.uploadState == FAILED }
+        val after = System.currentTimeMillis()
+        assertThat(sqlUtils.getEncryptedLog("log")!!.nextAttemptDate.time)
+                .isBetween(retryDate, retryDate + (after - before))
+    }
+
+    @Test
+    fun `too many requests pause every upload until the retry after delay`() {
+        server = { request ->
+            if (callTimes.size == 1) {
+                response(request, HTTP_TOO_MANY_REQUESTS, TOO_MANY_REQUESTS_BODY, retryAfter = "1")
+            } else {
+                response(request, HTTP_OK)
+            }
+        }
+        queueLog("rate-limited-log")
+        runBlocking { store.uploadQueuedEncryptedLogs() }
+        awaitUntil { sqlUtils.getEncryptedLog("rate-limited-log")?.uploadState == FAILED }
+
+        queueLog("other-log")
+        runBlocking { store.uploadQueuedEncryptedLogs() }
+
+        assertThat(callTimes).hasSize(1)
+        awaitUntil { sqlUtils.getEncryptedLogsForUpload().isEmpty() && callTimes.size == 3 }
+        assertThat(callTimes.drop(1)).allMatch { it >= callTimes.first() + TimeUnit.SECONDS.toMillis(1) }
+    }
+
+    private fun queueLog(uuid: String, retryCount: Int = 0) {
+        sqlUtils.insertOrUpdateEncryptedLog(EncryptedLog(uuid, tempFolder.newFile(uuid), retryCount = retryCount))
+    }
+
+    private fun awaitUntil(condition: () -> Boolean) {
+        val deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS)
+        while (!condition() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(POLL_MS)
+        }
+        assertThat(condition()).isTrue
+    }
+
+    private fun response(request: Request, code: Int, body: String = "", retryAfter: String? = null) =
+            Response.Builder()
+                    .request(request)
+                    .protocol(Protocol.HTTP_1_1)
+                    .code(code)
+                    .message("")
+                    .apply { retryAfter?.let { header("Retry-After", it) } }
+                    .body(body.toResponseBody())
+                    .build()
+
+    private fun toHttpDate(time: Long) = SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.US)
+            .apply { timeZone = TimeZone.getTimeZone("GMT") }
+            .format(Date(time))
+
+    private inner class FakeCall(private val request: Request) : Call {
+        override fun request() = request
+
+        override fun execute(): Response {
+            callTimes.add(System.currentTimeMillis())
+            return server(request)
+        }
+
+        override fun enqueue(responseCallback: Callback) = throw UnsupportedOperationException()
+
+        override fun cancel() = Unit // Do nothing (ignore)
+
+        override fun isExecuted() = callTimes.isNotEmpty()
+
+        override fun isCanceled() = false
+
+        override fun timeout() = Timeout.NONE
+
+        override fun clone() = FakeCall(request)
+    }
+
+    private companion object {
+        const val MAX_CONCURRENT_UPLOADS = 3
+        const val HTTP_OK = 200
+        const val HTTP_TOO_MANY_REQUESTS = 429
+        const val HTTP_SERVICE_UNAVAILABLE = 503
+        const val TOO_MANY_REQUESTS_BODY = "{\"error\":\"too_many_requests\",\"message\":\"Please slow down.\"}"
+        const val TIMEOUT_SECONDS = 10L
+        const val SETTLE_MS = 200L
+        const val POLL_MS = 10L
+    }
+}
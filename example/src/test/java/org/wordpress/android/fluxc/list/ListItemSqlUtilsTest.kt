@@ -6,12 +6,14 @@ import org.junit.Test
 import org.junit.runner.RunWith
 import org.robolectric.RobolectricTestRunner
 import org.robolectric.RuntimeEnvironment
+import org.wordpress.android.fluxc.model.LocalOrRemoteId.RemoteId
 import org.wordpress.android.fluxc.model.SiteModel
 import org.wordpress.android.fluxc.model.list.ListDescriptor
 import org.wordpress.android.fluxc.model.list.ListItemModel
 import org.wordpress.android.fluxc.model.list.ListModel
 import org.wordpress.android.fluxc.model.list.PostListDescriptor.PostListDescriptorForRestSite
 import org.wordpress.android.fluxc.model.list.PostListDescriptor.PostListDescriptorForXmlRpcSite
+import org.wordpress.android.fluxc.model.list.RemoteItemIdList
 import org.wordpress.android.fluxc.persistence.ListItemSqlUtils
 import org.wordpress.android.fluxc.persistence.ListSqlUtils
 import org.wordpress.android.fluxc.persistence.WellSqlConfig
@@ -52,6 +54,36 @@ class ListItemSqlUtilsTest {
         assertEquals(count.toLong(), listItemSqlUtils.getListItemsCount(testList.id))
     }
 
+    @Test
+    fun testGetListItemRemoteIds() {
+        val testList = insertTestList(PostListDescriptorForRestSite(testSite()))
+        val remoteItemIds = listOf(42L, 7L, 19L, 3L)
+        listItemSqlUtils.insertItemList(remoteItemIds.map { ListItemModel(testList.id, it) })
+        val otherList = insertTestList(PostListDescriptorForXmlRpcSite(testSite(112)))
+        listItemSqlUtils.insertItemList(listOf(ListItemModel(otherList.id, 100L)))
+
+        assertEquals(remoteItemIds, listItemSqlUtils.getListItemRemoteIds(testList.id).toList())
+        assertEquals(
+                listItemSqlUtils.getListItems(testList.id).map { it.remoteItemId },
+                listItemSqlUtils.getListItemRemoteIds(testList.id).toList()
+        )
+        assertEquals(0, listItemSqlUtils.getListItemRemoteIds(testList.id + 1000).size)
+    }
+
+    @Test
+    fun testGetListItemRemoteIdsOfLargeList() {
+        val count = 2_000
+        val testList = insertTestList(PostListDescriptorForRestSite(testSite()))
+        listItemSqlUtils.insertItemList(generateItemList(testList, count))
+
+        // Snapshot of the remote ids as it was taken from the models, compared to the id-only snapshot
+        val fromModels = listItemSqlUtils.getListItems(testList.id).map { RemoteId(it.remoteItemId) }
+        val fromIds = RemoteItemIdList(listItemSqlUtils.getListItemRemoteIds(testList.id))
+
+        assertEquals(count, fromIds.size)
+        assertEquals(fromModels, fromIds)
+    }
+
     @Test
     fun testListIdForeignKeyCascadeDelete() {
         val listDescriptor = PostListDescriptorForRestSite(testSite())
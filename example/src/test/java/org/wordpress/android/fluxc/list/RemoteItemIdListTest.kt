@@ -0,0 +1,67 @@
+package org.wordpress.android.fluxc.list
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+import org.mockito.kotlin.any
+import org.mockito.kotlin.argumentCaptor
+import org.mockito.kotlin.eq
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.verify
+import org.mockito.kotlin.whenever
+import org.wordpress.android.fluxc.model.LocalOrRemoteId.RemoteId
+import org.wordpress.android.fluxc.model.list.RemoteItemIdList
+import org.wordpress.android.fluxc.model.list.datasource.InternalPagedListDataSource
+import org.wordpress.android.fluxc.model.list.datasource.ListItemDataSourceInterface
+import kotlin.test.assertFailsWith
+
+class RemoteItemIdListTest {
+    private val ids = longArrayOf(10, 20, 30, 40, 50)
+    private val list = RemoteItemIdList(ids)
+
+    @Test
+    fun `elements are the remote ids of the array`() {
+        assertThat(list).containsExactly(RemoteId(10), RemoteId(20), RemoteId(30), RemoteId(40), RemoteId(50))
+        assertThat(list.getLong(2)).isEqualTo(30L)
+        assertThat(list).isEqualTo(ids.map { RemoteId(it) })
+    }
+
+    @Test
+    fun `sub lists are slices of the same array`() {
+        val subList = list.subList(1, 4)
+        val subSubList = subList.subList(1, 3)
+
+        assertThat(subList).containsExactly(RemoteId(20), RemoteId(30), RemoteId(40))
+        assertThat(subSubList).containsExactly(RemoteId(30), RemoteId(40))
+        assertThat(subSubList.getLong(0)).isEqualTo(30L)
+        assertThat(subSubList.toLongArray()).containsExactly(30L, 40L)
+        assertThat(list.subList(2, 2)).isEmpty()
+    }
+
+    @Test
+    fun `indexes outside of the slice are rejected`() {
+        val subList = list.subList(1, 3)
+
+        assertFailsWith<IndexOutOfBoundsException> { subList.getLong(2) }
+        assertFailsWith<IndexOutOfBoundsException> { subList[-1] }
+        assertFailsWith<IndexOutOfBoundsException> { subList.subList(0, 3) }
+        assertFailsWith<IndexOutOfBoundsException> { list.subList(3, 2) }
+    }
+
+    @Test
+    fun `the data source slices a snapshot of remote ids without copying it`() {
+        val itemDataSource = mock<ListItemDataSourceInterface<TestListDescriptor, RemoteId, String>>()
+        val descriptor = TestListDescriptor()
+        whenever(itemDataSource.getItemIdentifiers(eq(descriptor), any(), any())).thenAnswer {
+            it.getArgument<List<RemoteId>>(1)
+        }
+        val dataSource = InternalPagedListDataSource(descriptor, list, false, itemDataSource)
+
+        dataSource.getItemsInRange(1, 3)
+
+        val captor = argumentCaptor<List<RemoteId>>()
+        verify(itemDataSource).getItemsAndFetchIfNecessary(eq(descriptor), captor.capture())
+        assertThat(captor.firstValue).isInstanceOf(RemoteItemIdList::class.java)
+        assertThat(captor.firstValue).containsExactly(RemoteId(20), RemoteId(30))
+        assertThat(dataSource.totalSize).isEqualTo(ids.size)
+    }
+}
@@ -0,0 +1,33 @@
+package org.wordpress.android.fluxc.network
+
+import okhttp3.OkHttpClient
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+
+class OkHttpStackTest {
+    private val baseClient = OkHttpClient.Builder().build()
+
+    @Test
+    fun `clients are reused for the same timeout`() {
+        val stack = OkHttpStack(baseClient)
+
+        val client = stack.getTimeoutAwareClient(BaseRequest.DEFAULT_REQUEST_TIMEOUT)
+
+        assertThat(stack.getTimeoutAwareClient(BaseRequest.DEFAULT_REQUEST_TIMEOUT)).isSameAs(client)
+        assertThat(client.connectTimeoutMillis()).isEqualTo(BaseRequest.DEFAULT_REQUEST_TIMEOUT)
+        assertThat(client.readTimeoutMillis()).isEqualTo(BaseRequest.DEFAULT_REQUEST_TIMEOUT)
+        assertThat(client.writeTimeoutMillis()).isEqualTo(BaseRequest.DEFAULT_REQUEST_TIMEOUT)
+        assertThat(client.connectionPool()).isSameAs(baseClient.connectionPool())
+    }
+
+    @Test
+    fun `clients are built for each distinct timeout`() {
+        val stack = OkHttpStack(baseClient)
+
+        val defaultClient = stack.getTimeoutAwareClient(BaseRequest.DEFAULT_REQUEST_TIMEOUT)
+        val uploadClient = stack.getTimeoutAwareClient(BaseRequest.UPLOAD_REQUEST_READ_TIMEOUT)
+
+        assertThat(uploadClient).isNotSameAs(defaultClient)
+        assertThat(uploadClient.readTimeoutMillis()).isEqualTo(BaseRequest.UPLOAD_REQUEST_READ_TIMEOUT)
+    }
+}
@@ -0,0 +1,144 @@
+package org.wordpress.android.fluxc.network
+
+import com.android.volley.Cache
+import com.android.volley.ExecutorDelivery
+import com.android.volley.Network
+import com.android.volley.NetworkResponse
+import com.android.volley.Request
+import com.android.volley.RequestQueue
+import com.android.volley.Response
+import com.android.volley.toolbox.NoCache
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.After
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.mockito.kotlin.mock
+import org.robolectric.RobolectricTestRunner
+import java.util.Collections
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+@RunWith(RobolectricTestRunner::class)
+class SharedEngineNetworkTest {
+    private val deliveryExecutor = Executors.newSingleThreadExecutor()
+    private val blockingNetwork = BlockingNetwork()
+
+    @After
+    fun tearDown() {
+        blockingNetwork.release.countDown()
+        deliveryExecutor.shutdown()
+    }
+
+    @Test
+    fun `requests are performed with the network they were assigned to`() {
+        val defaultNetwork = RecordingNetwork()
+        val namedNetwork = RecordingNetwork()
+        val sharedNetwork = SharedEngineNetwork(defaultNetwork, SharedEngineNetwork.UNLIMITED_REQUESTS_PER_HOST)
+        val assignedRequest = TestRequest("https://public-api.wordpress.com/rest/v1.1/me")
+        val unassignedRequest = TestRequest("https://public-api.wordpress.com/rest/v1.1/sites")
+
+        sharedNetwork.add(mock(), assignedRequest, namedNetwork)
+        sharedNetwork.performRequest(assignedRequest)
+        sharedNetwork.performRequest(unassignedRequest)
+
+        assertThat(namedNetwork.performed).containsExactly(assignedRequest)
+        assertThat(defaultNetwork.performed).containsExactly(unassignedRequest)
+        assertThat(sharedNetwork.isAssignedTo(assignedRequest, namedNetwork)).isTrue
+        assertThat(sharedNetwork.isAssignedTo(unassignedRequest, namedNetwork)).isFalse
+    }
+
+    @Test
+    fun `requests over the host limit wait without holding a dispatcher thread`() {
+        val maxPerHost = 2
+        val sharedNetwork = SharedEngineNetwork(blockingNetwork, maxPerHost)
+        val sharedQueue = startSharedQueue(sharedNetwork, threadPoolSize = 5)
+
+        repeat(4) { sharedNetwork.add(sharedQueue, TestRequest("https://example.com/$it"), blockingNetwork) }
+        repeat(2) { sharedNetwork.add(sharedQueue, TestRequest("https://example.org/$it"), blockingNetwork) }
+        // Only four of the five threads are busy, the waiting example.com requests don't block this one
+        sharedNetwork.add(sharedQueue, TestRequest("https://example.net/0"), blockingNetwork)
+
+        assertThat(blockingNetwork.awaitStarted(5)).isTrue
+        assertThat(blockingNetwork.startedUrls.filter { it.contains("example.com") }).hasSize(maxPerHost)
+
+        blockingNetwork.release.countDown()
+
+        assertThat(blockingNetwork.awaitCompleted(7)).isTrue
+        assertThat(blockingNetwork.startedUrls.filter { it.contains("example.com") }).hasSize(4)
+        sharedQueue.stop()
+    }
+
+    @Test
+    fun `cancelling a named queue cancels the requests waiting for their host`() {
+        val sharedNetwork = SharedEngineNetwork(blockingNetwork, 1)
+        val sharedQueue = startSharedQueue(sharedNetwork, threadPoolSize = 2)
+        val namedQueue = NamedRequestQueue(sharedQueue, sharedNetwork, blockingNetwork)
+        val waitingRequest = TestRequest("https://example.com/1").also { it.setTag(TAG) }
+
+        namedQueue.add(TestRequest("https://example.com/0"))
+        namedQueue.add(waitingRequest)
+        assertThat(blockingNetwork.awaitStarted(1)).isTrue
+
+        namedQueue.cancelAll(TAG)
+        blockingNetwork.release.countDown()
+
+        assertThat(blockingNetwork.awaitCompleted(1)).isTrue
+        assertThat(waitingRequest.isCanceled).isTrue
+        assertThat(blockingNetwork.startedUrls).containsExactly("https://example.com/0")
+        sharedQueue.stop()
+    }
+
+    private fun startSharedQueue(sharedNetwork: SharedEngineNetwork, threadPoolSize: Int) =
+        RequestQueue(NoCache(), sharedNetwork, threadPoolSize, ExecutorDelivery(deliveryExecutor)).apply {
+            addRequestFinishedListener(sharedNetwork)
+            start()
+        }
+
+    private class RecordingNetwork : Network {
+        val performed = mutableListOf<Request<*>>()
+
+        override fun performRequest(request: Request<*>): NetworkResponse {
+            performed.add(request)
+            return NetworkResponse(ByteArray(0))
+        }
+    }
+
+    private class BlockingNetwork : Network {
+        val release = CountDownLatch(1)
+        val startedUrls: MutableList<String> = Collections.synchronizedList(mutableListOf())
+        private val completed = AtomicInteger()
+
+        override fun performRequest(request: Request<*>): NetworkResponse {
+            startedUrls.add(request.url)
+            release.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)
+            completed.incrementAndGet()
+            return NetworkResponse(ByteArray(0))
+        }
+
+        fun awaitStarted(count: Int) = awaitCount(count) { startedUrls.size }
+
+        fun awaitCompleted(count: Int) = awaitCount(count) { completed.get() }
+
+        private fun awaitCount(count: Int, current: () -> Int): Boolean {
+            val deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS)
+            while (current() < count && System.currentTimeMillis() < deadline) {
+                Thread.sleep(1)
+            }
+            return current() >= count
+        }
+    }
+
+    private class TestRequest(url: String) : Request<String>(Method.GET, url, null) {
+        override fun deliverResponse(response: String?) = Unit // Do nothing (ignore)
+
+        override fun parseNetworkResponse(response: NetworkResponse?): Response<String> =
+            Response.success("", Cache.Entry())
+    }
+
+    private companion object {
+        const val TIMEOUT_SECONDS = 5L
+        const val TAG = "tag"
+    }
+}
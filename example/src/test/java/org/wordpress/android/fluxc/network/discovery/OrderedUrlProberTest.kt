@@ -0,0 +1,135 @@
+package org.wordpress.android.fluxc.network.discovery
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+import org.wordpress.android.fluxc.network.discovery.SelfHostedEndpointFinder.DiscoveryError
+import org.wordpress.android.fluxc.network.discovery.SelfHostedEndpointFinder.DiscoveryException
+import java.util.Collections
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import kotlin.test.assertFailsWith
+
+class OrderedUrlProberTest {
+    private val prober = OrderedUrlProber(0)
+
+    @Test
+    fun `urls are probed concurrently`() {
+        val allStarted = CountDownLatch(URLS.size)
+
+        val outcomes = prober.probe(URLS, probe { _ ->
+            allStarted.countDown()
+            // Would time out if the probes ran one after another
+            allStarted.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)
+        })
+
+        assertThat(outcomes).containsExactly(true, true, true)
+    }
+
+    @Test
+    fun `the first final outcome in order wins even if a later url answers first`() {
+        val outcomes = prober.probe(URLS, probe(isFinalOutcome = { it != "not found" }) { url ->
+            if (url == URLS[0]) {
+                Thread.sleep(SLOW_PROBE_MS)
+                "not found"
+            } else {
+                url
+            }
+        })
+
+        assertThat(outcomes).containsExactly("not found", URLS[1])
+    }
+
+    @Test
+    fun `an error of an earlier url takes precedence over a later working url`() {
+        val error = assertFailsWith<DiscoveryException> {
+            prober.probe(URLS, probe { url ->
+                if (url == URLS[0]) {
+                    Thread.sleep(SLOW_PROBE_MS)
+                    throw DiscoveryException(DiscoveryError.ERRONEOUS_SSL_CERTIFICATE, url)
+                }
+                true
+            })
+        }
+
+        assertThat(error.discoveryError).isEqualTo(DiscoveryError.ERRONEOUS_SSL_CERTIFICATE)
+        assertThat(error.failedUrl).isEqualTo(URLS[0])
+    }
+
+    @Test
+    fun `the probes of the urls after the final outcome are cancelled`() {
+        val cancelled = CountDownLatch(URLS.size - 1)
+
+        val outcomes = prober.probe(URLS, probe { url ->
+            if (url != URLS[0]) {
+                try {
+                    Thread.sleep(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS))
+                } catch (e: InterruptedException) {
+                    cancelled.countDown()
+                }
+            }
+            true
+        })
+
+        assertThat(outcomes).containsExactly(true)
+        assertThat(cancelled.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue
+    }
+
+    @Test
+    fun `the outcomes of all urls are returned when none is final`() {
+        val outcomes = prober.probe(URLS, probe { false })
+
+        assertThat(outcomes).containsExactly(false, false, false)
+    }
+
+    @Test
+    fun `probes are started in order with a stagger`() {
+        val startTimes = mutableMapOf<String, Long>()
+
+        OrderedUrlProber(STAGGER_MS).probe(URLS, probe { url ->
+            synchronized(startTimes) { startTimes[url] = System.nanoTime() }
+            false
+        })
+
+        val starts = URLS.map { startTimes.getValue(it) }
+        assertThat(starts).isSorted
+        assertThat(TimeUnit.NANOSECONDS.toMillis(starts.last() - starts.first()))
+                .isGreaterThanOrEqualTo(STAGGER_MS * (URLS.size - 1))
+    }
+
+    @Test
+    fun `http urls are not probed when an https url has a final outcome`() {
+        val probed = Collections.synchronizedList(mutableListOf<String>())
+
+        val outcomes = OrderedUrlProber(STAGGER_MS).probeHttpsFirst(URLS, probe { url ->
+            probed.add(url)
+            url == URLS[2]
+        })
+
+        assertThat(outcomes).containsExactly(false, true)
+        assertThat(probed).containsExactlyInAnyOrder(URLS[0], URLS[2])
+    }
+
+    @Test
+    fun `http urls are probed once all the https urls failed`() {
+        val outcomes = prober.probeHttpsFirst(URLS, probe { url -> url == URLS[1] })
+
+        assertThat(OrderedUrlProber.orderHttpsFirst(URLS)).containsExactly(URLS[0], URLS[2], URLS[1])
+        assertThat(outcomes).containsExactly(false, false, true)
+    }
+
+    private fun <R : Any> probe(
+        isFinalOutcome: (R) -> Boolean = { it == true },
+        block: (String) -> R
+    ) = object : OrderedUrlProber.Probe<R> {
+        override fun probe(url: String) = block(url)
+
+        override fun isFinal(outcome: R) = isFinalOutcome(outcome)
+    }
+
+    private companion object {
+        val URLS = listOf("https://example.com/xmlrpc.php", "http://example.com/xmlrpc.php", "https://example.com")
+        const val TIMEOUT_SECONDS = 5L
+        const val SLOW_PROBE_MS = 200L
+        const val STAGGER_MS = 50L
+    }
+}
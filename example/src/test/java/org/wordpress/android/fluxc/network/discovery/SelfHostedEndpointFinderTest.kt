@@ -0,0 +1,96 @@
+package org.wordpress.android.fluxc.network.discovery
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.mockito.kotlin.any
+import org.mockito.kotlin.argumentCaptor
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.timeout
+import org.mockito.kotlin.verify
+import org.mockito.kotlin.whenever
+import org.robolectric.RobolectricTestRunner
+import org.wordpress.android.fluxc.Dispatcher
+import org.wordpress.android.fluxc.annotations.action.Action
+import org.wordpress.android.fluxc.network.discovery.SelfHostedEndpointFinder.DiscoveryError
+import org.wordpress.android.fluxc.network.discovery.SelfHostedEndpointFinder.DiscoveryException
+import org.wordpress.android.fluxc.network.discovery.SelfHostedEndpointFinder.DiscoveryResultPayload
+import java.util.Collections
+
+@RunWith(RobolectricTestRunner::class)
+class SelfHostedEndpointFinderTest {
+    private val dispatcher = mock<Dispatcher>()
+    private val xmlrpcClient = mock<DiscoveryXMLRPCClient>()
+    private val wpApiClient = mock<DiscoveryWPAPIRestClient>()
+    private val finder = SelfHostedEndpointFinder(dispatcher, xmlrpcClient, wpApiClient)
+    private val probedUrls = Collections.synchronizedList(mutableListOf<String>())
+
+    @Test
+    fun `no http request is made when the https endpoint works`() {
+        whenever(xmlrpcClient.listMethods(any())).thenAnswer { invocation ->
+            val url = invocation.getArgument<String>(0)
+            probedUrls.add(url)
+            if (url == HTTPS_XMLRPC_URL) {
+                // Answers slower than the stagger between the probes, like a first TLS handshake on mobile
+                Thread.sleep(SLOW_RESPONSE_MS)
+                REQUIRED_METHODS
+            } else {
+                null
+            }
+        }
+
+        finder.findEndpoint("example.com")
+
+        assertThat(dispatchedPayload().xmlRpcEndpoint).isEqualTo(HTTPS_XMLRPC_URL)
+        assertThat(probedUrls).isNotEmpty.noneMatch { it.startsWith("http://") }
+    }
+
+    @Test
+    fun `http urls are probed once all the https ones failed`() {
+        whenever(xmlrpcClient.listMethods(any())).thenAnswer { invocation ->
+            val url = invocation.getArgument<String>(0)
+            probedUrls.add(url)
+            if (url == HTTP_XMLRPC_URL) REQUIRED_METHODS else null
+        }
+
+        finder.findEndpoint("example.com")
+
+        assertThat(dispatchedPayload().xmlRpcEndpoint).isEqualTo(HTTP_XMLRPC_URL)
+        val firstHttpProbe = probedUrls.indexOfFirst { it.startsWith("http://") }
+        assertThat(probedUrls.subList(0, firstHttpProbe)).contains(HTTPS_XMLRPC_URL)
+    }
+
+    @Test
+    fun `an https certificate error doesn't stop the discovery of a site specified with http`() {
+        whenever(xmlrpcClient.listMethods(any())).thenAnswer { invocation ->
+            when (val url = invocation.getArgument<String>(0)) {
+                HTTPS_XMLRPC_URL -> throw DiscoveryException(DiscoveryError.ERRONEOUS_SSL_CERTIFICATE, url)
+                HTTP_XMLRPC_URL -> REQUIRED_METHODS
+                else -> null
+            }
+        }
+
+        finder.findEndpoint("http://example.com")
+
+        assertThat(dispatchedPayload().xmlRpcEndpoint).isEqualTo(HTTP_XMLRPC_URL)
+    }
+
+    private fun dispatchedPayload(): DiscoveryResultPayload {
+        val captor = argumentCaptor<Action<*>>()
+        verify(dispatcher, timeout(TIMEOUT_MS)).dispatch(captor.capture())
+        return captor.firstValue.payload as DiscoveryResultPayload
+    }
+
+    private companion object {
+        const val HTTPS_XMLRPC_URL = "https://example.com/xmlrpc.php"
+        const val HTTP_XMLRPC_URL = "http://example.com/xmlrpc.php"
+        const val SLOW_RESPONSE_MS = 1000L
+        const val TIMEOUT_MS = 10_000L
+        val REQUIRED_METHODS = arrayOf<Any>(
+                "wp.getProfile", "wp.getUsersBlogs", "wp.getPage", "wp.getCommentStatusList", "wp.newComment",
+                "wp.editComment", "wp.deleteComment", "wp.getComments", "wp.getComment", "wp.getOptions",
+                "wp.uploadFile", "wp.newCategory", "wp.getTags", "wp.getCategories", "wp.editPage", "wp.deletePage",
+                "wp.newPage", "wp.getPages"
+        )
+    }
+}
@@ -0,0 +1,107 @@
+package org.wordpress.android.fluxc.network.rest
+
+import com.android.volley.NetworkResponse
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.wordpress.android.fluxc.network.ConditionalRequestCache
+import org.wordpress.android.fluxc.network.rest.wpcom.WPComGsonRequest
+import java.net.HttpURLConnection.HTTP_NOT_MODIFIED
+import java.net.HttpURLConnection.HTTP_OK
+
+@RunWith(RobolectricTestRunner::class)
+class ConditionalGsonRequestTest {
+    private val cache = ConditionalRequestCache()
+    private val responses = mutableListOf<Any>()
+    private var notModifiedCount = 0
+
+    @Test
+    fun `the validators of a response are sent with the next request`() {
+        val firstRequest = buildRequest()
+        assertThat(firstRequest.headers).doesNotContainKeys(IF_NONE_MATCH, IF_MODIFIED_SINCE)
+        deliver(firstRequest, okResponse())
+
+        val nextRequest = buildRequest()
+
+        assertThat(responses).hasSize(1)
+        assertThat(nextRequest.headers).containsEntry(IF_NONE_MATCH, ETAG)
+        assertThat(nextRequest.headers).containsEntry(IF_MODIFIED_SINCE, LAST_MODIFIED)
+    }
+
+    @Test
+    fun `a not modified response is reported without being parsed`() {
+        deliver(buildRequest(), okResponse())
+
+        val request = buildRequest()
+        val result = request.parseNetworkResponse(NetworkResponse(HTTP_NOT_MODIFIED, null, true, 0, emptyList()))
+        request.deliverResponse(result.result)
+
+        assertThat(result.isSuccess).isTrue
+        assertThat(responses).hasSize(1)
+        assertThat(notModifiedCount).isEqualTo(1)
+    }
+
+    @Test
+    fun `validators are kept per account`() {
+        deliver(buildRequest(accessToken = "token1"), okResponse())
+
+        assertThat(buildRequest(accessToken = "token2").headers).doesNotContainKey(IF_NONE_MATCH)
+        assertThat(buildRequest(accessToken = "token1").headers).containsKey(IF_NONE_MATCH)
+    }
+
+    @Test
+    fun `validators are kept per url and parameters`() {
+        deliver(buildRequest(params = mapOf("page" to "1")), okResponse())
+
+        assertThat(buildRequest(params = mapOf("page" to "2")).headers).doesNotContainKey(IF_NONE_MATCH)
+        assertThat(buildRequest(url = "$URL/other", params = mapOf("page" to "1")).headers)
+                .doesNotContainKey(IF_NONE_MATCH)
+        assertThat(buildRequest(params = mapOf("page" to "1")).headers).containsKey(IF_NONE_MATCH)
+    }
+
+    @Test
+    fun `validators are recorded but not sent when revalidation is off`() {
+        deliver(buildRequest(revalidate = false), okResponse())
+        assertThat(buildRequest(revalidate = false).headers).doesNotContainKey(IF_NONE_MATCH)
+
+        assertThat(buildRequest().headers).containsKey(IF_NONE_MATCH)
+    }
+
+    @Test
+    fun `validators are dropped when a response has none`() {
+        deliver(buildRequest(), okResponse())
+        deliver(buildRequest(), okResponse(headers = emptyMap()))
+
+        assertThat(buildRequest().headers).doesNotContainKey(IF_NONE_MATCH)
+    }
+
+    private fun buildRequest(
+        url: String = URL,
+        params: Map<String, String> = emptyMap(),
+        accessToken: String = "token",
+        revalidate: Boolean = true
+    ): WPComGsonRequest<Any> {
+        return WPComGsonRequest.buildGetRequest(url, params, Any::class.java, { responses.add(it) }, { }).apply {
+            setAccessToken(accessToken)
+            enableConditionalRequest(cache, revalidate) { notModifiedCount++ }
+        }
+    }
+
+    private fun deliver(request: WPComGsonRequest<Any>, response: NetworkResponse) {
+        val result = request.parseNetworkResponse(response)
+        request.deliverResponse(result.result)
+    }
+
+    private fun okResponse(
+        headers: Map<String, String> = mapOf("ETag" to ETAG, "Last-Modified" to LAST_MODIFIED)
+    ) = NetworkResponse(HTTP_OK, "{}".toByteArray(), headers, false)
+
+    private companion object {
+        const val URL = "https://public-api.wordpress.com/wpcom/v2/plans/mobile"
+        const val ETAG = "\"abc\""
+        const val LAST_MODIFIED = "Wed, 21 Oct 2015 07:28:00 GMT"
+        const val IF_NONE_MATCH = "If-None-Match"
+        const val IF_MODIFIED_SINCE = "If-Modified-Since"
+    }
+}
@@ -0,0 +1,32 @@
+package org.wordpress.android.fluxc.network.rest
+
+import com.google.gson.GsonBuilder
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+
+class GsonRegistryTest {
+    private val gsonRegistry = GsonRegistry()
+
+    @Test
+    fun `default gson is shared`() {
+        assertThat(gsonRegistry.defaultGson).isSameAs(GsonRequest.getDefaultGson())
+        assertThat(GsonRegistry().defaultGson).isSameAs(gsonRegistry.defaultGson)
+    }
+
+    @Test
+    fun `custom gson is created once per name`() {
+        var configureCount = 0
+        val configure = { builder: GsonBuilder ->
+            configureCount++
+            builder.registerTypeAdapter(Map::class.java, NumberAwareMapDeserializer())
+        }
+
+        val first = gsonRegistry.getCustomGson("number-aware-map", configure)
+        val second = gsonRegistry.getCustomGson("number-aware-map", configure)
+        val other = gsonRegistry.getCustomGson("other", configure)
+
+        assertThat(second).isSameAs(first)
+        assertThat(other).isNotSameAs(first)
+        assertThat(configureCount).isEqualTo(2)
+    }
+}
@@ -0,0 +1,76 @@
+package org.wordpress.android.fluxc.network.rest
+
+import com.android.volley.NetworkResponse
+import com.android.volley.ParseError
+import com.android.volley.Response.Listener
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.mockito.kotlin.mock
+import org.robolectric.RobolectricTestRunner
+import org.wordpress.android.fluxc.generated.endpoint.WPCOMREST
+import org.wordpress.android.fluxc.network.rest.wpcom.WPComGsonRequest
+import kotlin.test.assertEquals
+import kotlin.test.assertFalse
+import kotlin.test.assertNull
+import kotlin.test.assertTrue
+
+@RunWith(RobolectricTestRunner::class)
+class GsonRequestTest {
+    private val url = WPCOMREST.sites.site(123).posts.post(456).urlV1_1
+
+    @Test
+    fun parsesUtf8ResponseFromBytes() {
+        val request = buildRequest()
+        val json = "{\"title\":\"Café ☕ 😀\",\"count\":3}"
+
+        val response = request.parseNetworkResponse(buildResponse(json.toByteArray(Charsets.UTF_8),
+                "application/json; charset=utf-8"))
+
+        assertTrue(response.isSuccess)
+        assertEquals("Café ☕ 😀", response.result.title)
+        assertEquals(3, response.result.count)
+    }
+
+    @Test
+    fun parsesResponseUsingTheCharsetFromTheHeaders() {
+        val request = buildRequest()
+        val json = "{\"title\":\"Café\"}"
+
+        val response = request.parseNetworkResponse(buildResponse(json.toByteArray(Charsets.ISO_8859_1),
+                "application/json; charset=ISO-8859-1"))
+
+        assertTrue(response.isSuccess)
+        assertEquals("Café", response.result.title)
+    }
+
+    @Test
+    fun emptyResponseIsParsedAsNull() {
+        val request = buildRequest()
+
+        val response = request.parseNetworkResponse(buildResponse(ByteArray(0), "application/json"))
+
+        assertTrue(response.isSuccess)
+        assertNull(response.result)
+    }
+
+    @Test
+    fun malformedResponseIsAParseError() {
+        val request = buildRequest()
+
+        val response = request.parseNetworkResponse(buildResponse("{\"title\":".toByteArray(), "application/json"))
+
+        assertFalse(response.isSuccess)
+        assertTrue(response.error is ParseError)
+    }
+
+    private fun buildRequest() = WPComGsonRequest.buildGetRequest(url, null, TestResponse::class.java,
+            mock<Listener<TestResponse>>(), mock())
+
+    private fun buildResponse(data: ByteArray, contentType: String) =
+            NetworkResponse(200, data, mapOf("Content-Type" to contentType), false)
+
+    private class TestResponse {
+        var title: String? = null
+        var count: Int = 0
+    }
+}
@@ -0,0 +1,114 @@
+package org.wordpress.android.fluxc.network.rest.wpapi
+
+import com.android.volley.NetworkResponse
+import com.android.volley.VolleyError
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.withContext
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Before
+import org.junit.Test
+import org.mockito.kotlin.any
+import org.mockito.kotlin.anyOrNull
+import org.mockito.kotlin.doAnswer
+import org.mockito.kotlin.doSuspendableAnswer
+import org.mockito.kotlin.mock
+import org.wordpress.android.fluxc.model.SiteModel
+import org.wordpress.android.fluxc.network.BaseRequest.BaseNetworkError
+import org.wordpress.android.fluxc.network.discovery.DiscoveryWPAPIRestClient
+import org.wordpress.android.fluxc.network.rest.wpapi.Nonce.Available
+import org.wordpress.android.fluxc.test
+import org.wordpress.android.fluxc.tools.initCoroutineEngine
+import java.util.concurrent.atomic.AtomicInteger
+
+class CookieNonceAuthenticatorTest {
+    @Volatile private var savedNonce: Nonce? = Available(STALE_NONCE, USERNAME)
+    private val nonceRequests = AtomicInteger()
+    private val discoveries = AtomicInteger()
+
+    private val nonceRestClient: NonceRestClient = mock {
+        on { getNonce(any<String>(), anyOrNull()) } doAnswer { savedNonce }
+        onBlocking { requestNonce(any<String>(), any(), any()) } doSuspendableAnswer {
+            delay(REQUEST_DURATION_MS)
+            Available("nonce${nonceRequests.incrementAndGet()}", USERNAME).also { savedNonce = it }
+        }
+    }
+    private val discoveryWPAPIRestClient: DiscoveryWPAPIRestClient = mock {
+        on { discoverWPAPIBaseURL(any()) } doAnswer {
+            discoveries.incrementAndGet()
+            Thread.sleep(REQUEST_DURATION_MS)
+            WP_API_URL
+        }
+    }
+    private lateinit var authenticator: CookieNonceAuthenticator
+
+    @Before
+    fun setUp() {
+        authenticator = CookieNonceAuthenticator(nonceRestClient, discoveryWPAPIRestClient, mock(),
+                initCoroutineEngine())
+    }
+
+    @Test
+    fun `concurrent calls failing with an expired nonce share a single nonce request`() = test {
+        val responses = List(CONCURRENT_CALLS) {
+            async { authenticator.makeAuthenticatedWPAPIRequest(buildSite(WP_API_URL)) { fetch(it) } }
+        }.awaitAll()
+
+        assertThat(nonceRequests.get()).isEqualTo(1)
+        assertThat(responses).allMatch { it is WPAPIResponse.Success<*> }
+    }
+
+    @Test
+    fun `a nonce is requested again once the refreshed one expires`() = test {
+        authenticator.makeAuthenticatedWPAPIRequest(buildSite(WP_API_URL)) { fetch(it) }
+        savedNonce = Available(STALE_NONCE, USERNAME)
+
+        val response = authenticator.makeAuthenticatedWPAPIRequest(buildSite(WP_API_URL)) { fetch(it) }
+
+        assertThat(nonceRequests.get()).isEqualTo(2)
+        assertThat(response).isInstanceOf(WPAPIResponse.Success::class.java)
+    }
+
+    @Test
+    fun `concurrent calls share a single api endpoint discovery`() = test {
+        savedNonce = Available("valid", USERNAME)
+
+        val sites = List(CONCURRENT_CALLS) { buildSite(wpApiUrl = null) }
+        withContext(Dispatchers.IO) {
+            sites.map { site ->
+                async { authenticator.makeAuthenticatedWPAPIRequest(site) { fetch(it) } }
+            }.awaitAll()
+        }
+
+        assertThat(discoveries.get()).isEqualTo(1)
+        assertThat(sites).allMatch { it.wpApiRestUrl == WP_API_URL }
+    }
+
+    private fun fetch(nonce: Nonce): WPAPIResponse<String> {
+        return if (nonce.value == STALE_NONCE) {
+            val networkResponse = NetworkResponse(STATUS_CODE_UNAUTHORIZED, byteArrayOf(), false, 0L, emptyList())
+            WPAPIResponse.Error(WPAPINetworkError(BaseNetworkError(VolleyError(networkResponse))))
+        } else {
+            WPAPIResponse.Success("data")
+        }
+    }
+
+    private fun buildSite(wpApiUrl: String?) = SiteModel().apply {
+        url = SITE_URL
+        username = USERNAME
+        password = "password"
+        wpApiRestUrl = wpApiUrl
+    }
+
+    private companion object {
+        const val SITE_URL = "https://example.com"
+        const val WP_API_URL = "https://example.com/wp-json/"
+        const val USERNAME = "username"
+        const val STALE_NONCE = "stale"
+        const val CONCURRENT_CALLS = 5
+        const val REQUEST_DURATION_MS = 200L
+        const val STATUS_CODE_UNAUTHORIZED = 401
+    }
+}
@@ -591,7 +591,7 @@ class ActivityLogRestClientTest {
                 eq(false),
                 any(),
                 eq(false),
-                customGsonBuilder = anyOrNull(),
+                customGson = anyOrNull(),
                 authenticatedRequest = any()
         )
         ).thenReturn(response)
@@ -613,7 +613,7 @@ class ActivityLogRestClientTest {
                 eq(false),
                 any(),
                 eq(false),
-                customGsonBuilder = anyOrNull(),
+                customGson = anyOrNull(),
                 authenticatedRequest = any()
         )).thenReturn(response)
         whenever(site.siteId).thenReturn(siteId)
@@ -700,7 +700,7 @@ class ActivityLogRestClientTest {
                 eq(false),
                 any(),
                 eq(false),
-                customGsonBuilder = anyOrNull(),
+                customGson = anyOrNull(),
                 authenticatedRequest = any()
         )).thenReturn(response)
         whenever(site.siteId).thenReturn(siteId)
@@ -720,7 +720,7 @@ class ActivityLogRestClientTest {
                 eq(false),
                 any(),
                 eq(false),
-                customGsonBuilder = anyOrNull(),
+                customGson = anyOrNull(),
                 authenticatedRequest = any()
         )
         ).thenReturn(response)
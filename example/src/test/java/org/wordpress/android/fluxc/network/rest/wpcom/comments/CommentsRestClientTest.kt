@@ -572,7 +572,7 @@ class CommentsRestClientTest {
                         any(),
                         any(),
                         any(),
-                        customGsonBuilder = anyOrNull(),
+                        customGson = anyOrNull(),
                         authenticatedRequest = any()
                 )
         ).thenReturn(response)
@@ -400,7 +400,7 @@ class CardsRestClientTest {
                         eq(false),
                         any(),
                         eq(false),
-                        customGsonBuilder = anyOrNull(),
+                        customGson = anyOrNull(),
                         authenticatedRequest = any()
                 )
         ).thenReturn(response)
@@ -176,7 +176,7 @@ class ExperimentRestClientTest {
                         eq(false),
                         any(),
                         eq(true),
-                        customGsonBuilder = anyOrNull(),
+                        customGson = anyOrNull(),
                         authenticatedRequest = any()
                 )
         ).thenReturn(response)
@@ -212,7 +212,7 @@ class FeatureFlagsRestClientTest {
                 eq(false),
                 any(),
                 eq(false),
-                customGsonBuilder = anyOrNull(),
+                customGson = anyOrNull(),
                 authenticatedRequest = any()
             )
         ).thenReturn(response)
@@ -24,6 +24,7 @@ import org.wordpress.android.fluxc.network.BaseRequest.GenericErrorType.NETWORK_
 import org.wordpress.android.fluxc.network.BaseRequest.GenericErrorType.TIMEOUT
 import org.wordpress.android.fluxc.network.BaseRequest.GenericErrorType.UNKNOWN
 import org.wordpress.android.fluxc.network.UserAgent
+import org.wordpress.android.fluxc.network.rest.GsonRegistry
 import org.wordpress.android.fluxc.network.rest.wpcom.WPComGsonRequest.WPComGsonNetworkError
 import org.wordpress.android.fluxc.network.rest.wpcom.WPComGsonRequestBuilder
 import org.wordpress.android.fluxc.network.rest.wpcom.WPComGsonRequestBuilder.Response
@@ -51,6 +52,7 @@ class RemoteConfigRestClientTest {
         paramsCaptor = argumentCaptor()
         restClient = RemoteConfigRestClient(
             wpComGsonRequestBuilder,
+            GsonRegistry(),
             dispatcher,
             null,
             requestQueue,
@@ -138,7 +140,7 @@ class RemoteConfigRestClientTest {
                 eq(false),
                 any(),
                 eq(false),
-                customGsonBuilder = anyOrNull(),
+                customGson = anyOrNull(),
                 authenticatedRequest = any()
             )
         ).thenReturn(response)
@@ -17,6 +17,9 @@ import org.mockito.kotlin.whenever
 import org.wordpress.android.fluxc.Dispatcher
 import org.wordpress.android.fluxc.network.BaseRequest.BaseNetworkError
 import org.wordpress.android.fluxc.network.BaseRequest.GenericErrorType.NETWORK_ERROR
+import org.wordpress.android.fluxc.network.ConditionalResponse
+import org.wordpress.android.fluxc.network.ConditionalResponse.Fetched
+import org.wordpress.android.fluxc.network.ConditionalResponse.NotModified
 import org.wordpress.android.fluxc.network.UserAgent
 import org.wordpress.android.fluxc.network.rest.wpcom.WPComGsonRequest.WPComGsonNetworkError
 import org.wordpress.android.fluxc.network.rest.wpcom.WPComGsonRequestBuilder
@@ -72,22 +75,35 @@ class PlanOffersRestClientTest {
         Assert.assertTrue(payload.isError)
     }
 
+    @Test
+    fun `returns unchanged payload when the plans were not modified`() = test {
+        initConditionalRequest(NotModified)
+        val payload = planOffersRestClient.fetchPlanOffers()
+
+        Assertions.assertThat(payload.isUnchanged).isTrue
+        Assertions.assertThat(payload.planOffers).isNull()
+        Assert.assertFalse(payload.isError)
+    }
+
     private suspend fun initRequest(
         data: WPComGsonRequestBuilder.Response<PlanOffersResponse>? = null,
         error: WPComGsonNetworkError? = null
     ) {
         val response = if (error != null) Response.Error(error) else data
+        initConditionalRequest(Fetched(response!!))
+    }
 
+    private suspend fun initConditionalRequest(
+        response: ConditionalResponse<WPComGsonRequestBuilder.Response<PlanOffersResponse>>
+    ) {
         whenever(
-                wpComGsonRequestBuilder.syncGetRequest(
+                wpComGsonRequestBuilder.syncGetRequestIfModified(
                         eq(planOffersRestClient),
                         urlCaptor.capture(),
                         paramsCaptor.capture(),
                         eq(PlanOffersResponse::class.java),
-                        eq(false),
-                        any(),
                         eq(true),
-                        customGsonBuilder = anyOrNull(),
+                        customGson = anyOrNull(),
                         authenticatedRequest = any()
                 )
         ).thenReturn(response)
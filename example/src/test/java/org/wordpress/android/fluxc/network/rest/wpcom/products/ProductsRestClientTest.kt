@@ -92,7 +92,7 @@ class ProductsRestClientTest {
                         eq(false),
                         any(),
                         eq(false),
-                        customGsonBuilder = anyOrNull(),
+                        customGson = anyOrNull(),
                         authenticatedRequest = any()
                 )
         ).thenReturn(response)
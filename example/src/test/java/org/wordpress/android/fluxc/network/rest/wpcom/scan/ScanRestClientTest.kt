@@ -423,7 +423,7 @@ class ScanRestClientTest {
                         eq(false),
                         any(),
                         eq(false),
-                        customGsonBuilder = anyOrNull(),
+                        customGson = anyOrNull(),
                         authenticatedRequest = any()
                 )
         ).thenReturn(response)
@@ -509,7 +509,7 @@ class ScanRestClientTest {
                         eq(false),
                         any(),
                         eq(false),
-                        customGsonBuilder = anyOrNull(),
+                        customGson = anyOrNull(),
                         authenticatedRequest = any()
                 )
         ).thenReturn(response)
@@ -691,7 +691,7 @@ class SiteRestClientTest {
                         any(),
                         any(),
                         any(),
-                        customGsonBuilder = anyOrNull(),
+                        customGson = anyOrNull(),
                         authenticatedRequest = any()
                 )
         ).thenReturn(response)
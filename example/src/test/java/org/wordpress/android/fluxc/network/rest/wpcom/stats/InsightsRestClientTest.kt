@@ -512,7 +512,7 @@ class InsightsRestClientTest {
                         eq(cachingEnabled),
                         any(),
                         eq(false),
-                        customGsonBuilder = anyOrNull(),
+                        customGson = anyOrNull(),
                         authenticatedRequest = any()
                 )
         ).thenReturn(response)
@@ -103,7 +103,7 @@ class MostPopularRestClientTest {
                         eq(true),
                         any(),
                         eq(false),
-                        customGsonBuilder = anyOrNull(),
+                        customGson = anyOrNull(),
                         authenticatedRequest = any()
                 )
         ).thenReturn(response)
@@ -120,7 +120,7 @@ class PostingActivityRestClientTest {
                         eq(true),
                         any(),
                         eq(false),
-                        customGsonBuilder = anyOrNull(),
+                        customGson = anyOrNull(),
                         authenticatedRequest = any()
                 )
         ).thenReturn(response)
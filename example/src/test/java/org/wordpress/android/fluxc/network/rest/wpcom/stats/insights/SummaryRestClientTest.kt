@@ -100,7 +100,7 @@ class SummaryRestClientTest {
                 eq(false),
                 any(),
                 eq(false),
-                customGsonBuilder = anyOrNull(),
+                customGson = anyOrNull(),
                 authenticatedRequest = any()
             )
         ).thenReturn(response)
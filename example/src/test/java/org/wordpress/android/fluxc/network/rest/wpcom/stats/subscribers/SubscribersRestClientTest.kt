@@ -146,7 +146,7 @@ class SubscribersRestClientTest {
                 eq(cachingEnabled),
                 any(),
                 eq(false),
-                customGsonBuilder = anyOrNull(),
+                customGson = anyOrNull(),
                 authenticatedRequest = any()
             )
         ).thenReturn(response)
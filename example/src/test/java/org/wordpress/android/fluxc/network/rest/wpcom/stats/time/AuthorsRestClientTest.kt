@@ -174,7 +174,7 @@ class AuthorsRestClientTest {
                         eq(cachingEnabled),
                         any(),
                         eq(false),
-                        customGsonBuilder = anyOrNull(),
+                        customGson = anyOrNull(),
                         authenticatedRequest = any()
                 )
         ).thenReturn(response)
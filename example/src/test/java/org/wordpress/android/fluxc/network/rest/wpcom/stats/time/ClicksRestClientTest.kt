@@ -220,7 +220,7 @@ class ClicksRestClientTest {
                         eq(cachingEnabled),
                         any(),
                         eq(false),
-                        customGsonBuilder = anyOrNull(),
+                        customGson = anyOrNull(),
                         authenticatedRequest = any()
                 )
         ).thenReturn(response)
@@ -0,0 +1,221 @@
+package org.wordpress.android.fluxc.network.xmlrpc
+
+import com.android.volley.AuthFailureError
+import com.android.volley.NetworkResponse
+import com.android.volley.NoConnectionError
+import com.android.volley.ParseError
+import com.android.volley.Response.Listener
+import com.android.volley.VolleyError
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.mockito.kotlin.argumentCaptor
+import org.mockito.kotlin.atLeastOnce
+import org.mockito.kotlin.eq
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.verify
+import org.robolectric.RobolectricTestRunner
+import org.wordpress.android.fluxc.generated.endpoint.XMLRPC
+import org.wordpress.android.fluxc.network.BaseRequest.BaseErrorListener
+import org.wordpress.android.fluxc.network.BaseRequest.BaseNetworkError
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.TimeUnit
+
+@RunWith(RobolectricTestRunner::class)
+class XMLRPCMulticallBatcherTest {
+    private val sentRequests = mutableListOf<XMLRPCRequest>()
+    private val scheduler = mock<ScheduledExecutorService>()
+    private lateinit var batcher: XMLRPCMulticallBatcher
+
+    @Before
+    fun setUp() {
+        batcher = XMLRPCMulticallBatcher({ sentRequests.add(it) }, scheduler, WINDOW_MS)
+    }
+
+    @Test
+    fun `a call alone in its window is sent as is`() {
+        val call = TestCall(1)
+
+        batcher.add(call.request)
+        endWindow()
+
+        assertThat(sentRequests).containsExactly(call.request)
+    }
+
+    @Test
+    fun `concurrent calls to the same endpoint are sent in a single multicall`() {
+        val calls = listOf(TestCall(1), TestCall(2), TestCall(3))
+
+        calls.forEach { batcher.add(it.request) }
+        endWindow()
+
+        assertThat(sentRequests).hasSize(1)
+        val multicall = sentRequests[0]
+        assertThat(multicall.xmlRpcMethod).isEqualTo(XMLRPC.MULTICALL)
+        val body = String(multicall.body)
+        assertThat(body).contains("<methodName>system.multicall</methodName>")
+        assertThat(body.split("<name>methodName</name>")).hasSize(calls.size + 1)
+    }
+
+    @Test
+    fun `multicall results and faults are handed back to each call`() {
+        val calls = listOf(TestCall(1), TestCall(2), TestCall(3))
+        calls.forEach { batcher.add(it.request) }
+        endWindow()
+
+        respond(sentRequests[0], "<value><array><data><value><string>first</string></value></data></array></value>" +
+                FAULT_404 +
+                "<value><array><data><value><string>third</string></value></data></array></value>")
+
+        assertThat(calls[0].response).isEqualTo("first")
+        assertThat((calls[1].error?.volleyError?.cause as XMLRPCFault).faultCode).isEqualTo(404)
+        assertThat(calls[1].response).isNull()
+        assertThat(calls[2].response).isEqualTo("third")
+    }
+
+    @Test
+    fun `calls are sent individually when the endpoint refuses the multicall`() {
+        val calls = listOf(TestCall(1), TestCall(2))
+        calls.forEach { batcher.add(it.request) }
+        endWindow()
+
+        val multicall = sentRequests.removeAt(0)
+        multicall.deliverError(VolleyError(XMLRPCFault("server error. requested method not found", -32601)))
+
+        assertThat(sentRequests).containsExactly(calls[0].request, calls[1].request)
+        assertThat(batcher.isMulticallSupported(URL)).isFalse
+
+        // Later calls to that endpoint don't wait for a batch
+        val laterCall = TestCall(3)
+        batcher.add(laterCall.request)
+        assertThat(sentRequests.last()).isSameAs(laterCall.request)
+    }
+
+    @Test
+    fun `network errors are handed to each call without resending them`() {
+        val calls = listOf(TestCall(1), TestCall(2))
+        calls.forEach { batcher.add(it.request) }
+        endWindow()
+
+        sentRequests[0].deliverError(NoConnectionError())
+
+        assertThat(sentRequests).hasSize(1)
+        assertThat(calls.map { it.error?.volleyError }).allMatch { it is NoConnectionError }
+        assertThat(batcher.isMulticallSupported(URL)).isTrue
+    }
+
+    @Test
+    fun `calls are sent individually when the multicall post is not allowed`() {
+        val calls = listOf(TestCall(1), TestCall(2))
+        calls.forEach { batcher.add(it.request) }
+        endWindow()
+
+        sentRequests.removeAt(0).deliverError(VolleyError(errorResponse(405)))
+
+        assertThat(sentRequests).containsExactly(calls[0].request, calls[1].request)
+        assertThat(batcher.isMulticallSupported(URL)).isFalse
+    }
+
+    @Test
+    fun `auth and throttling errors are handed to each call and batching stays enabled`() {
+        listOf(AuthFailureError(errorResponse(401)), VolleyError(errorResponse(403)), VolleyError(errorResponse(429)))
+                .forEach { multicallError ->
+                    sentRequests.clear()
+                    val calls = listOf(TestCall(1), TestCall(2))
+                    calls.forEach { batcher.add(it.request) }
+                    endWindow()
+
+                    sentRequests[0].deliverError(multicallError)
+
+                    assertThat(sentRequests).hasSize(1)
+                    assertThat(calls.map { it.error?.volleyError?.networkResponse?.statusCode })
+                            .containsOnly(multicallError.networkResponse.statusCode)
+                    assertThat(batcher.isMulticallSupported(URL)).isTrue
+                }
+    }
+
+    @Test
+    fun `other faults and parse errors are handed to each call and batching stays enabled`() {
+        listOf(VolleyError(XMLRPCFault("Insufficient arguments passed to this XML-RPC method.", 400)), ParseError())
+                .forEach { multicallError ->
+                    sentRequests.clear()
+                    val calls = listOf(TestCall(1), TestCall(2))
+                    calls.forEach { batcher.add(it.request) }
+                    endWindow()
+
+                    sentRequests[0].deliverError(multicallError)
+
+                    assertThat(sentRequests).hasSize(1)
+                    assertThat(calls).allMatch { it.error != null && it.response == null }
+                    assertThat(batcher.isMulticallSupported(URL)).isTrue
+                }
+    }
+
+    @Test
+    fun `an unexpected multicall response fails each call and batching stays enabled`() {
+        val calls = listOf(TestCall(1), TestCall(2))
+        calls.forEach { batcher.add(it.request) }
+        endWindow()
+
+        respond(sentRequests[0], "<value><array><data><value><string>only one</string></value></data></array></value>")
+
+        assertThat(sentRequests).hasSize(1)
+        assertThat(calls.map { it.error?.volleyError }).allMatch { it is ParseError }
+        assertThat(batcher.isMulticallSupported(URL)).isTrue
+    }
+
+    @Test
+    fun `canceled calls are left out of the batch`() {
+        val calls = listOf(TestCall(1), TestCall(2))
+        calls.forEach { batcher.add(it.request) }
+        calls[1].request.cancel()
+        endWindow()
+
+        assertThat(sentRequests).containsExactly(calls[0].request)
+    }
+
+    @Test
+    fun `a full batch is sent without waiting for the end of the window`() {
+        repeat(XMLRPCMulticallBatcher.MAX_CALLS_PER_BATCH) { batcher.add(TestCall(it.toLong()).request) }
+
+        assertThat(sentRequests).hasSize(1)
+        assertThat(sentRequests[0].xmlRpcMethod).isEqualTo(XMLRPC.MULTICALL)
+
+        // The scheduled flush has nothing left to send
+        endWindow()
+        assertThat(sentRequests).hasSize(1)
+    }
+
+    private fun endWindow() {
+        val captor = argumentCaptor<Runnable>()
+        verify(scheduler, atLeastOnce()).schedule(captor.capture(), eq(WINDOW_MS),
+                eq(TimeUnit.MILLISECONDS))
+        captor.allValues.forEach { it.run() }
+    }
+
+    private fun errorResponse(statusCode: Int) = NetworkResponse(statusCode, ByteArray(0), false, 0, emptyList())
+
+    private fun respond(multicall: XMLRPCRequest, results: String) {
+        val xml = "<?xml version=\"1.0\"?><methodResponse><params><param><value><array><data>$results" +
+                "</data></array></value></param></params></methodResponse>"
+        val response = multicall.parseNetworkResponse(NetworkResponse(xml.toByteArray()))
+        multicall.deliverResponse(response.result)
+    }
+
+    private class TestCall(postId: Long) {
+        var response: Any? = null
+        var error: BaseNetworkError? = null
+        val request = XMLRPCRequest(URL, XMLRPC.GET_POST, listOf(1, "user", "pass", postId),
+                Listener<Any> { response = it }, BaseErrorListener { error = it })
+    }
+
+    private companion object {
+        const val URL = "https://example.com/xmlrpc.php"
+        const val WINDOW_MS = 20L
+        const val FAULT_404 = "<value><struct>" +
+                "<member><name>faultCode</name><value><int>404</int></value></member>" +
+                "<member><name>faultString</name><value><string>Invalid post ID.</string></value></member>" +
+                "</struct></value>"
+    }
+}
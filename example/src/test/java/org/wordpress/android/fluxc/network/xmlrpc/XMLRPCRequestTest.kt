@@ -0,0 +1,153 @@
+package org.wordpress.android.fluxc.network.xmlrpc
+
+import com.android.volley.NetworkResponse
+import com.android.volley.ParseError
+import com.android.volley.VolleyError
+import com.android.volley.toolbox.HttpHeaderParser
+import okio.Buffer
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.mockito.kotlin.mock
+import org.robolectric.RobolectricTestRunner
+import org.wordpress.android.fluxc.generated.endpoint.XMLRPC
+import java.io.ByteArrayInputStream
+
+@RunWith(RobolectricTestRunner::class)
+class XMLRPCRequestTest {
+    @Test
+    fun `response is parsed from the bytes`() {
+        val request = buildRequest()
+        val xml = buildGetPostsResponse(postCount = 2, title = "Café ☕ 😀")
+
+        val response = request.parseNetworkResponse(buildResponse(xml.toByteArray(Charsets.UTF_8)))
+
+        assertThat(response.isSuccess).isTrue
+        val posts = response.result as Array<*>
+        assertThat(posts).hasSize(2)
+        assertThat((posts[1] as Map<*, *>)["post_title"]).isEqualTo("Café ☕ 😀")
+    }
+
+    @Test
+    fun `junk before the xml declaration is skipped`() {
+        val request = buildRequest()
+        val junk = "Warning: virtual() [function.virtual2]: Unable to include '/cgi-bin/script/l' <br/>\n"
+        val xml = junk + buildGetPostsResponse(postCount = 1, title = "Title")
+
+        val response = request.parseNetworkResponse(buildResponse(xml.toByteArray(Charsets.UTF_8)))
+
+        assertThat(response.isSuccess).isTrue
+        assertThat(response.result as Array<*>).hasSize(1)
+    }
+
+    @Test
+    fun `response without an xml declaration is parsed`() {
+        val request = buildRequest()
+        val xml = buildGetPostsResponse(postCount = 1, title = "Title").substringAfter("?>")
+
+        val response = request.parseNetworkResponse(buildResponse(xml.toByteArray(Charsets.UTF_8)))
+
+        assertThat(response.isSuccess).isTrue
+    }
+
+    @Test
+    fun `fault response is an error`() {
+        val request = buildRequest()
+        val xml = "<?xml version=\"1.0\"?><methodResponse><fault><value><struct>" +
+                "<member><name>faultCode</name><value><int>403</int></value></member>" +
+                "<member><name>faultString</name><value><string>Incorrect username or password.</string></value>" +
+                "</member></struct></value></fault></methodResponse>"
+
+        val response = request.parseNetworkResponse(buildResponse(xml.toByteArray(Charsets.UTF_8)))
+
+        assertThat(response.isSuccess).isFalse
+        assertThat(response.error).isInstanceOf(VolleyError::class.java)
+        assertThat((response.error.cause as XMLRPCFault).faultCode).isEqualTo(403)
+    }
+
+    @Test
+    fun `malformed response is a parse error`() {
+        val request = buildRequest()
+
+        val response = request.parseNetworkResponse(buildResponse("<?xml version=\"1.0\"?><methodResp".toByteArray()))
+
+        assertThat(response.error).isInstanceOf(ParseError::class.java)
+    }
+
+    @Test
+    fun `request body is serialized as utf-8 with its length`() {
+        val request = XMLRPCRequest("https://example.com/xmlrpc.php", XMLRPC.EDIT_POST,
+                listOf(1, "user", "pass", 2L, mapOf("post_content" to "Café ☕")), mock(), mock())
+
+        val requestBody = request.requestBody!!
+        val sink = Buffer()
+        requestBody.writeTo(sink)
+
+        val body = sink.readUtf8()
+        assertThat(body).contains("<methodName>wp.editPost</methodName>")
+        assertThat(body).contains("Café ☕")
+        assertThat(requestBody.contentLength()).isEqualTo(body.toByteArray(Charsets.UTF_8).size.toLong())
+        assertThat(requestBody.contentType().toString()).isEqualTo("text/xml; charset=utf-8")
+        assertThat(request.body).isEqualTo(body.toByteArray(Charsets.UTF_8))
+    }
+
+    @Test
+    fun `request body can be written again on retries`() {
+        val request = XMLRPCRequest("https://example.com/xmlrpc.php", XMLRPC.GET_POSTS, listOf(1, "user", "pass"),
+                mock(), mock())
+        val requestBody = request.requestBody!!
+
+        val firstAttempt = Buffer().also { requestBody.writeTo(it) }
+        val secondAttempt = Buffer().also { request.requestBody!!.writeTo(it) }
+
+        assertThat(secondAttempt.size).isGreaterThan(0)
+        assertThat(secondAttempt).isEqualTo(firstAttempt)
+    }
+
+    @Test
+    fun `streaming parse of a large response matches the string round trip`() {
+        val request = buildRequest()
+        val response = buildResponse(buildGetPostsResponse(LARGE_POST_COUNT, "Café ☕").toByteArray(Charsets.UTF_8))
+
+        val streamed = request.parseNetworkResponse(response)
+
+        assertThat(streamed.isSuccess).isTrue
+        assertThat(streamed.result as Array<*>).hasSize(LARGE_POST_COUNT)
+        assertThat(streamed.result).isEqualTo(parseWithStringRoundTrip(response))
+    }
+
+    /**
+     * The pipeline used before parsing from the bytes directly, kept here as the reference result.
+     */
+    private fun parseWithStringRoundTrip(response: NetworkResponse): Any {
+        val data = String(response.data, charset(HttpHeaderParser.parseCharset(response.headers)))
+        val inputStream = ByteArrayInputStream(data.toByteArray(Charsets.UTF_8))
+        return XMLSerializerUtils.deserialize(XMLSerializerUtils.scrubXmlResponse(inputStream))
+    }
+
+    private fun buildRequest() = XMLRPCRequest("https://example.com/xmlrpc.php", XMLRPC.GET_POSTS, emptyList(),
+            mock(), mock())
+
+    private fun buildResponse(data: ByteArray) =
+            NetworkResponse(200, data, mapOf("Content-Type" to "text/xml; charset=UTF-8"), false)
+
+    private fun buildGetPostsResponse(postCount: Int, title: String) = buildString {
+        append("<?xml version=\"1.0\" encoding=\"UTF-8\"?><methodResponse><params><param><value><array><data>")
+        repeat(postCount) { index ->
+            append("<value><struct>")
+            append("<member><name>post_id</name><value><string>$index</string></value></member>")
+            append("<member><name>post_title</name><value><string>$title</string></value></member>")
+            append("<member><name>post_content</name><value><string>")
+            append(PARAGRAPH.repeat(CONTENT_PARAGRAPHS))
+            append("</string></value></member>")
+            append("</struct></value>")
+        }
+        append("</data></array></value></param></params></methodResponse>")
+    }
+
+    private companion object {
+        const val LARGE_POST_COUNT = 300
+        const val CONTENT_PARAGRAPHS = 20
+        const val PARAGRAPH = "&lt;p&gt;Lorem ipsum dolor sit amet, consectetur adipiscing elit.&lt;/p&gt;"
+    }
+}
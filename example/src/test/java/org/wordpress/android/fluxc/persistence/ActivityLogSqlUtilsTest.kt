@@ -0,0 +1,145 @@
+package org.wordpress.android.fluxc.persistence
+
+import com.google.gson.Gson
+import com.yarolegovich.wellsql.SelectQuery
+import com.yarolegovich.wellsql.WellSql
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.whenever
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.RuntimeEnvironment
+import org.robolectric.annotation.Config
+import org.wordpress.android.fluxc.model.SiteModel
+import org.wordpress.android.fluxc.model.activity.ActivityLogModel
+import org.wordpress.android.fluxc.persistence.ActivityLogSqlUtils.RetentionPolicy
+import org.wordpress.android.fluxc.tools.FormattableContent
+import org.wordpress.android.fluxc.tools.FormattableContentMapper
+import org.wordpress.android.fluxc.utils.CurrentTimeProvider
+import java.util.Date
+import java.util.concurrent.TimeUnit
+
+@Config(manifest = Config.NONE)
+@RunWith(RobolectricTestRunner::class)
+class ActivityLogSqlUtilsTest {
+    private val currentTimeProvider = mock<CurrentTimeProvider>()
+    private val activityLogSqlUtils = ActivityLogSqlUtils(FormattableContentMapper(Gson()), currentTimeProvider)
+    private val site = SiteModel().apply { id = 1 }
+    private val otherSite = SiteModel().apply { id = 2 }
+
+    @Before
+    fun setUp() {
+        val appContext = RuntimeEnvironment.application.applicationContext
+        val config = WellSqlConfig(appContext)
+        WellSql.init(config)
+        config.reset()
+
+        whenever(currentTimeProvider.currentDate()).thenReturn(Date(NOW))
+    }
+
+    @Test
+    fun `new activities are inserted and stored ones are updated`() {
+        activityLogSqlUtils.insertOrUpdateActivities(site, listOf(activity("1"), activity("2")))
+
+        val rowsAffected = activityLogSqlUtils.insertOrUpdateActivities(
+                site,
+                listOf(activity("2", summary = "updated"), activity("3"))
+        )
+
+        assertThat(rowsAffected).isEqualTo(2)
+        val activities = activityLogSqlUtils.getActivitiesForSite(site, SelectQuery.ORDER_ASCENDING)
+        assertThat(activities.map { it.activityID }).containsExactlyInAnyOrder("1", "2", "3")
+        assertThat(activities.first { it.activityID == "2" }.summary).isEqualTo("updated")
+    }
+
+    @Test
+    fun `an activity repeated in a batch is stored once`() {
+        activityLogSqlUtils.insertOrUpdateActivities(site, listOf(activity("1"), activity("1", summary = "later")))
+
+        val activities = activityLogSqlUtils.getActivitiesForSite(site, SelectQuery.ORDER_ASCENDING)
+        assertThat(activities).hasSize(1)
+        assertThat(activities.first().summary).isEqualTo("later")
+    }
+
+    @Test
+    fun `an activity stored for another site is inserted for the site`() {
+        activityLogSqlUtils.insertOrUpdateActivities(otherSite, listOf(activity("1")))
+
+        activityLogSqlUtils.insertOrUpdateActivities(site, listOf(activity("1", summary = "site")))
+
+        assertThat(activityLogSqlUtils.getActivitiesForSite(site, SelectQuery.ORDER_ASCENDING).map { it.summary })
+                .containsExactly("site")
+        assertThat(activityLogSqlUtils.getActivitiesForSite(otherSite, SelectQuery.ORDER_ASCENDING).map { it.summary })
+                .containsExactly("summary")
+    }
+
+    @Test
+    fun `more activities than the SQLite variable limit are inserted and updated`() {
+        val activities = (1..2500).map { activity("$it") }
+        activityLogSqlUtils.insertOrUpdateActivities(site, activities)
+
+        val rowsAffected = activityLogSqlUtils.insertOrUpdateActivities(site, activities)
+
+        assertThat(rowsAffected).isEqualTo(activities.size)
+        assertThat(activityLogSqlUtils.getActivitiesForSite(site, SelectQuery.ORDER_ASCENDING))
+                .hasSize(activities.size)
+    }
+
+    @Test
+    fun `activities older than the max age are deleted on insert`() {
+        activityLogSqlUtils.retentionPolicy = RetentionPolicy(maxAgeMs = TimeUnit.DAYS.toMillis(30))
+
+        activityLogSqlUtils.insertOrUpdateActivities(
+                site,
+                listOf(activity("recent", daysAgo = 1), activity("old", daysAgo = 31))
+        )
+
+        assertThat(activityLogSqlUtils.getActivitiesForSite(site, SelectQuery.ORDER_ASCENDING).map { it.activityID })
+                .containsExactly("recent")
+    }
+
+    @Test
+    fun `only the newest activities up to the max count are kept per site`() {
+        activityLogSqlUtils.insertOrUpdateActivities(otherSite, (1..3).map { activity("other$it", daysAgo = 10) })
+        activityLogSqlUtils.retentionPolicy = RetentionPolicy(maxCount = 2)
+
+        activityLogSqlUtils.insertOrUpdateActivities(site, (1..5).map { activity("$it", daysAgo = it) })
+
+        assertThat(activityLogSqlUtils.getActivitiesForSite(site, SelectQuery.ORDER_DESCENDING).map { it.activityID })
+                .containsExactly("1", "2")
+        assertThat(activityLogSqlUtils.getActivitiesForSite(otherSite, SelectQuery.ORDER_ASCENDING)).hasSize(3)
+    }
+
+    @Test
+    fun `the retention limit is reached when fetched activities fall outside of the policy`() {
+        val recent = listOf(activity("1", daysAgo = 1))
+        val old = listOf(activity("2", daysAgo = 60))
+        assertThat(activityLogSqlUtils.isRetentionLimitReached(site, old)).isFalse
+
+        activityLogSqlUtils.retentionPolicy = RetentionPolicy(maxAgeMs = TimeUnit.DAYS.toMillis(30), maxCount = 2)
+        assertThat(activityLogSqlUtils.isRetentionLimitReached(site, recent)).isFalse
+        assertThat(activityLogSqlUtils.isRetentionLimitReached(site, old)).isTrue
+
+        activityLogSqlUtils.insertOrUpdateActivities(site, listOf(activity("3"), activity("4")))
+        assertThat(activityLogSqlUtils.isRetentionLimitReached(site, recent)).isTrue
+    }
+
+    private fun activity(activityId: String, summary: String = "summary", daysAgo: Int = 0) = ActivityLogModel(
+            activityID = activityId,
+            summary = summary,
+            content = FormattableContent(text = "text"),
+            name = null,
+            type = null,
+            gridicon = null,
+            status = null,
+            rewindable = null,
+            rewindID = null,
+            published = Date(NOW - TimeUnit.DAYS.toMillis(daysAgo.toLong()))
+    )
+
+    private companion object {
+        const val NOW = 1_700_000_000_000L
+    }
+}
@@ -0,0 +1,148 @@
+package org.wordpress.android.fluxc.persistence
+
+import com.wellsql.generated.PostModelTable
+import com.yarolegovich.wellsql.WellSql
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.RuntimeEnvironment
+import org.robolectric.annotation.Config
+import org.wordpress.android.fluxc.model.PostModel
+import org.wordpress.android.fluxc.model.SiteModel
+
+@Config(manifest = Config.NONE)
+@RunWith(RobolectricTestRunner::class)
+class FullTextSearchIndexTest {
+    private val postSqlUtils = PostSqlUtils()
+    private val site = SiteModel().apply { id = SITE_ID }
+
+    @Before
+    fun setUp() {
+        val appContext = RuntimeEnvironment.application.applicationContext
+
+        val config = WellSqlConfig(appContext)
+        WellSql.init(config)
+        config.reset()
+    }
+
+    @Test
+    fun `posts are searched by word prefix, title matches first`() {
+        insertPosts(
+                createPost(title = "Weekly recap", content = "Our gardening club met twice"),
+                createPost(title = "Garden tour", content = "Photos of the tour"),
+                createPost(title = "Regarding the tour", content = "No match in the middle of words")
+        )
+
+        val posts = postSqlUtils.searchPostsForSite(site, false, "GARD")
+
+        assertThat(posts.map { it.title }).containsExactly("Garden tour", "Weekly recap")
+    }
+
+    @Test
+    fun `posts must match every word of the query`() {
+        insertPosts(
+                createPost(title = "Garden tour", content = ""),
+                createPost(title = "Garden", content = "Notes about the tour")
+        )
+
+        assertThat(postSqlUtils.searchPostsForSite(site, false, "tour, garden")).hasSize(2)
+        assertThat(postSqlUtils.searchPostsForSite(site, false, "garden party")).isEmpty()
+        assertThat(postSqlUtils.searchPostsForSite(site, false, " \"* ")).isEmpty()
+    }
+
+    @Test
+    fun `a limit keeps the best matches in ranking order`() {
+        insertPosts(
+                createPost(title = "Garden", content = "garden garden"),
+                createPost(title = "Tour", content = "garden"),
+                createPost(title = "Garden", content = "garden"),
+                createPost(title = "Garden", content = "")
+        )
+        val ranked = FullTextSearchIndex.POSTS.search("garden")
+
+        assertThat(FullTextSearchIndex.POSTS.search("garden", limit = 2)).isEqualTo(ranked.take(2))
+        assertThat(FullTextSearchIndex.POSTS.search("garden", limit = 10)).isEqualTo(ranked)
+        assertThat(FullTextSearchIndex.POSTS.search("garden", limit = 0)).isEmpty()
+    }
+
+    @Test
+    fun `the index follows the updates and deletions of posts`() {
+        val post = createPost(title = "Garden tour", content = "")
+        insertPosts(post)
+
+        post.setTitle("Kitchen tour")
+        postSqlUtils.insertOrUpdatePostOverwritingLocalChanges(post)
+        assertThat(postSqlUtils.searchPostsForSite(site, false, "garden")).isEmpty()
+        assertThat(postSqlUtils.searchPostsForSite(site, false, "kitchen")).hasSize(1)
+
+        postSqlUtils.deletePost(post)
+        assertThat(postSqlUtils.searchPostsForSite(site, false, "kitchen")).isEmpty()
+    }
+
+    @Test
+    fun `posts are filtered by site and type`() {
+        insertPosts(
+                createPost(title = "Garden tour", content = ""),
+                createPost(title = "Garden page", content = "", isPage = true),
+                createPost(title = "Garden elsewhere", content = "", localSiteId = SITE_ID + 1)
+        )
+
+        assertThat(postSqlUtils.searchPostsForSite(site, false, "garden").map { it.title })
+                .containsExactly("Garden tour")
+        assertThat(postSqlUtils.searchPostsForSite(site, true, "garden").map { it.title })
+                .containsExactly("Garden page")
+    }
+
+    @Test
+    fun `searching with the index finds the same posts as a LIKE query`() {
+        val filler = List(FILLER_WORDS) { "lorem$it" }.joinToString(" ")
+        insertPosts(*Array(POST_COUNT) { index ->
+            val needle = if (index % NEEDLE_FREQUENCY == 0) " needle" else ""
+            createPost(title = "Post $index", content = "$filler$needle")
+        })
+
+        val likeIds = WellSql.select(PostModel::class.java)
+                .where().beginGroup()
+                .equals(PostModelTable.LOCAL_SITE_ID, SITE_ID)
+                .equals(PostModelTable.IS_PAGE, false)
+                .beginGroup()
+                .contains(PostModelTable.TITLE, "needle")
+                .or()
+                .contains(PostModelTable.CONTENT, "needle")
+                .endGroup()
+                .endGroup().endWhere()
+                .asModel
+                .map { it.id }
+        val indexIds = postSqlUtils.searchPostsForSite(site, false, "needle").map { it.id }
+
+        assertThat(indexIds).hasSize(POST_COUNT / NEEDLE_FREQUENCY)
+        assertThat(indexIds).containsExactlyInAnyOrderElementsOf(likeIds)
+    }
+
+    private fun insertPosts(vararg posts: PostModel) {
+        postSqlUtils.insertOrUpdatePostsOverwritingLocalChanges(posts.toList())
+    }
+
+    private fun createPost(
+        title: String,
+        content: String,
+        isPage: Boolean = false,
+        localSiteId: Int = SITE_ID
+    ) = PostModel().apply {
+        setLocalSiteId(localSiteId)
+        setTitle(title)
+        setContent(content)
+        setIsPage(isPage)
+        // Local drafts are matched by local id only, letting the test insert posts without remote ids
+        setIsLocalDraft(true)
+    }
+
+    private companion object {
+        const val SITE_ID = 100
+        const val POST_COUNT = 1_000
+        const val NEEDLE_FREQUENCY = 100
+        const val FILLER_WORDS = 20
+    }
+}
@@ -1,5 +1,6 @@
 package org.wordpress.android.fluxc.persistence
 
+import com.wellsql.generated.PostModelTable
 import com.yarolegovich.wellsql.WellSql
 import org.assertj.core.api.Assertions.assertThat
 import org.junit.Assert.assertEquals
@@ -98,6 +99,48 @@ class PostSqlUtilsTest {
         assertThat(postsWithSameRemotePostId).hasSize(1)
     }
 
+    @Test
+    fun `post counts match the posts for the site`() {
+        // Given
+        val site = createSite()
+        postSqlUtils.insertPostForResult(createPost(localSiteId = site.id, localId = 1, remoteId = 11))
+        postSqlUtils.insertPostForResult(createPost(localSiteId = site.id, localId = 2, remoteId = 12))
+        postSqlUtils.insertPostForResult(createPost(localSiteId = site.id, localId = 3, remoteId = 0).apply {
+            setIsLocalDraft(true)
+        })
+        postSqlUtils.insertPostForResult(createPost(localSiteId = site.id, localId = 4, remoteId = 14).apply {
+            setIsPage(true)
+        })
+        postSqlUtils.insertPostForResult(createPost(localSiteId = site.id + 1, localId = 5, remoteId = 15))
+
+        // Then
+        assertThat(postSqlUtils.getPostsCountForSite(site, false))
+                .isEqualTo(postSqlUtils.getPostsForSite(site, false).size).isEqualTo(3)
+        assertThat(postSqlUtils.getUploadedPostsCountForSite(site, false))
+                .isEqualTo(postSqlUtils.getUploadedPostsForSite(site, false).size).isEqualTo(2)
+        assertThat(postSqlUtils.getUploadedPostsCountForSite(site, true)).isEqualTo(1)
+        assertThat(postSqlUtils.getPostsCountForSite(null, false)).isEqualTo(0)
+    }
+
+    @Test
+    fun `posts for site only read the requested columns`() {
+        // Given
+        val site = createSite()
+        postSqlUtils.insertPostForResult(createPost(localSiteId = site.id, localId = 1, remoteId = 11).apply {
+            setTitle("Title")
+            setContent("Content")
+        })
+
+        // When
+        val posts = postSqlUtils.getUploadedPostsForSite(site, false, PostModelTable.ID, PostModelTable.TITLE)
+
+        // Then
+        assertThat(posts).hasSize(1)
+        assertThat(posts[0].id).isEqualTo(1)
+        assertThat(posts[0].title).isEqualTo("Title")
+        assertThat(posts[0].content).isNullOrEmpty()
+    }
+
     @Test
     fun `insertOrUpdatePostLikes insert a new like`() {
         val siteId = 100L
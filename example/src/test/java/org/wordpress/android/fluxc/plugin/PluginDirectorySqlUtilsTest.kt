@@ -191,6 +191,37 @@ class PluginDirectorySqlUtilsTest {
         Assert.assertEquals(numberOfNewPlugins, insertedNewPlugins.size)
     }
 
+    @Test
+    fun testGetWPOrgPluginsForDirectoryPage() {
+        val slugList = randomSlugList()
+        slugList.forEach {
+            val wpOrgPluginModel = WPOrgPluginModel()
+            wpOrgPluginModel.slug = it
+            PluginSqlUtils.insertOrUpdateWPOrgPlugin(wpOrgPluginModel)
+        }
+        // The first plugin is listed again at the end, as when a plugin moves to a later page between two fetches
+        val directorySlugs = slugList + slugList.first()
+        val directoryList = directorySlugs.map {
+            val directoryModel = PluginDirectoryModel()
+            directoryModel.slug = it
+            directoryModel.directoryType = NEW.toString()
+            directoryModel
+        }
+        PluginSqlUtils.insertPluginDirectoryList(directoryList)
+
+        Assert.assertEquals(slugList, PluginSqlUtils.getWPOrgPluginsForDirectory(NEW).map { it.slug })
+        Assert.assertEquals(
+            slugList.subList(10, 30),
+            PluginSqlUtils.getWPOrgPluginsForDirectory(NEW, 20, 10).map { it.slug }
+        )
+        Assert.assertEquals(
+            slugList.subList(40, 50),
+            PluginSqlUtils.getWPOrgPluginsForDirectory(NEW, 20, 40).map { it.slug }
+        )
+        Assert.assertEquals(0, PluginSqlUtils.getWPOrgPluginsForDirectory(NEW, 20, 60).size)
+        Assert.assertEquals(0, PluginSqlUtils.getWPOrgPluginsForDirectory(POPULAR, 20, 0).size)
+    }
+
     @Throws(
         NoSuchMethodException::class,
         InvocationTargetException::class,
@@ -9,6 +9,8 @@ import org.mockito.junit.MockitoJUnitRunner
 import org.mockito.kotlin.any
 import org.mockito.kotlin.argThat
 import org.mockito.kotlin.mock
+import org.mockito.kotlin.never
+import org.mockito.kotlin.times
 import org.mockito.kotlin.verify
 import org.mockito.kotlin.verifyNoMoreInteractions
 import org.mockito.kotlin.whenever
@@ -24,24 +26,30 @@ import org.wordpress.android.fluxc.model.post.PostStatus.PUBLISHED
 import org.wordpress.android.fluxc.model.revisions.LocalDiffModel
 import org.wordpress.android.fluxc.model.revisions.LocalRevisionModel
 import org.wordpress.android.fluxc.model.revisions.RevisionModel
+import org.wordpress.android.fluxc.network.rest.wpcom.post.PostRestClient
+import org.wordpress.android.fluxc.network.xmlrpc.post.PostXMLRPCClient
 import org.wordpress.android.fluxc.persistence.PostSqlUtils
 import org.wordpress.android.fluxc.store.ListStore.FetchedListItemsPayload
 import org.wordpress.android.fluxc.store.PostStore
+import org.wordpress.android.fluxc.store.PostStore.FetchPostsByRemoteIdsResponsePayload
 import org.wordpress.android.fluxc.store.PostStore.PostError
 import org.wordpress.android.fluxc.store.PostStore.PostErrorType.GENERIC_ERROR
 import org.wordpress.android.fluxc.store.PostStore.PostListItem
+import org.wordpress.android.fluxc.store.PostStore.RemotePostPayload
 
 @RunWith(MockitoJUnitRunner::class)
 class PostStoreTest {
     @Mock lateinit var site: SiteModel
     @Mock lateinit var postSqlUtils: PostSqlUtils
     @Mock lateinit var dispatcher: Dispatcher
+    @Mock lateinit var postRestClient: PostRestClient
+    @Mock lateinit var postXMLRPCClient: PostXMLRPCClient
     private lateinit var store: PostStore
     @Mock lateinit var mockedListDescriptor: PostListDescriptor
 
     @Before
     fun setUp() {
-        store = PostStore(dispatcher, mock(), mock(), postSqlUtils)
+        store = PostStore(dispatcher, postRestClient, postXMLRPCClient, postSqlUtils)
         whenever(mockedListDescriptor.site).thenReturn(mock())
         // verify "register" so we can use verifyNoMoreInteractions in all the test methods
         verify(dispatcher).register(any())
@@ -295,6 +303,114 @@ class PostStoreTest {
         verifyNoMoreInteractions(dispatcher)
     }
 
+    @Test
+    fun `handleFetchedPostList fetches changed posts in bulk on a REST site`() {
+        // Arrange
+        whenever(mockedListDescriptor.site).thenReturn(site)
+        whenever(site.isUsingWpComRestApi).thenReturn(true)
+        val postsInLocalDb = listOf(createPostModel(remotePostId = 1), createPostModel(remotePostId = 2))
+        whenever(postSqlUtils.getPostsByRemoteIds(any(), any())).thenReturn(postsInLocalDb)
+
+        val remotePostListItems = postsInLocalDb.map { createRemotePostListItem(it, lastModified = "modified") }
+        val action = createFetchedPostListAction(postListItems = remotePostListItems)
+
+        // Act
+        store.onAction(action)
+
+        // Assert
+        verify(postRestClient).fetchPostsByRemoteIds(postsInLocalDb, site, false)
+        verify(dispatcher).dispatch(argThat {
+            (this.type == ListAction.FETCHED_LIST_ITEMS)
+        })
+        verifyNoMoreInteractions(dispatcher)
+    }
+
+    @Test
+    fun `handleFetchedPostList fetches changed posts and pages separately on a REST site`() {
+        // Arrange
+        whenever(mockedListDescriptor.site).thenReturn(site)
+        whenever(site.isUsingWpComRestApi).thenReturn(true)
+        val posts = listOf(createPostModel(remotePostId = 1), createPostModel(remotePostId = 2))
+        val pages = listOf(createPostModel(remotePostId = 3, isPage = true),
+                createPostModel(remotePostId = 4, isPage = true))
+        whenever(postSqlUtils.getPostsByRemoteIds(any(), any())).thenReturn(posts + pages)
+
+        val remotePostListItems = (posts + pages).map { createRemotePostListItem(it, lastModified = "modified") }
+        val action = createFetchedPostListAction(postListItems = remotePostListItems)
+
+        // Act
+        store.onAction(action)
+
+        // Assert
+        verify(postRestClient).fetchPostsByRemoteIds(posts, site, false)
+        verify(postRestClient).fetchPostsByRemoteIds(pages, site, true)
+    }
+
+    @Test
+    fun `handleFetchedPostList fetches changed posts in bulk on an XML-RPC site`() {
+        // Arrange
+        whenever(mockedListDescriptor.site).thenReturn(site)
+        whenever(site.isUsingWpComRestApi).thenReturn(false)
+        val postsInLocalDb = listOf(createPostModel(remotePostId = 1), createPostModel(remotePostId = 2))
+        whenever(postSqlUtils.getPostsByRemoteIds(any(), any())).thenReturn(postsInLocalDb)
+
+        val remotePostListItems = postsInLocalDb.map { createRemotePostListItem(it, status = "trash") }
+        val action = createFetchedPostListAction(postListItems = remotePostListItems)
+
+        // Act
+        store.onAction(action)
+
+        // Assert
+        verify(postXMLRPCClient).fetchPostsByRemoteIds(postsInLocalDb, site)
+        verify(dispatcher).dispatch(argThat {
+            (this.type == ListAction.FETCHED_LIST_ITEMS)
+        })
+        verifyNoMoreInteractions(dispatcher)
+    }
+
+    @Test
+    fun `posts fetched in bulk are saved together and missing posts are fetched one by one`() {
+        // Arrange
+        whenever(site.id).thenReturn(5)
+        val requestedPosts = listOf(createPostModel(localId = 10, remotePostId = 1),
+                createPostModel(localId = 20, remotePostId = 2))
+        val fetchedPost = createPostModel(remotePostId = 1)
+        whenever(postSqlUtils.insertOrUpdatePostsOverwritingLocalChanges(any())).thenReturn(intArrayOf(1))
+
+        // Act
+        store.onAction(PostActionBuilder.newFetchedPostsByRemoteIdsAction(
+                FetchPostsByRemoteIdsResponsePayload(requestedPosts, listOf(fetchedPost), site)))
+
+        // Assert
+        verify(postSqlUtils).insertOrUpdatePostsOverwritingLocalChanges(argThat {
+            size == 1 && this[0].id == 10 && this[0].localSiteId == 5
+        })
+        verify(dispatcher).dispatch(argThat {
+            (this.type == ListAction.LIST_DATA_INVALIDATED)
+        })
+        verify(dispatcher).dispatch(argThat {
+            (this.type == PostAction.FETCH_POST && (this.payload as RemotePostPayload).post.remotePostId == 2L)
+        })
+        verifyNoMoreInteractions(dispatcher)
+    }
+
+    @Test
+    fun `posts are fetched one by one when the bulk fetch fails`() {
+        // Arrange
+        val requestedPosts = listOf(createPostModel(remotePostId = 1), createPostModel(remotePostId = 2))
+
+        // Act
+        store.onAction(PostActionBuilder.newFetchedPostsByRemoteIdsAction(
+                FetchPostsByRemoteIdsResponsePayload(requestedPosts, site, PostError(GENERIC_ERROR))))
+
+        // Assert
+        verify(dispatcher, times(2)).dispatch(argThat {
+            (this.type == PostAction.FETCH_POST)
+        })
+        verifyNoMoreInteractions(dispatcher)
+        verify(postSqlUtils, never()).insertOrUpdatePostsOverwritingLocalChanges(any())
+    }
+
     @Test
     fun `Should return mapped RevisionModel when getRevisionById is called`() {
         // Arrange
@@ -375,9 +491,17 @@ class PostStoreTest {
         )
     )
 
-    private fun createPostModel(isLocallyChanged: Boolean = false, postStatus: PostStatus = PUBLISHED): PostModel {
+    private fun createPostModel(
+        isLocallyChanged: Boolean = false,
+        postStatus: PostStatus = PUBLISHED,
+        localId: Int = 0,
+        remotePostId: Long = 1,
+        isPage: Boolean = false
+    ): PostModel {
         val post = PostModel()
-        post.setRemotePostId(1)
+        post.setId(localId)
+        post.setRemotePostId(remotePostId)
+        post.setIsPage(isPage)
         post.setStatus(postStatus.toString())
         post.setIsLocallyChanged(isLocallyChanged)
         post.setAutoSaveModified("1955-11-05T14:15:00Z")
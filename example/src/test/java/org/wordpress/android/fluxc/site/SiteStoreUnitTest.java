@@ -45,6 +45,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.wordpress.android.fluxc.site.SiteUtils.generateJetpackSiteOverRestOnly;
@@ -151,6 +152,35 @@ public class SiteStoreUnitTest {
         assertEquals(2, mSiteStore.getSitesAccessedViaWPComRestCount());
     }
 
+    @Test
+    public void testSitesReadFromMemoryAreNewInstances() throws DuplicateSiteException {
+        WellSqlTestUtils.setupWordPressComAccount();
+
+        SiteModel site = generateWPComSite();
+        mSiteSqlUtils.insertOrUpdateSite(site);
+
+        SiteModel siteFromStore = mSiteStore.getSiteByLocalId(site.getId());
+        assertNotNull(siteFromStore);
+        siteFromStore.setName("Modified without being saved");
+
+        assertNotSame(siteFromStore, mSiteStore.getSiteByLocalId(site.getId()));
+        assertEquals(site.getName(), mSiteStore.getSiteByLocalId(site.getId()).getName());
+        assertEquals(site.getName(), mSiteStore.getSites().get(0).getName());
+    }
+
+    @Test
+    public void testSitesInMemoryAreDroppedWhenTheTablesAreReset() throws DuplicateSiteException {
+        WellSqlTestUtils.setupWordPressComAccount();
+        mSiteSqlUtils.insertOrUpdateSite(generateWPComSite());
+        assertEquals(1, mSiteStore.getSitesCount());
+
+        WellSqlConfig config = new WellSqlConfig(RuntimeEnvironment.application.getApplicationContext());
+        config.reset();
+
+        assertEquals(0, mSiteStore.getSitesCount());
+        assertTrue(mSiteStore.getSites().isEmpty());
+    }
+
     @Test
     public void testSelfHostedAndJetpackSites() throws DuplicateSiteException {
         WellSqlTestUtils.setupWordPressComAccount();
@@ -0,0 +1,119 @@
+package org.wordpress.android.fluxc.store
+
+import org.assertj.core.api.Assertions.assertThat
+import org.greenrobot.eventbus.Subscribe
+import org.greenrobot.eventbus.ThreadMode
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.wordpress.android.fluxc.Dispatcher
+import org.wordpress.android.fluxc.action.ListAction
+import org.wordpress.android.fluxc.action.WhatsNewAction
+import org.wordpress.android.fluxc.annotations.ActionHandler
+import org.wordpress.android.fluxc.annotations.action.Action
+import org.wordpress.android.fluxc.generated.ListActionBuilder
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+private const val TIMEOUT_SECONDS = 5L
+
+@RunWith(RobolectricTestRunner::class)
+class DispatcherActionRoutingTest {
+    @Test
+    fun `routed dispatch only delivers actions to the stores handling them`() {
+        val dispatcher = Dispatcher(true)
+        val listStore = ListActionTestStore(dispatcher, expectedActions = 1)
+        val whatsNewStore = WhatsNewActionTestStore(dispatcher, expectedActions = 0)
+        val unroutedStore = UnroutedTestStore(dispatcher, expectedActions = 1)
+
+        dispatcher.dispatch(ListActionBuilder.newRemoveAllListsAction())
+
+        assertThat(listStore.await()).isTrue
+        assertThat(unroutedStore.await()).isTrue
+        assertThat(listStore.received.get()).isEqualTo(1)
+        assertThat(unroutedStore.received.get()).isEqualTo(1)
+        assertThat(whatsNewStore.received.get()).isEqualTo(0)
+    }
+
+    @Test
+    fun `unregistered stores stop receiving routed actions`() {
+        val dispatcher = Dispatcher(true)
+        val listStore = ListActionTestStore(dispatcher, expectedActions = 1)
+        val otherListStore = ListActionTestStore(dispatcher, expectedActions = 1)
+        dispatcher.unregister(otherListStore)
+
+        dispatcher.dispatch(ListActionBuilder.newRemoveAllListsAction())
+
+        assertThat(listStore.await()).isTrue
+        assertThat(otherListStore.received.get()).isEqualTo(0)
+    }
+
+    @Test
+    fun `routed dispatch hands off actions only to interested stores compared to broadcast dispatch`() {
+        val storeCount = 40
+        val actionCount = 100
+
+        val broadcastDeliveries = countDeliveries(Dispatcher(false), storeCount, actionCount, actionCount)
+        val routedDeliveries = countDeliveries(Dispatcher(true), storeCount, actionCount, 0)
+
+        // With broadcast every store is woken up for every action, with routing only the list store is
+        assertThat(broadcastDeliveries).isEqualTo(storeCount * actionCount)
+        assertThat(routedDeliveries).isEqualTo(actionCount)
+    }
+
+    private fun countDeliveries(
+        dispatcher: Dispatcher,
+        storeCount: Int,
+        actionCount: Int,
+        expectedActionsPerOtherStore: Int
+    ): Int {
+        val listStore = ListActionTestStore(dispatcher, expectedActions = actionCount)
+        val otherStores = (1 until storeCount).map {
+            WhatsNewActionTestStore(dispatcher, expectedActions = expectedActionsPerOtherStore)
+        }
+
+        repeat(actionCount) { dispatcher.dispatch(ListActionBuilder.newRemoveAllListsAction()) }
+        assertThat(listStore.await()).isTrue
+        otherStores.forEach { assertThat(it.await()).isTrue }
+
+        return listStore.received.get() + otherStores.sumOf { it.received.get() }
+    }
+}
+
+abstract class CountingTestStore(dispatcher: Dispatcher, expectedActions: Int) : Store(dispatcher) {
+    val received = AtomicInteger()
+    private val latch = CountDownLatch(expectedActions)
+
+    @Subscribe(threadMode = ThreadMode.ASYNC)
+    override fun onAction(action: Action<*>) {
+        if (handles(action)) {
+            received.incrementAndGet()
+            latch.countDown()
+        }
+    }
+
+    override fun onRegister() = Unit
+
+    fun await() = latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)
+
+    abstract fun handles(action: Action<*>): Boolean
+}
+
+@ActionHandler(ListAction::class)
+class ListActionTestStore(dispatcher: Dispatcher, expectedActions: Int) :
+        CountingTestStore(dispatcher, expectedActions) {
+    override fun handles(action: Action<*>) = action.type is ListAction
+}
+
+@ActionHandler(WhatsNewAction::class)
+class WhatsNewActionTestStore(dispatcher: Dispatcher, expectedActions: Int) :
+        CountingTestStore(dispatcher, expectedActions) {
+    // Counts every delivery to show how many hand-offs a store not interested in the action pays for
+    override fun handles(action: Action<*>) = true
+}
+
+class UnroutedTestStore(dispatcher: Dispatcher, expectedActions: Int) :
+        CountingTestStore(dispatcher, expectedActions) {
+    override fun handles(action: Action<*>) = true
+}
@@ -5,7 +5,9 @@ import org.junit.Test
 import org.junit.runner.RunWith
 import org.mockito.Mock
 import org.mockito.junit.MockitoJUnitRunner
+import org.mockito.kotlin.any
 import org.mockito.kotlin.eq
+import org.mockito.kotlin.never
 import org.mockito.kotlin.times
 import org.mockito.kotlin.verify
 import org.mockito.kotlin.whenever
@@ -82,6 +84,32 @@ class PlanOffersStoreTest {
         verify(dispatcher, times(1)).emitChange(eq(expectedEventWithError))
     }
 
+    @Test
+    fun unchangedPlanOffersAreNotStoredAgain() = test {
+        whenever(planOffersSqlUtils.getPlanOffers()).thenReturn(PLAN_OFFER_MODELS)
+        whenever(planOffersRestClient.fetchPlanOffers(true)).thenReturn(PlanOffersFetchedPayload(isUnchanged = true))
+
+        val action = PlanOffersActionBuilder.generateNoPayloadAction(PlanOffersAction.FETCH_PLAN_OFFERS)
+
+        planOffersStore.onAction(action)
+
+        verify(planOffersSqlUtils, never()).storePlanOffers(any())
+        val expectedEvent = PlanOffersStore.OnPlanOffersFetched(PLAN_OFFER_MODELS, isUnchanged = true)
+        verify(dispatcher).emitChange(eq(expectedEvent))
+    }
+
+    @Test
+    fun planOffersAreNotRevalidatedWhenNoneAreStored() = test {
+        whenever(planOffersSqlUtils.getPlanOffers()).thenReturn(emptyList())
+        whenever(planOffersRestClient.fetchPlanOffers(false)).thenReturn(PlanOffersFetchedPayload(PLAN_OFFER_MODELS))
+
+        val action = PlanOffersActionBuilder.generateNoPayloadAction(PlanOffersAction.FETCH_PLAN_OFFERS)
+
+        planOffersStore.onAction(action)
+
+        verify(planOffersSqlUtils).storePlanOffers(PLAN_OFFER_MODELS)
+    }
+
     private suspend fun initRestClient(
         planOffers: List<PlanOffersModel>? = null,
         error: WPComGsonNetworkError? = null
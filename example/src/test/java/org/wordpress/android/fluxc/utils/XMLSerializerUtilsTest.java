@@ -39,6 +39,13 @@ public class XMLSerializerUtilsTest {
         Assert.assertEquals(xml, result);
     }
 
+    @Test
+    public void testXmlRpcResponseScrubWithoutXmlDeclaration() {
+        final String xml = "<methodResponse><params></params></methodResponse>";
+        final String result = scrub(xml, xml.length());
+        Assert.assertEquals(xml, result);
+    }
+
     private String scrub(String input, int xmlLength) {
         try {
             final InputStream is = new ByteArrayInputStream(input.getBytes("UTF-8"));
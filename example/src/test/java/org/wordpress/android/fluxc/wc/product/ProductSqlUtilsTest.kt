@@ -1,6 +1,10 @@
 package org.wordpress.android.fluxc.wc.product
 
 import com.yarolegovich.wellsql.WellSql
+import kotlinx.coroutines.CoroutineStart
+import kotlinx.coroutines.async
+import kotlinx.coroutines.flow.first
+import kotlinx.coroutines.runBlocking
 import org.junit.Before
 import org.junit.Test
 import org.junit.runner.RunWith
@@ -17,8 +21,11 @@ import org.wordpress.android.fluxc.model.WCProductReviewModel
 import org.wordpress.android.fluxc.model.WCProductShippingClassModel
 import org.wordpress.android.fluxc.model.WCProductTagModel
 import org.wordpress.android.fluxc.persistence.ProductSqlUtils
+import org.wordpress.android.fluxc.persistence.ProductSqlUtils.ProductTableChange
 import org.wordpress.android.fluxc.persistence.WellSqlConfig
 import org.wordpress.android.fluxc.store.WCProductStore.ProductFilterOption
+import org.wordpress.android.fluxc.store.WCProductStore.ProductSorting.TITLE_ASC
+import org.wordpress.android.fluxc.store.WCProductStore.ProductSorting.TITLE_DESC
 import kotlin.test.assertEquals
 import kotlin.test.assertNotNull
 import kotlin.test.assertNull
@@ -935,6 +942,45 @@ class ProductSqlUtilsTest {
         assertEquals(0, savedTags.size)
     }
 
+    @Test
+    fun `title sorted products are paged case-insensitively`() {
+        val names = listOf("banana", "Apple", "cherry", "Date")
+        ProductSqlUtils.insertOrUpdateProducts(names.mapIndexed { index, name ->
+            ProductTestUtils.generateSampleProduct(index + 1L, name = name, siteId = site.id)
+        })
+
+        val ascending = ProductSqlUtils.getProductsForSite(site, sortType = TITLE_ASC, limit = 2)
+        val descending = ProductSqlUtils.getProducts(site, emptyMap(), sortType = TITLE_DESC, limit = 2)
+
+        assertEquals(listOf("Apple", "banana"), ascending.map { it.name })
+        assertEquals(listOf("Date", "cherry"), descending.map { it.name })
+    }
+
+    @Test
+    fun `product changes are only notified to the observers of the written site`() = runBlocking {
+        val change = async(start = CoroutineStart.UNDISPATCHED) {
+            ProductSqlUtils.observeProductChanges(site).first()
+        }
+
+        ProductSqlUtils.insertOrUpdateProduct(ProductTestUtils.generateSampleProduct(1, siteId = site.id + 1))
+        ProductSqlUtils.insertOrUpdateProduct(ProductTestUtils.generateSampleProduct(2, siteId = site.id))
+
+        assertEquals(ProductTableChange(site.id, setOf(2L)), change.await())
+    }
+
+    @Test
+    fun `deleting the products of a site notifies a change of all its rows`() = runBlocking {
+        ProductSqlUtils.insertOrUpdateProducts(ProductTestUtils.generateProductList(site.id))
+        val change = async(start = CoroutineStart.UNDISPATCHED) {
+            ProductSqlUtils.observeProductChanges(site).first()
+        }
+
+        ProductSqlUtils.deleteProductsForSite(site)
+
+        assertNull(change.await().remoteIds)
+        assertTrue(change.await().affectsRow(site.id, 1L))
+    }
+
     private fun getProductReviews(localSiteId: Int): List<WCProductReviewModel> {
         val reviewJson = UnitTestUtils.getStringFromResourceFile(this.javaClass, "wc/product-reviews.json")
         return ProductTestUtils.getProductReviewsFromJsonString(reviewJson, localSiteId)
@@ -0,0 +1,21 @@
+package org.wordpress.android.fluxc.annotations;
+
+import org.wordpress.android.fluxc.annotations.action.IAction;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the {@link ActionEnum} types a store handles in its {@code onAction()}. The processor turns this into an
+ * {@link org.wordpress.android.fluxc.annotations.action.ActionRoutes} class the dispatcher uses to deliver actions
+ * only to the stores interested in them. A store annotated with no action types never receives actions.
+ */
+@Target(ElementType.TYPE)
+public @interface ActionHandler {
+    Class<? extends IAction>[] value() default {};
+
+    /**
+     * Stores with a higher priority have actions delivered to them first, mirroring the EventBus subscriber priority.
+     */
+    int priority() default 0;
+}
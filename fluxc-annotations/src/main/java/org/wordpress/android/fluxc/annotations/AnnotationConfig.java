@@ -3,4 +3,5 @@ package org.wordpress.android.fluxc.annotations;
 public abstract class AnnotationConfig {
     public static final String PACKAGE = "org.wordpress.android.fluxc.generated";
     public static final String PACKAGE_ENDPOINTS = PACKAGE + ".endpoint";
+    public static final String ACTION_ROUTES_SUFFIX = "_ActionRoutes";
 }
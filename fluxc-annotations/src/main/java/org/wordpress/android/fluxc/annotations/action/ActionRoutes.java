@@ -0,0 +1,13 @@
+package org.wordpress.android.fluxc.annotations.action;
+
+import java.util.List;
+
+/**
+ * Compile-time routing information for a store, generated from its
+ * {@link org.wordpress.android.fluxc.annotations.ActionHandler} annotation.
+ */
+public interface ActionRoutes {
+    List<Class<? extends IAction>> getActionTypes();
+
+    int getPriority();
+}
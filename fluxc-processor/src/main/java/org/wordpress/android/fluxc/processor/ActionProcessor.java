@@ -7,14 +7,22 @@ import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
+import com.squareup.javapoet.WildcardTypeName;
 
 import org.wordpress.android.fluxc.annotations.ActionEnum;
+import org.wordpress.android.fluxc.annotations.ActionHandler;
 import org.wordpress.android.fluxc.annotations.AnnotationConfig;
 import org.wordpress.android.fluxc.annotations.action.Action;
 import org.wordpress.android.fluxc.annotations.action.ActionBuilder;
+import org.wordpress.android.fluxc.annotations.action.ActionRoutes;
+import org.wordpress.android.fluxc.annotations.action.IAction;
 import org.wordpress.android.fluxc.annotations.action.NoPayload;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import javax.annotation.processing.AbstractProcessor;
@@ -26,15 +34,18 @@ import javax.annotation.processing.RoundEnvironment;
 import javax.annotation.processing.SupportedAnnotationTypes;
 import javax.lang.model.SourceVersion;
 import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
 import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
 import javax.tools.Diagnostic;
 
-import static java.util.Collections.singleton;
 import static javax.lang.model.SourceVersion.latestSupported;
 
 @SuppressWarnings("unused")
-@SupportedAnnotationTypes("org.wordpress.android.fluxc.annotations.ActionEnum")
+@SupportedAnnotationTypes({"org.wordpress.android.fluxc.annotations.ActionEnum",
+        "org.wordpress.android.fluxc.annotations.ActionHandler"})
 @AutoService(Processor.class)
 public class ActionProcessor extends AbstractProcessor {
     private Filer mFiler;
@@ -49,7 +60,8 @@ public class ActionProcessor extends AbstractProcessor {
 
     @Override
     public Set<String> getSupportedAnnotationTypes() {
-        return singleton(ActionEnum.class.getCanonicalName());
+        return new HashSet<>(Arrays.asList(ActionEnum.class.getCanonicalName(),
+                ActionHandler.class.getCanonicalName()));
     }
 
     @Override
@@ -64,6 +76,16 @@ public class ActionProcessor extends AbstractProcessor {
             createActionBuilderClass(actionElement, annotatedActionEnum);
         }
 
+        for (Element handlerElement : roundEnv.getElementsAnnotatedWith(ActionHandler.class)) {
+            if (handlerElement.getKind() != ElementKind.CLASS
+                || ((TypeElement) handlerElement).getNestingKind() != NestingKind.TOP_LEVEL) {
+                mMessager.printMessage(Diagnostic.Kind.ERROR,
+                        "@ActionHandler can only be applied to top level classes", handlerElement);
+                continue;
+            }
+            createActionRoutesClass((TypeElement) handlerElement, new AnnotatedActionHandler(handlerElement));
+        }
+
         return true;
     }
 
@@ -119,4 +141,57 @@ public class ActionProcessor extends AbstractProcessor {
 
         return AnnotationConfig.PACKAGE + "." + genClassName;
     }
+
+    private void createActionRoutesClass(TypeElement handlerElement, AnnotatedActionHandler annotatedActionHandler) {
+        String genClassName = handlerElement.getSimpleName() + AnnotationConfig.ACTION_ROUTES_SUFFIX;
+        String packageName =
+                processingEnv.getElementUtils().getPackageOf(handlerElement).getQualifiedName().toString();
+
+        TypeName actionClassType = ParameterizedTypeName.get(ClassName.get(Class.class),
+                WildcardTypeName.subtypeOf(IAction.class));
+        TypeName actionTypesListType = ParameterizedTypeName.get(ClassName.get(List.class), actionClassType);
+
+        List<TypeMirror> actionTypes = annotatedActionHandler.getActionTypes();
+        MethodSpec.Builder actionTypesMethodBuilder = MethodSpec.methodBuilder("getActionTypes")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(actionTypesListType);
+        if (actionTypes.isEmpty()) {
+            actionTypesMethodBuilder.addStatement("return $T.emptyList()", Collections.class);
+        } else {
+            StringBuilder format = new StringBuilder("return $T.<$T>asList(");
+            Object[] args = new Object[actionTypes.size() + 2];
+            args[0] = Arrays.class;
+            args[1] = actionClassType;
+            for (int i = 0; i < actionTypes.size(); i++) {
+                format.append(i == 0 ? "$T.class" : ", $T.class");
+                args[i + 2] = TypeName.get(actionTypes.get(i));
+            }
+            actionTypesMethodBuilder.addStatement(format.append(")").toString(), args);
+        }
+
+        MethodSpec priorityMethod = MethodSpec.methodBuilder("getPriority")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(TypeName.INT)
+                .addStatement("return $L", annotatedActionHandler.getPriority())
+                .build();
+
+        TypeSpec routesClass = TypeSpec.classBuilder(genClassName)
+                .addModifiers(Modifier.FINAL, Modifier.PUBLIC)
+                .addSuperinterface(ActionRoutes.class)
+                .addOriginatingElement(handlerElement)
+                .addMethod(actionTypesMethodBuilder.build())
+                .addMethod(priorityMethod)
+                .build();
+
+        JavaFile javaFile = JavaFile.builder(packageName, routesClass)
+                .build();
+
+        try {
+            javaFile.writeTo(mFiler);
+        } catch (IOException e) {
+            mMessager.printMessage(Diagnostic.Kind.ERROR, "Failed to create file: " + e.getMessage());
+        }
+    }
 }
@@ -0,0 +1,37 @@
+package org.wordpress.android.fluxc.processor;
+
+import org.wordpress.android.fluxc.annotations.ActionHandler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.type.MirroredTypesException;
+import javax.lang.model.type.TypeMirror;
+
+/**
+ * Blueprint for an {@link ActionHandler}-annotated store after processing.
+ */
+public class AnnotatedActionHandler {
+    private List<TypeMirror> mActionTypes = new ArrayList<>();
+    private int mPriority;
+
+    public AnnotatedActionHandler(Element typeElement) {
+        ActionHandler actionHandlerAnnotation = typeElement.getAnnotation(ActionHandler.class);
+        mPriority = actionHandlerAnnotation.priority();
+        try {
+            actionHandlerAnnotation.value();
+        } catch (MirroredTypesException e) {
+            mActionTypes.addAll(e.getTypeMirrors());
+        }
+    }
+
+    public List<TypeMirror> getActionTypes() {
+        return Collections.unmodifiableList(mActionTypes);
+    }
+
+    public int getPriority() {
+        return mPriority;
+    }
+}
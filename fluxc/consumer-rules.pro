@@ -55,3 +55,17 @@
 -keep,allowobfuscation,allowshrinking class * extends com.google.gson.reflect.TypeToken
 
 ##---------------End: proguard configuration for Gson  ----------
+
+##---------------Begin: proguard configuration for action routing  ----------
+# Dispatcher looks up the generated *_ActionRoutes classes by name from the store class name
+-keepnames class * extends org.wordpress.android.fluxc.store.Store
+-keep class * implements org.wordpress.android.fluxc.annotations.action.ActionRoutes { <init>(); }
+##---------------End: proguard configuration for action routing  ----------
+
+##---------------Begin: proguard configuration for EventBus subscriber indexes  ----------
+# Dispatcher looks up the generated subscriber indexes by name, and the indexes refer to @Subscribe methods by name
+-keep class * implements org.greenrobot.eventbus.meta.SubscriberInfoIndex { <init>(); }
+-keepclassmembers class * {
+    @org.greenrobot.eventbus.Subscribe <methods>;
+}
+##---------------End: proguard configuration for EventBus subscriber indexes  ----------
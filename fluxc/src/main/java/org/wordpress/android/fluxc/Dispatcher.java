@@ -1,28 +1,89 @@
 package org.wordpress.android.fluxc;
 
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
 import org.greenrobot.eventbus.EventBus;
+import org.greenrobot.eventbus.EventBusBuilder;
+import org.greenrobot.eventbus.meta.SubscriberInfoIndex;
+import org.wordpress.android.fluxc.annotations.AnnotationConfig;
 import org.wordpress.android.fluxc.annotations.action.Action;
+import org.wordpress.android.fluxc.annotations.action.ActionRoutes;
+import org.wordpress.android.fluxc.annotations.action.IAction;
 import org.wordpress.android.fluxc.store.Store;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.AppLog.T;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
 @Singleton
 public class Dispatcher {
+    // Subscriber indexes generated by the EventBus annotation processor (see the eventBusIndex kapt argument of each
+    // module), letting register() find the @Subscribe methods of FluxC classes without reflecting over all their
+    // methods. Plugins are optional, so the indexes are looked up by name.
+    private static final String[] SUBSCRIBER_INDEX_CLASS_NAMES = {
+            "org.wordpress.android.fluxc.FluxCEventBusIndex",
+            "org.wordpress.android.fluxc.WooCommerceEventBusIndex"
+    };
+    private static final List<SubscriberInfoIndex> SUBSCRIBER_INDEXES = loadSubscriberIndexes();
+
     private final EventBus mBus;
+    // When action routing is enabled, actions travel on their own bus so that routed stores (which stay registered on
+    // mBus for change events) don't also receive every action through their @Subscribe onAction() method
+    private final EventBus mActionBus;
+    private final boolean mActionRoutingEnabled;
+    private final Map<Class<?>, List<RoutedStore>> mRoutes = new ConcurrentHashMap<>();
+    private final Map<Store, ActionRoutes> mRoutedStores = new ConcurrentHashMap<>();
+    private final ExecutorService mRoutedActionExecutor;
 
     @Inject public Dispatcher() {
-        mBus = EventBus.builder()
+        this(false);
+    }
+
+    /**
+     * @param actionRoutingEnabled if true, actions are delivered only to the stores declaring the action type with
+     *                             {@link org.wordpress.android.fluxc.annotations.ActionHandler}, using the routing
+     *                             table generated at compile time. Objects without a routing table (e.g. stores not
+     *                             annotated or plain subscribers) keep receiving every action through EventBus.
+     */
+    public Dispatcher(boolean actionRoutingEnabled) {
+        mBus = newEventBusBuilder()
                 .logNoSubscriberMessages(true)
                 .sendNoSubscriberEvent(true)
                 .throwSubscriberException(true)
                 .build();
+        mActionRoutingEnabled = actionRoutingEnabled;
+        if (actionRoutingEnabled) {
+            mActionBus = newEventBusBuilder()
+                    .logNoSubscriberMessages(false)
+                    .sendNoSubscriberEvent(false)
+                    .throwSubscriberException(true)
+                    .build();
+            mRoutedActionExecutor = Executors.newCachedThreadPool();
+        } else {
+            mActionBus = mBus;
+            mRoutedActionExecutor = null;
+        }
     }
 
     public void register(final Object object) {
+        ActionRoutes actionRoutes = mActionRoutingEnabled && object instanceof Store
+                ? findActionRoutes(object.getClass()) : null;
         mBus.register(object);
+        if (actionRoutes != null) {
+            addRoutes((Store) object, actionRoutes);
+        } else if (mActionBus != mBus) {
+            mActionBus.register(object);
+        }
         if (object instanceof Store) {
             ((Store) object).onRegister();
         }
@@ -30,12 +91,22 @@ public class Dispatcher {
 
     public void unregister(final Object object) {
         mBus.unregister(object);
+        if (mActionBus != mBus && mActionBus.isRegistered(object)) {
+            mActionBus.unregister(object);
+        }
+        if (object instanceof Store) {
+            removeRoutes((Store) object);
+        }
     }
 
     public void dispatch(Action action) {
         AppLog.d(T.API, "Dispatching action: " + action.getType().getClass().getSimpleName()
                 + "-" + action.getType().toString());
-        post(action);
+        if (mActionRoutingEnabled) {
+            route(action);
+        } else {
+            post(action);
+        }
     }
 
     public void emitChange(final Object changeEvent) {
@@ -45,4 +116,122 @@ public class Dispatcher {
     private void post(final Object event) {
         mBus.post(event);
     }
+
+    private void route(final Action action) {
+        List<RoutedStore> routedStores = mRoutes.get(action.getType().getClass());
+        boolean hasBusSubscribers = mActionBus.hasSubscriberForEvent(Action.class);
+        if (routedStores == null && !hasBusSubscribers) {
+            AppLog.d(T.API, "No stores registered for action: " + action.getType());
+            return;
+        }
+        if (routedStores != null) {
+            for (final RoutedStore routedStore : routedStores) {
+                mRoutedActionExecutor.execute(() -> routedStore.mStore.onAction(action));
+            }
+        }
+        if (hasBusSubscribers) {
+            mActionBus.post(action);
+        }
+    }
+
+    private synchronized void addRoutes(@NonNull Store store, @NonNull ActionRoutes actionRoutes) {
+        if (mRoutedStores.put(store, actionRoutes) != null) {
+            return;
+        }
+        RoutedStore routedStore = new RoutedStore(store, actionRoutes.getPriority());
+        for (Class<? extends IAction> actionType : actionRoutes.getActionTypes()) {
+            // Copy-on-write so that dispatch() can iterate the list without locking
+            List<RoutedStore> current = mRoutes.get(actionType);
+            List<RoutedStore> updated = current == null ? new ArrayList<>() : new ArrayList<>(current);
+            int index = 0;
+            while (index < updated.size() && updated.get(index).mPriority >= routedStore.mPriority) {
+                index++;
+            }
+            updated.add(index, routedStore);
+            mRoutes.put(actionType, Collections.unmodifiableList(updated));
+        }
+    }
+
+    private synchronized void removeRoutes(@NonNull Store store) {
+        ActionRoutes actionRoutes = mRoutedStores.remove(store);
+        if (actionRoutes == null) {
+            return;
+        }
+        for (Class<? extends IAction> actionType : actionRoutes.getActionTypes()) {
+            List<RoutedStore> current = mRoutes.get(actionType);
+            if (current == null) {
+                continue;
+            }
+            List<RoutedStore> updated = new ArrayList<>(current.size());
+            for (RoutedStore routedStore : current) {
+                if (routedStore.mStore != store) {
+                    updated.add(routedStore);
+                }
+            }
+            if (updated.isEmpty()) {
+                mRoutes.remove(actionType);
+            } else {
+                mRoutes.put(actionType, Collections.unmodifiableList(updated));
+            }
+        }
+    }
+
+    @NonNull
+    private static EventBusBuilder newEventBusBuilder() {
+        EventBusBuilder builder = EventBus.builder();
+        for (SubscriberInfoIndex index : SUBSCRIBER_INDEXES) {
+            builder.addIndex(index);
+        }
+        return builder;
+    }
+
+    /**
+     * Returns the subscriber indexes generated for the FluxC modules in the classpath. Subscribers missing from the
+     * indexes (e.g. classes of the app using FluxC) are still found by EventBus through reflection.
+     */
+    @NonNull
+    static List<SubscriberInfoIndex> loadSubscriberIndexes() {
+        List<SubscriberInfoIndex> indexes = new ArrayList<>();
+        for (String className : SUBSCRIBER_INDEX_CLASS_NAMES) {
+            try {
+                indexes.add((SubscriberInfoIndex) Class.forName(className).getDeclaredConstructor().newInstance());
+            } catch (ClassNotFoundException e) {
+                // The module generating this index isn't used by the app
+            } catch (ReflectiveOperationException e) {
+                AppLog.e(T.API, "Unable to instantiate subscriber index " + className, e);
+            }
+        }
+        return Collections.unmodifiableList(indexes);
+    }
+
+    /**
+     * Looks up the routing table generated by the fluxc-processor for the given store class, walking up the class
+     * hierarchy so that subclasses (e.g. test doubles) use the routes of the annotated store.
+     */
+    @Nullable
+    private static ActionRoutes findActionRoutes(@NonNull Class<?> storeClass) {
+        for (Class<?> clazz = storeClass; clazz != null && clazz != Store.class; clazz = clazz.getSuperclass()) {
+            try {
+                Class<?> routesClass = Class.forName(clazz.getName() + AnnotationConfig.ACTION_ROUTES_SUFFIX, true,
+                        clazz.getClassLoader());
+                return (ActionRoutes) routesClass.getDeclaredConstructor().newInstance();
+            } catch (ClassNotFoundException e) {
+                // Not annotated with @ActionHandler, try the superclass
+            } catch (ReflectiveOperationException e) {
+                AppLog.e(T.API, "Unable to instantiate action routes for " + clazz.getName(), e);
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static class RoutedStore {
+        private final Store mStore;
+        private final int mPriority;
+
+        RoutedStore(Store store, int priority) {
+            mStore = store;
+            mPriority = priority;
+        }
+    }
 }
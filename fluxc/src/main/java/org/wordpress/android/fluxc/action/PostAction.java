@@ -10,6 +10,7 @@ import org.wordpress.android.fluxc.store.PostStore.FetchPostListPayload;
 import org.wordpress.android.fluxc.store.PostStore.FetchPostListResponsePayload;
 import org.wordpress.android.fluxc.store.PostStore.FetchPostResponsePayload;
 import org.wordpress.android.fluxc.store.PostStore.FetchPostStatusResponsePayload;
+import org.wordpress.android.fluxc.store.PostStore.FetchPostsByRemoteIdsResponsePayload;
 import org.wordpress.android.fluxc.store.PostStore.FetchPostsPayload;
 import org.wordpress.android.fluxc.store.PostStore.FetchPostsResponsePayload;
 import org.wordpress.android.fluxc.store.PostStore.FetchRevisionsPayload;
@@ -49,6 +50,8 @@ public enum PostAction implements IAction {
     FETCHED_POST_LIST,
     @Action(payloadType = FetchPostsResponsePayload.class)
     FETCHED_POSTS,
+    @Action(payloadType = FetchPostsByRemoteIdsResponsePayload.class)
+    FETCHED_POSTS_BY_REMOTE_IDS,
     @Action(payloadType = FetchPostResponsePayload.class)
     FETCHED_POST,
     @Action(payloadType = FetchPostStatusResponsePayload.class)
@@ -19,7 +19,9 @@ data class EncryptedLog(
     val file: File,
     val dateCreated: Date = Date(),
     val uploadState: EncryptedLogUploadState = QUEUED,
-    val failedCount: Int = 0
+    val failedCount: Int = 0,
+    val retryCount: Int = 0,
+    val nextAttemptDate: Date = Date(0)
 ) {
     companion object {
         fun fromEncryptedLogModel(encryptedLogModel: EncryptedLogModel) =
@@ -29,7 +31,9 @@ data class EncryptedLog(
                         uuid = encryptedLogModel.uuid!!,
                         file = File(encryptedLogModel.filePath),
                         uploadState = encryptedLogModel.uploadState,
-                        failedCount = encryptedLogModel.failedCount
+                        failedCount = encryptedLogModel.failedCount,
+                        retryCount = encryptedLogModel.retryCount,
+                        nextAttemptDate = Date(encryptedLogModel.nextAttemptTime)
                 )
     }
 }
@@ -42,6 +46,8 @@ class EncryptedLogModel(@PrimaryKey @Column private var id: Int = 0) : Identifia
     @Column var dateCreated: String? = null // ISO 8601-formatted date in UTC, e.g. 1955-11-05T14:15:00Z
     @Column var uploadStateDbValue: Int = QUEUED.value
     @Column var failedCount: Int = 0
+    @Column var retryCount: Int = 0 // Number of failed attempts since the log was queued, used for the backoff
+    @Column var nextAttemptTime: Long = 0 // Earliest time of the next upload attempt, in milliseconds since epoch
 
     override fun getId(): Int = id
 
@@ -67,6 +73,8 @@ class EncryptedLogModel(@PrimaryKey @Column private var id: Int = 0) : Identifia
             it.dateCreated = DateTimeUtils.iso8601UTCFromDate(encryptedLog.dateCreated)
             it.uploadStateDbValue = encryptedLog.uploadState.value
             it.failedCount = encryptedLog.failedCount
+            it.retryCount = encryptedLog.retryCount
+            it.nextAttemptTime = encryptedLog.nextAttemptDate.time
         }
     }
 }
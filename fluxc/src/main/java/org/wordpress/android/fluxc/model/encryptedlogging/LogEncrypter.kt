@@ -5,15 +5,22 @@ import com.goterl.lazysodium.interfaces.SecretStream
 import com.goterl.lazysodium.interfaces.SecretStream.State
 import com.goterl.lazysodium.utils.Key
 import dagger.Reusable
+import okio.Buffer
+import okio.BufferedSink
+import okio.BufferedSource
+import okio.buffer
+import okio.source
+import java.io.File
 import javax.inject.Inject
 
 private const val ENCODED_ENCRYPTED_KEY_LENGTH = 108
 private const val ENCODED_HEADER_LENGTH = 32
+private const val NEWLINE: Byte = 0x0A // '\n'
 
 data class EncryptedLoggingKey(val publicKey: Key)
 
 /**
- * [LogEncrypter] encrypts the logs for the given text.
+ * [LogEncrypter] encrypts the logs for the given text or file.
  **
  * @param encryptedLoggingKey The public key used to encrypt the log
  *
@@ -26,21 +33,39 @@ class LogEncrypter @Inject constructor(private val encryptedLoggingKey: Encrypte
      * @param text Text contents to be encrypted
      * @param uuid Uuid for the encrypted log
      */
-    fun encrypt(text: String, uuid: String): String = buildString {
+    fun encrypt(text: String, uuid: String): String {
+        val encrypted = Buffer()
+        encrypt(Buffer().writeUtf8(text), uuid, encrypted)
+        return encrypted.readUtf8()
+    }
+
+    /**
+     * Encrypts the given [file] line by line, writing the encrypted log to [sink] as it goes, so the whole file
+     * is never held in memory. It also adds the given [uuid] to its headers.
+     *
+     * @param file Log file to be encrypted
+     * @param uuid Uuid for the encrypted log
+     * @param sink Destination of the encrypted log, e.g. the body of the upload request
+     */
+    fun encrypt(file: File, uuid: String, sink: BufferedSink) {
+        file.source().buffer().use { encrypt(it, uuid, sink) }
+    }
+
+    private fun encrypt(source: BufferedSource, uuid: String, sink: BufferedSink) {
         val state = State.ByReference()
-        append(buildHeader(uuid, state))
-        val lines = text.lines()
-        lines.asSequence().mapIndexed { index, line ->
-            if (index + 1 >= lines.size) {
-                // If it's the last element
-                line
-            } else {
-                "$line\n"
+        sink.writeUtf8(buildHeader(uuid, state))
+        while (true) {
+            val newlineIndex = source.indexOf(NEWLINE)
+            if (newlineIndex == -1L) {
+                // The last line, which is empty if the text ends with a line break
+                sink.writeUtf8(buildMessage(source.readUtf8(), state))
+                break
             }
-        }.forEach { line ->
-            append(buildMessage(line, state))
+            val line = source.readUtf8(newlineIndex + 1).removeSuffix("\n").removeSuffix("\r")
+            sink.writeUtf8(buildMessage("$line\n", state))
         }
-        append(buildFooter(state))
+        sink.writeUtf8(buildFooter(state))
+        sink.flush()
     }
 
     /**
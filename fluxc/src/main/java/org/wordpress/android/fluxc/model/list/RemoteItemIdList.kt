@@ -0,0 +1,47 @@
+package org.wordpress.android.fluxc.model.list
+
+import org.wordpress.android.fluxc.model.LocalOrRemoteId.RemoteId
+
+/**
+ * A read-only list of [RemoteId]s backed by a [LongArray], used to snapshot the remote item ids of a list.
+ *
+ * The ids stay primitive: a [RemoteId] is only created when an element is read. [subList] returns a slice sharing
+ * the same array, so paging through the list copies nothing, and [getLong] reads an id without creating a [RemoteId].
+ */
+class RemoteItemIdList private constructor(
+    private val ids: LongArray,
+    private val fromIndex: Int,
+    private val toIndex: Int
+) : AbstractList<RemoteId>(), RandomAccess {
+    /**
+     * @param ids the remote item ids. The array is used as is and must not be modified afterwards.
+     */
+    constructor(ids: LongArray) : this(ids, 0, ids.size)
+
+    override val size: Int
+        get() = toIndex - fromIndex
+
+    override fun get(index: Int): RemoteId = RemoteId(getLong(index))
+
+    /**
+     * Returns the remote item id at the given [index], without creating a [RemoteId].
+     */
+    fun getLong(index: Int): Long {
+        if (index < 0 || index >= size) {
+            throw IndexOutOfBoundsException("Index: $index, Size: $size")
+        }
+        return ids[fromIndex + index]
+    }
+
+    override fun subList(fromIndex: Int, toIndex: Int): RemoteItemIdList {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw IndexOutOfBoundsException("fromIndex: $fromIndex, toIndex: $toIndex, size: $size")
+        }
+        return RemoteItemIdList(ids, this.fromIndex + fromIndex, this.fromIndex + toIndex)
+    }
+
+    /**
+     * Returns a copy of the remote item ids of this list.
+     */
+    fun toLongArray(): LongArray = ids.copyOfRange(fromIndex, toIndex)
+}
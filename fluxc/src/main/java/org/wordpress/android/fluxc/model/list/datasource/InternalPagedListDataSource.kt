@@ -30,6 +30,9 @@ class InternalPagedListDataSource<LIST_DESCRIPTOR : ListDescriptor, ITEM_IDENTIF
      * PagedList library needs a snapshot of the data. It does the heavy lifting by caching the items provided to it,
      * but it still needs a consistent list of identifiers to work with. In order to do that, we take a snapshot of the
      * current identifiers and work with those until a new instance is created by PagedList.
+     *
+     * `ListStore` provides the remote item ids as a `RemoteItemIdList` backed by a `LongArray`. When the identifiers
+     * are the remote item ids themselves, the snapshot stays primitive and `subList` slices it without copying it.
      */
     private val itemIdentifiers = itemDataSource.getItemIdentifiers(listDescriptor, remoteItemIds, isListFullyFetched)
 
@@ -10,9 +10,11 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
 import org.wordpress.android.fluxc.network.MemorizingTrustManager;
+import org.wordpress.android.fluxc.network.NamedRequestQueue;
 import org.wordpress.android.fluxc.network.OkHttpStack;
 import org.wordpress.android.fluxc.network.OpenJdkCookieManager;
 import org.wordpress.android.fluxc.network.RetryOnRedirectBasicNetwork;
+import org.wordpress.android.fluxc.network.SharedEngineNetwork;
 import org.wordpress.android.fluxc.network.rest.JsonObjectOrEmptyArray;
 import org.wordpress.android.fluxc.network.rest.JsonObjectOrEmptyArrayDeserializer;
 import org.wordpress.android.fluxc.network.rest.JsonObjectOrFalse;
@@ -38,19 +40,53 @@ public class ReleaseNetworkModule {
     private static final String DEFAULT_CACHE_DIR = "volley-fluxc";
     private static final int NETWORK_THREAD_POOL_SIZE = 10;
 
-    private RequestQueue newRetryOnRedirectRequestQueue(OkHttpClient okHttpClient, Context appContext) {
+    private final int mMaxConcurrentRequests;
+    private final int mMaxConcurrentRequestsPerHost;
+
+    public ReleaseNetworkModule() {
+        this(NETWORK_THREAD_POOL_SIZE, SharedEngineNetwork.UNLIMITED_REQUESTS_PER_HOST);
+    }
+
+    /**
+     * @param maxConcurrentRequests number of network dispatcher threads shared by all the named request queues
+     * @param maxConcurrentRequestsPerHost maximum number of requests running concurrently against a single host,
+     *                                     or {@link SharedEngineNetwork#UNLIMITED_REQUESTS_PER_HOST}
+     */
+    public ReleaseNetworkModule(int maxConcurrentRequests, int maxConcurrentRequestsPerHost) {
+        mMaxConcurrentRequests = maxConcurrentRequests;
+        mMaxConcurrentRequestsPerHost = maxConcurrentRequestsPerHost;
+    }
+
+    private RequestQueue newRetryOnRedirectRequestQueue(RequestQueue sharedQueue, SharedEngineNetwork sharedNetwork,
+                                                        OkHttpClient okHttpClient) {
         Network network = new RetryOnRedirectBasicNetwork(new OkHttpStack(okHttpClient));
-        return createRequestQueue(network, appContext);
+        return new NamedRequestQueue(sharedQueue, sharedNetwork, network);
     }
 
-    private RequestQueue newRequestQueue(OkHttpClient okHttpClient, Context appContext) {
+    private RequestQueue newRequestQueue(RequestQueue sharedQueue, SharedEngineNetwork sharedNetwork,
+                                         OkHttpClient okHttpClient) {
         Network network = new BasicNetwork(new OkHttpStack(okHttpClient));
-        return createRequestQueue(network, appContext);
+        return new NamedRequestQueue(sharedQueue, sharedNetwork, network);
     }
 
-    private RequestQueue createRequestQueue(Network network, Context appContext) {
+    /**
+     * All the named request queues run on this network and the queue below, so there's a single set of dispatcher
+     * threads and a single cache for the whole app.
+     */
+    @Singleton
+    @Provides
+    public SharedEngineNetwork provideSharedEngineNetwork(@Named("regular") OkHttpClient okHttpClient) {
+        return new SharedEngineNetwork(new BasicNetwork(new OkHttpStack(okHttpClient)),
+                mMaxConcurrentRequestsPerHost);
+    }
+
+    @Singleton
+    @Named("shared")
+    @Provides
+    public RequestQueue provideSharedRequestQueue(SharedEngineNetwork sharedNetwork, Context appContext) {
         File cacheDir = new File(appContext.getCacheDir(), DEFAULT_CACHE_DIR);
-        RequestQueue queue = new RequestQueue(new DiskBasedCache(cacheDir), network, NETWORK_THREAD_POOL_SIZE);
+        RequestQueue queue = new RequestQueue(new DiskBasedCache(cacheDir), sharedNetwork, mMaxConcurrentRequests);
+        queue.addRequestFinishedListener(sharedNetwork);
         queue.start();
         return queue;
     }
@@ -58,42 +94,47 @@ public class ReleaseNetworkModule {
     @Singleton
     @Named("regular")
     @Provides
-    public RequestQueue provideRequestQueue(@Named("regular") OkHttpClient okHttpClient,
-                                            Context appContext) {
-        return newRequestQueue(okHttpClient, appContext);
+    public RequestQueue provideRequestQueue(@Named("shared") RequestQueue sharedQueue,
+                                            SharedEngineNetwork sharedNetwork,
+                                            @Named("regular") OkHttpClient okHttpClient) {
+        return newRequestQueue(sharedQueue, sharedNetwork, okHttpClient);
     }
 
     @Singleton
     @Named("no-redirects")
     @Provides
-    public RequestQueue provideNoRedirectsRequestQueue(@Named("no-redirects") OkHttpClient okHttpClient,
-                                                       Context appContext) {
-        return newRetryOnRedirectRequestQueue(okHttpClient, appContext);
+    public RequestQueue provideNoRedirectsRequestQueue(@Named("shared") RequestQueue sharedQueue,
+                                                       SharedEngineNetwork sharedNetwork,
+                                                       @Named("no-redirects") OkHttpClient okHttpClient) {
+        return newRetryOnRedirectRequestQueue(sharedQueue, sharedNetwork, okHttpClient);
     }
 
     @Singleton
     @Named("custom-ssl")
     @Provides
-    public RequestQueue provideRequestQueueCustomSSL(@Named("custom-ssl") OkHttpClient okHttpClient,
-                                                     Context appContext) {
-        return newRequestQueue(okHttpClient, appContext);
+    public RequestQueue provideRequestQueueCustomSSL(@Named("shared") RequestQueue sharedQueue,
+                                                     SharedEngineNetwork sharedNetwork,
+                                                     @Named("custom-ssl") OkHttpClient okHttpClient) {
+        return newRequestQueue(sharedQueue, sharedNetwork, okHttpClient);
     }
 
     @Singleton
     @Named("custom-ssl-custom-redirects")
     @Provides
     public RequestQueue provideRequestQueueCustomSSLWithRedirects(
-            @Named("custom-ssl-custom-redirects") OkHttpClient okHttpClient,
-            Context appContext) {
-        return newRequestQueue(okHttpClient, appContext);
+            @Named("shared") RequestQueue sharedQueue,
+            SharedEngineNetwork sharedNetwork,
+            @Named("custom-ssl-custom-redirects") OkHttpClient okHttpClient) {
+        return newRequestQueue(sharedQueue, sharedNetwork, okHttpClient);
     }
 
     @Singleton
     @Named("no-cookies")
     @Provides
-    public RequestQueue provideRequestQueueNoCookies(@Named("no-cookies") OkHttpClient okHttpClient,
-                                                     Context appContext) {
-        return newRequestQueue(okHttpClient, appContext);
+    public RequestQueue provideRequestQueueNoCookies(@Named("shared") RequestQueue sharedQueue,
+                                                     SharedEngineNetwork sharedNetwork,
+                                                     @Named("no-cookies") OkHttpClient okHttpClient) {
+        return newRequestQueue(sharedQueue, sharedNetwork, okHttpClient);
     }
 
     @Singleton
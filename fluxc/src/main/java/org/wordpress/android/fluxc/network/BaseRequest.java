@@ -5,6 +5,7 @@ import android.net.Uri.Builder;
 import android.util.Base64;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import com.android.volley.AuthFailureError;
 import com.android.volley.Cache;
@@ -19,17 +20,21 @@ import com.android.volley.VolleyError;
 import com.android.volley.toolbox.HttpHeaderParser;
 
 import org.wordpress.android.fluxc.FluxCError;
+import org.wordpress.android.fluxc.network.ConditionalRequestCache.Validators;
 import org.wordpress.android.fluxc.network.xmlrpc.XMLRPCRequest;
 import org.wordpress.android.fluxc.network.xmlrpc.XMLRPCRequest.XmlRpcErrorType;
 import org.wordpress.android.fluxc.store.AccountStore.AuthenticateErrorPayload;
 import org.wordpress.android.fluxc.utils.ErrorUtils.OnUnexpectedError;
 import org.wordpress.android.util.AppLog;
 
+import java.net.HttpURLConnection;
 import java.util.HashMap;
 import java.util.Map;
 
 import javax.net.ssl.SSLHandshakeException;
 
+import okhttp3.RequestBody;
+
 import static org.wordpress.android.fluxc.network.xmlrpc.XMLRPCRequest.XmlRpcErrorType.METHOD_NOT_ALLOWED;
 import static org.wordpress.android.fluxc.network.xmlrpc.XMLRPCRequest.XmlRpcErrorType.NOT_SET;
 
@@ -55,6 +60,10 @@ public abstract class BaseRequest<T> extends Request<T> {
         void onParseError(OnUnexpectedError event);
     }
 
+    public interface OnNotModifiedListener {
+        void onNotModified();
+    }
+
     private static final String USER_AGENT_HEADER = "User-Agent";
 
     protected OnAuthFailedListener mOnAuthFailedListener;
@@ -66,6 +75,11 @@ public abstract class BaseRequest<T> extends Request<T> {
     private int mCacheTtl;
     private int mCacheSoftTtl;
 
+    private ConditionalRequestCache mConditionalRequestCache;
+    private OnNotModifiedListener mOnNotModifiedListener;
+    private boolean mSendValidators;
+    private volatile boolean mNotModified;
+
     public static class BaseNetworkError implements FluxCError {
         public GenericErrorType type;
         public String message;
@@ -250,8 +264,39 @@ public abstract class BaseRequest<T> extends Request<T> {
         return mResetCache;
     }
 
+    /**
+     * Makes this GET request conditional: the validators of its response are kept in {@code cache}, and sent with
+     * the next request for the same URL and account. When the server answers that the resource didn't change, the
+     * response isn't parsed and {@code listener} is called instead of the success listener.
+     * <p>
+     * Ignored if caching was enabled with {@link #enableCaching(int, int)}, since the Volley cache already
+     * revalidates the responses it keeps.
+     *
+     * @param sendValidators false to fetch the whole resource while still keeping the validators of the response,
+     *                       e.g. when the data from the previous response isn't stored anymore
+     */
+    public void enableConditionalRequest(@NonNull ConditionalRequestCache cache, boolean sendValidators,
+                                         @NonNull OnNotModifiedListener listener) {
+        mConditionalRequestCache = cache;
+        mSendValidators = sendValidators;
+        mOnNotModifiedListener = listener;
+    }
+
     @Override
     public Map<String, String> getHeaders() {
+        if (isConditional() && mSendValidators) {
+            Validators validators = mConditionalRequestCache.get(getConditionalRequestKey());
+            if (validators != null) {
+                Map<String, String> headers = new HashMap<>(mHeaders);
+                if (validators.getETag() != null) {
+                    headers.put(ConditionalRequestCache.IF_NONE_MATCH_HEADER, validators.getETag());
+                }
+                if (validators.getLastModified() != null) {
+                    headers.put(ConditionalRequestCache.IF_MODIFIED_SINCE_HEADER, validators.getLastModified());
+                }
+                return headers;
+            }
+        }
         return mHeaders;
     }
 
@@ -280,6 +325,17 @@ public abstract class BaseRequest<T> extends Request<T> {
         mHeaders.put(header, value);
     }
 
+    /**
+     * Returns the body {@link OkHttpStack} should send for this request, or null to send {@link #getBody()}.
+     * <p>
+     * Requests with large bodies can override this to write their body straight to the connection, rather than
+     * building it as a byte array first.
+     */
+    @Nullable
+    public RequestBody getRequestBody() throws AuthFailureError {
+        return null;
+    }
+
     /**
      * Convenience method for setting a {@link com.android.volley.RetryPolicy} with no retries.
      */
@@ -287,6 +343,47 @@ public abstract class BaseRequest<T> extends Request<T> {
         setRetryPolicy(new DefaultRetryPolicy(DEFAULT_REQUEST_TIMEOUT, 0, DefaultRetryPolicy.DEFAULT_BACKOFF_MULT));
     }
 
+    /**
+     * Returns true if the response tells that the resource didn't change since the previous response of this
+     * conditional request, in which case the response must not be parsed.
+     */
+    protected boolean isNotModifiedResponse(@NonNull NetworkResponse response) {
+        // Volley answers a 304 without any data when the request has no entry in the Volley cache
+        mNotModified = isConditional() && response.statusCode == HttpURLConnection.HTTP_NOT_MODIFIED
+                && response.data == null;
+        return mNotModified;
+    }
+
+    /**
+     * Keeps the validators of a successfully parsed response of this conditional request, to send them with the
+     * next request for the same resource.
+     */
+    protected void storeValidators(@NonNull NetworkResponse response) {
+        if (isConditional()) {
+            mConditionalRequestCache.put(getConditionalRequestKey(), Validators.fromHeaders(response.headers));
+        }
+    }
+
+    /**
+     * Returns true if the delivered response is a {@code 304 Not Modified} response to this conditional request.
+     */
+    protected boolean isNotModified() {
+        return mNotModified;
+    }
+
+    protected void deliverNotModified() {
+        mOnNotModifiedListener.onNotModified();
+    }
+
+    private boolean isConditional() {
+        return mConditionalRequestCache != null && getMethod() == Method.GET && !shouldCache();
+    }
+
+    @NonNull
+    private String getConditionalRequestKey() {
+        return ConditionalRequestCache.buildKey(getUrl(), mHeaders);
+    }
+
     /**
      * Generate a cache entry for this request.
      * <p>
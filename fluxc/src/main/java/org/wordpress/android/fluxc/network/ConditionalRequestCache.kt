@@ -0,0 +1,77 @@
+package org.wordpress.android.fluxc.network
+
+import android.util.LruCache
+import java.security.MessageDigest
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * Keeps the validators (`ETag` and `Last-Modified` headers) of the responses to the requests made conditional with
+ * [BaseRequest.enableConditionalRequest], so that the next request for the same resource is sent with
+ * `If-None-Match` and `If-Modified-Since`, letting the server answer `304 Not Modified` without a body.
+ *
+ * Validators are kept per account and per URL, including its query parameters. They are kept in memory only: the
+ * first request after a restart fetches the whole resource again, so a resource is never reported unchanged while
+ * the data from its previous response might have been lost.
+ */
+@Singleton
+class ConditionalRequestCache @Inject constructor() {
+    private val validators = LruCache<String, Validators>(MAX_ENTRIES)
+
+    fun get(key: String): Validators? = validators.get(key)
+
+    fun put(key: String, value: Validators?) {
+        if (value == null) {
+            validators.remove(key)
+        } else {
+            validators.put(key, value)
+        }
+    }
+
+    fun remove(key: String) {
+        validators.remove(key)
+    }
+
+    fun clear() {
+        validators.evictAll()
+    }
+
+    data class Validators(val eTag: String?, val lastModified: String?) {
+        companion object {
+            /**
+             * Returns the validators of the given response headers, or null if the response has none.
+             */
+            @JvmStatic
+            fun fromHeaders(headers: Map<String, String>?): Validators? {
+                val eTag = headers?.getIgnoringCase(ETAG_HEADER)
+                val lastModified = headers?.getIgnoringCase(LAST_MODIFIED_HEADER)
+                return if (eTag == null && lastModified == null) null else Validators(eTag, lastModified)
+            }
+        }
+    }
+
+    companion object {
+        const val ETAG_HEADER = "ETag"
+        const val LAST_MODIFIED_HEADER = "Last-Modified"
+        const val IF_NONE_MATCH_HEADER = "If-None-Match"
+        const val IF_MODIFIED_SINCE_HEADER = "If-Modified-Since"
+
+        private const val MAX_ENTRIES = 500
+        private val CREDENTIAL_HEADERS = listOf("Authorization", "X-WP-Nonce")
+
+        /**
+         * Builds the key of the validators of a request, from its URL and from the headers identifying the account
+         * making it. Credentials are hashed, so that they aren't kept around in the keys.
+         */
+        @JvmStatic
+        fun buildKey(url: String, requestHeaders: Map<String, String>): String {
+            val credentials = CREDENTIAL_HEADERS.joinToString("\n") { requestHeaders.getIgnoringCase(it).orEmpty() }
+            val digest = MessageDigest.getInstance("SHA-256").digest(credentials.toByteArray())
+            return digest.joinToString("") { "%02x".format(it) } + " " + url
+        }
+
+        private fun Map<String, String>.getIgnoringCase(name: String): String? {
+            return entries.firstOrNull { it.key.equals(name, ignoreCase = true) }?.value
+        }
+    }
+}
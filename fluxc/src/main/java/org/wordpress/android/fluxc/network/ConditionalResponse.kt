@@ -0,0 +1,17 @@
+package org.wordpress.android.fluxc.network
+
+/**
+ * The result of a request made conditional with [ConditionalRequestCache].
+ */
+sealed class ConditionalResponse<out R> {
+    /**
+     * The resource was fetched: it's new or it changed since the last request, or the request failed.
+     */
+    data class Fetched<R>(val response: R) : ConditionalResponse<R>()
+
+    /**
+     * The server answered `304 Not Modified`: the data from the previous response is still current, and nothing was
+     * parsed.
+     */
+    object NotModified : ConditionalResponse<Nothing>()
+}
@@ -0,0 +1,28 @@
+package org.wordpress.android.fluxc.network
+
+import okhttp3.MediaType
+import okhttp3.MediaType.Companion.toMediaType
+import okhttp3.RequestBody
+import okio.BufferedSink
+import org.wordpress.android.fluxc.model.encryptedlogging.LogEncrypter
+import java.io.File
+
+private const val CONTENT_TYPE_JSON = "application/json"
+
+/**
+ * Request body of an encrypted log upload. The log [file] is encrypted while the body is written to the connection,
+ * so the encrypted log is streamed to the server instead of being built in memory first.
+ *
+ * The length of the encrypted log isn't known in advance, so the body is sent with a chunked transfer encoding.
+ */
+class EncryptedLogUploadRequestBody(
+    private val file: File,
+    private val uuid: String,
+    private val logEncrypter: LogEncrypter
+) : RequestBody() {
+    override fun contentType(): MediaType = CONTENT_TYPE_JSON.toMediaType()
+
+    override fun writeTo(sink: BufferedSink) {
+        logEncrypter.encrypt(file, uuid, sink)
+    }
+}
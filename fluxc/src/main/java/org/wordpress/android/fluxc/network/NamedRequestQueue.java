@@ -0,0 +1,61 @@
+package org.wordpress.android.fluxc.network;
+
+import androidx.annotation.NonNull;
+
+import com.android.volley.Network;
+import com.android.volley.Request;
+import com.android.volley.RequestQueue;
+
+/**
+ * A {@link RequestQueue} without dispatcher threads of its own: requests added to it run on the shared queue, using
+ * this queue's {@link Network} (and so its OkHttp client) through {@link SharedEngineNetwork}, which also holds them
+ * back while their host is at its request limit.
+ */
+public class NamedRequestQueue extends RequestQueue {
+    private final RequestQueue mSharedQueue;
+    private final SharedEngineNetwork mSharedNetwork;
+    private final Network mNetwork;
+
+    public NamedRequestQueue(@NonNull RequestQueue sharedQueue, @NonNull SharedEngineNetwork sharedNetwork,
+                             @NonNull Network network) {
+        super(sharedQueue.getCache(), network, 1);
+        mSharedQueue = sharedQueue;
+        mSharedNetwork = sharedNetwork;
+        mNetwork = network;
+    }
+
+    @Override
+    public <T> Request<T> add(Request<T> request) {
+        return mSharedNetwork.add(mSharedQueue, request, mNetwork);
+    }
+
+    @Override
+    public void cancelAll(final RequestFilter filter) {
+        RequestFilter assignedFilter =
+                request -> mSharedNetwork.isAssignedTo(request, mNetwork) && filter.apply(request);
+        mSharedNetwork.cancelWaiting(assignedFilter);
+        mSharedQueue.cancelAll(assignedFilter);
+    }
+
+    @Override
+    public void cancelAll(final Object tag) {
+        if (tag == null) {
+            throw new IllegalArgumentException("Cannot cancelAll with a null tag");
+        }
+        cancelAll(request -> request.getTag() == tag);
+    }
+
+    /**
+     * The shared queue owns the dispatcher threads, there is nothing to start.
+     */
+    @Override
+    public void start() {
+    }
+
+    /**
+     * The shared queue owns the dispatcher threads, there is nothing to stop.
+     */
+    @Override
+    public void stop() {
+    }
+}
@@ -1,6 +1,7 @@
 package org.wordpress.android.fluxc.network;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
 
 import com.android.volley.AuthFailureError;
 import com.android.volley.Header;
@@ -11,6 +12,7 @@ import com.android.volley.toolbox.HttpResponse;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
@@ -29,12 +31,43 @@ import okhttp3.ResponseBody;
  * use okhttp-urlconnection
  */
 public class OkHttpStack extends BaseHttpStack {
+    // Requests use a handful of distinct timeouts (the default one, its retry backoffs and a few custom ones),
+    // this bounds the cache in case a caller uses many different values
+    private static final int MAX_CACHED_TIMEOUT_CLIENTS = 8;
+
     private final OkHttpClient mOkHttpClient;
+    private final Map<Integer, OkHttpClient> mTimeoutAwareClients =
+            new LinkedHashMap<Integer, OkHttpClient>(MAX_CACHED_TIMEOUT_CLIENTS, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, OkHttpClient> eldest) {
+                    return size() > MAX_CACHED_TIMEOUT_CLIENTS;
+                }
+            };
 
     public OkHttpStack(final OkHttpClient okHttpClient) {
         this.mOkHttpClient = okHttpClient;
     }
 
+    /**
+     * Returns a client applying the given timeout to connect, read and write. Clients are cached by timeout: they
+     * share the connection pool and dispatcher of the base client, so building one per request only adds garbage.
+     */
+    @VisibleForTesting
+    OkHttpClient getTimeoutAwareClient(int timeoutMs) {
+        synchronized (mTimeoutAwareClients) {
+            OkHttpClient client = mTimeoutAwareClients.get(timeoutMs);
+            if (client == null) {
+                client = mOkHttpClient.newBuilder()
+                                      .connectTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                                      .readTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                                      .writeTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                                      .build();
+                mTimeoutAwareClients.put(timeoutMs, client);
+            }
+            return client;
+        }
+    }
+
     private static void setConnectionParametersForRequest(okhttp3.Request.Builder builder, Request<?> request)
             throws AuthFailureError {
         switch (request.getMethod()) {
@@ -76,6 +109,12 @@ public class OkHttpStack extends BaseHttpStack {
 
     @NonNull
     private static RequestBody createRequestBody(Request r) throws AuthFailureError {
+        if (r instanceof BaseRequest) {
+            RequestBody requestBody = ((BaseRequest<?>) r).getRequestBody();
+            if (requestBody != null) {
+                return requestBody;
+            }
+        }
         final byte[] body = r.getBody();
         if (body == null) {
             return RequestBody.create(null, new byte[]{});
@@ -86,13 +125,7 @@ public class OkHttpStack extends BaseHttpStack {
     @Override
     public HttpResponse executeRequest(Request<?> request, Map<String, String> additionalHeaders)
             throws IOException, AuthFailureError {
-        int timeoutMs = request.getTimeoutMs();
-
-        final OkHttpClient timeoutAwareClient = mOkHttpClient.newBuilder()
-                                                             .connectTimeout(timeoutMs, TimeUnit.MILLISECONDS)
-                                                             .readTimeout(timeoutMs, TimeUnit.MILLISECONDS)
-                                                             .writeTimeout(timeoutMs, TimeUnit.MILLISECONDS)
-                                                             .build();
+        final OkHttpClient timeoutAwareClient = getTimeoutAwareClient(request.getTimeoutMs());
 
         okhttp3.Request.Builder okHttpRequestBuilder = new okhttp3.Request.Builder();
         okHttpRequestBuilder.url(request.getUrl());
@@ -0,0 +1,159 @@
+package org.wordpress.android.fluxc.network;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.android.volley.Network;
+import com.android.volley.NetworkResponse;
+import com.android.volley.Request;
+import com.android.volley.RequestQueue;
+import com.android.volley.RequestQueue.RequestFilter;
+import com.android.volley.RequestQueue.RequestFinishedListener;
+import com.android.volley.VolleyError;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.WeakHashMap;
+
+import okhttp3.HttpUrl;
+
+/**
+ * {@link Network} used by the single shared {@link com.android.volley.RequestQueue} behind all the named queues.
+ * <p>
+ * Each request is performed with the network of the named queue it was added to (see {@link NamedRequestQueue}),
+ * which keeps the per-queue OkHttp behaviour (redirects, SSL, cookies) while all queues share the same dispatcher
+ * threads and cache. The number of dispatcher threads of the shared queue is the global concurrency limit.
+ * <p>
+ * Requests added through a named queue can additionally be capped per host. A request over its host's limit isn't
+ * added to the shared queue until one of the host's requests finishes, so it never holds a dispatcher thread that
+ * requests to other hosts could use. This class must be registered as a {@link RequestFinishedListener} of the
+ * shared queue for the waiting requests to be added.
+ */
+public class SharedEngineNetwork implements Network, RequestFinishedListener<Object> {
+    public static final int UNLIMITED_REQUESTS_PER_HOST = 0;
+
+    private final Network mDefaultNetwork;
+    private final int mMaxRequestsPerHost;
+    private final Map<Request<?>, Network> mRequestNetworks = Collections.synchronizedMap(new WeakHashMap<>());
+
+    // Guarded by mHostRequests. The host is kept per request as a redirect can change the request's url.
+    private final Map<String, HostRequests> mHostRequests = new HashMap<>();
+    private final Map<Request<?>, String> mRunningRequestHosts = new HashMap<>();
+
+    /**
+     * @param defaultNetwork used for requests added to the shared queue directly, rather than through a named queue
+     * @param maxRequestsPerHost maximum number of requests added through a named queue that run concurrently against
+     *                           a single host, or {@link #UNLIMITED_REQUESTS_PER_HOST}
+     */
+    public SharedEngineNetwork(@NonNull Network defaultNetwork, int maxRequestsPerHost) {
+        mDefaultNetwork = defaultNetwork;
+        mMaxRequestsPerHost = maxRequestsPerHost;
+    }
+
+    /**
+     * Adds the request to the shared queue, to be performed with the given network, or keeps it until one of the
+     * requests running against its host finishes.
+     */
+    <T> Request<T> add(@NonNull RequestQueue sharedQueue, @NonNull Request<T> request, @NonNull Network network) {
+        mRequestNetworks.put(request, network);
+        String host = getHost(request.getUrl());
+        if (host != null) {
+            synchronized (mHostRequests) {
+                HostRequests hostRequests = mHostRequests.get(host);
+                if (hostRequests == null) {
+                    hostRequests = new HostRequests();
+                    mHostRequests.put(host, hostRequests);
+                }
+                if (hostRequests.mRunning >= mMaxRequestsPerHost) {
+                    hostRequests.mWaiting.add(new WaitingRequest(sharedQueue, request));
+                    return request;
+                }
+                hostRequests.mRunning++;
+                mRunningRequestHosts.put(request, host);
+            }
+        }
+        return sharedQueue.add(request);
+    }
+
+    boolean isAssignedTo(@NonNull Request<?> request, @NonNull Network network) {
+        return mRequestNetworks.get(request) == network;
+    }
+
+    /**
+     * Cancels the requests waiting for their host that match the filter, the shared queue cancels the others.
+     */
+    void cancelWaiting(@NonNull RequestFilter filter) {
+        synchronized (mHostRequests) {
+            for (HostRequests hostRequests : mHostRequests.values()) {
+                Iterator<WaitingRequest> iterator = hostRequests.mWaiting.iterator();
+                while (iterator.hasNext()) {
+                    Request<?> request = iterator.next().mRequest;
+                    if (filter.apply(request)) {
+                        request.cancel();
+                        iterator.remove();
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void onRequestFinished(Request<Object> request) {
+        WaitingRequest next;
+        synchronized (mHostRequests) {
+            String host = mRunningRequestHosts.remove(request);
+            HostRequests hostRequests = host != null ? mHostRequests.get(host) : null;
+            if (hostRequests == null) {
+                return;
+            }
+            next = hostRequests.mWaiting.poll();
+            if (next == null) {
+                hostRequests.mRunning--;
+                if (hostRequests.mRunning == 0) {
+                    mHostRequests.remove(host);
+                }
+                return;
+            }
+            // The finished request hands its slot over to the next one
+            mRunningRequestHosts.put(next.mRequest, host);
+        }
+        next.mSharedQueue.add(next.mRequest);
+    }
+
+    @Override
+    public NetworkResponse performRequest(Request<?> request) throws VolleyError {
+        Network network = mRequestNetworks.get(request);
+        if (network == null) {
+            network = mDefaultNetwork;
+        }
+        return network.performRequest(request);
+    }
+
+    @Nullable
+    private String getHost(@Nullable String url) {
+        if (mMaxRequestsPerHost == UNLIMITED_REQUESTS_PER_HOST || url == null) {
+            return null;
+        }
+        HttpUrl httpUrl = HttpUrl.parse(url);
+        return httpUrl != null ? httpUrl.host() : null;
+    }
+
+    private static class HostRequests {
+        private final Queue<WaitingRequest> mWaiting = new ArrayDeque<>();
+        private int mRunning;
+    }
+
+    private static class WaitingRequest {
+        private final RequestQueue mSharedQueue;
+        private final Request<?> mRequest;
+
+        WaitingRequest(@NonNull RequestQueue sharedQueue, @NonNull Request<?> request) {
+            mSharedQueue = sharedQueue;
+            mRequest = request;
+        }
+    }
+}
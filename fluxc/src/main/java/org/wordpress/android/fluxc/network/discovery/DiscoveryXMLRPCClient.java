@@ -53,7 +53,11 @@ public class DiscoveryXMLRPCClient extends BaseXMLRPCClient {
 
         try {
             return future.get(TIMEOUT_MS, TimeUnit.MILLISECONDS);
-        } catch (InterruptedException | TimeoutException e) {
+        } catch (InterruptedException e) {
+            // Discovery doesn't need this response anymore, e.g. another URL was found to work first
+            request.cancel();
+            Thread.currentThread().interrupt();
+        } catch (TimeoutException e) {
             AppLog.e(AppLog.T.API, "Couldn't get XML-RPC response");
         } catch (ExecutionException e) {
             if (e.getCause() instanceof AuthFailureError) {
@@ -95,7 +99,11 @@ public class DiscoveryXMLRPCClient extends BaseXMLRPCClient {
 
         try {
             return future.get(TIMEOUT_MS, TimeUnit.MILLISECONDS);
-        } catch (InterruptedException | TimeoutException e) {
+        } catch (InterruptedException e) {
+            // Discovery doesn't need this response anymore, e.g. another URL was found to work first
+            request.cancel();
+            Thread.currentThread().interrupt();
+        } catch (TimeoutException e) {
             AppLog.e(AppLog.T.API, "Couldn't get XML-RPC response.");
         } catch (ExecutionException e) {
             if (e.getCause() instanceof AuthFailureError) {
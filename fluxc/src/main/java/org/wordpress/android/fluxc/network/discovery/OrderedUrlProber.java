@@ -0,0 +1,145 @@
+package org.wordpress.android.fluxc.network.discovery;
+
+import androidx.annotation.NonNull;
+
+import org.wordpress.android.fluxc.network.discovery.SelfHostedEndpointFinder.DiscoveryException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Probes a list of URLs concurrently, while giving the outcome the probes would have given if they had been run one
+ * after another.
+ * <p>
+ * The probes are started in the order of the URLs, each one a short delay after the previous one. The outcome of a
+ * URL is only used once the probes of all the URLs before it are done: probing stops at the first URL, in order,
+ * with a final outcome or whose probe throws, and the probes of the URLs after it are cancelled.
+ * <p>
+ * With {@link #probeHttpsFirst}, the cleartext http:// URLs are only probed once all the other URLs failed, so that
+ * no plain HTTP request, possibly carrying HTTP auth credentials, is sent for a site answering over https.
+ */
+class OrderedUrlProber {
+    interface Probe<R> {
+        /**
+         * Probes the given URL, from a background thread. Probes are cancelled by interrupting their thread.
+         *
+         * @throws DiscoveryException for errors that stop the probing, such as errors requiring user interaction
+         */
+        @NonNull
+        R probe(@NonNull String url) throws DiscoveryException;
+
+        /**
+         * Returns true if the outcome ends the probing, e.g. when a working endpoint was found.
+         */
+        boolean isFinal(@NonNull R outcome);
+    }
+
+    private final long mStaggerMs;
+
+    /**
+     * @param staggerMs the delay between the start of the probes of two consecutive URLs
+     */
+    OrderedUrlProber(long staggerMs) {
+        mStaggerMs = staggerMs;
+    }
+
+    /**
+     * Returns the URLs in the order {@link #probeHttpsFirst} probes them: the URLs not starting with http:// first,
+     * then the http:// ones, each group keeping its order.
+     */
+    @NonNull
+    static List<String> orderHttpsFirst(@NonNull List<String> urls) {
+        List<String> ordered = new ArrayList<>(urls.size());
+        List<String> cleartextUrls = new ArrayList<>();
+        for (String url : urls) {
+            if (isCleartext(url)) {
+                cleartextUrls.add(url);
+            } else {
+                ordered.add(url);
+            }
+        }
+        ordered.addAll(cleartextUrls);
+        return ordered;
+    }
+
+    /**
+     * Probes the URLs not starting with http:// concurrently, as {@link #probe} does, then only if none of them has
+     * a final outcome, probes the http:// URLs the same way.
+     *
+     * @return the outcomes of the URLs in the order of {@link #orderHttpsFirst}, up to the first final one
+     */
+    @NonNull
+    <R> List<R> probeHttpsFirst(@NonNull List<String> urls, @NonNull Probe<R> probe) throws DiscoveryException {
+        List<String> ordered = orderHttpsFirst(urls);
+        int cleartextStart = 0;
+        while (cleartextStart < ordered.size() && !isCleartext(ordered.get(cleartextStart))) {
+            cleartextStart++;
+        }
+
+        List<R> outcomes = probe(ordered.subList(0, cleartextStart), probe);
+        boolean isFound = !outcomes.isEmpty() && probe.isFinal(outcomes.get(outcomes.size() - 1));
+        if (!isFound && !Thread.currentThread().isInterrupted()) {
+            outcomes.addAll(probe(ordered.subList(cleartextStart, ordered.size()), probe));
+        }
+        return outcomes;
+    }
+
+    private static boolean isCleartext(@NonNull String url) {
+        return url.regionMatches(true, 0, "http://", 0, "http://".length());
+    }
+
+    /**
+     * Returns the outcomes of the URLs, in order, up to the first final one. Returns the outcomes of all the URLs if
+     * none is final.
+     */
+    @NonNull
+    <R> List<R> probe(@NonNull List<String> urls, @NonNull Probe<R> probe) throws DiscoveryException {
+        List<R> outcomes = new ArrayList<>();
+        if (urls.isEmpty()) {
+            return outcomes;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(urls.size());
+        try {
+            List<Future<R>> futures = new ArrayList<>(urls.size());
+            for (int i = 0; i < urls.size(); i++) {
+                final String url = urls.get(i);
+                final long delayMs = i * mStaggerMs;
+                futures.add(executor.submit(() -> {
+                    if (delayMs > 0) {
+                        Thread.sleep(delayMs);
+                    }
+                    return probe.probe(url);
+                }));
+            }
+
+            for (Future<R> future : futures) {
+                R outcome = future.get();
+                outcomes.add(outcome);
+                if (probe.isFinal(outcome)) {
+                    break;
+                }
+            }
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof DiscoveryException) {
+                throw (DiscoveryException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            // Interrupts the probes that are still running, which cancels their requests
+            executor.shutdownNow();
+        }
+        return outcomes;
+    }
+}
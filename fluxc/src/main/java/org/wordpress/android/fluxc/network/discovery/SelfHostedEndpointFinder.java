@@ -16,7 +16,9 @@ import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.AppLog.T;
 import org.wordpress.android.util.UrlUtils;
 
+import java.util.ArrayList;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -25,6 +27,11 @@ import javax.inject.Inject;
 
 public class SelfHostedEndpointFinder {
     public static final int TIMEOUT_MS = 60000;
+    /**
+     * Delay between the start of the probes of two consecutive URLs, which run concurrently. Unless the user specified
+     * the http:// protocol, the http:// URLs are only probed once all the https ones failed.
+     */
+    private static final long PROBE_STAGGER_MS = 300;
     /**
      * Regex pattern for matching the RSD link found in most WordPress sites.
      */
@@ -35,6 +42,7 @@ public class SelfHostedEndpointFinder {
     @NonNull private final Dispatcher mDispatcher;
     @NonNull private final DiscoveryXMLRPCClient mDiscoveryXMLRPCClient;
     @NonNull private final DiscoveryWPAPIRestClient mDiscoveryWPAPIRestClient;
+    @NonNull private final OrderedUrlProber mUrlProber = new OrderedUrlProber(PROBE_STAGGER_MS);
 
     public enum DiscoveryError implements OnChangedError {
         INVALID_URL,
@@ -143,7 +151,7 @@ public class SelfHostedEndpointFinder {
 
         // Start by adding the URL with 'xmlrpc.php'. This will be the first URL to try.
         // Prioritize https, unless the user specified the http:// protocol
-        if (siteUrl.startsWith("http://")) {
+        if (isCleartext(siteUrl)) {
             urlsToTry.add(DiscoveryUtils.appendXMLRPCPath(sanitizedSiteUrlHttp));
             urlsToTry.add(DiscoveryUtils.appendXMLRPCPath(sanitizedSiteUrlHttps));
         } else {
@@ -153,7 +161,7 @@ public class SelfHostedEndpointFinder {
 
         // Add the sanitized URL without the '/xmlrpc.php' suffix added to it
         // Prioritize https, unless the user specified the http:// protocol
-        if (siteUrl.startsWith("http://")) {
+        if (isCleartext(siteUrl)) {
             urlsToTry.add(sanitizedSiteUrlHttp);
             urlsToTry.add(sanitizedSiteUrlHttps);
         } else {
@@ -168,34 +176,67 @@ public class SelfHostedEndpointFinder {
 
     @Nullable
     private String verifyXMLRPCUrl(@NonNull final String siteUrl) throws DiscoveryException {
-        // Ordered set of Strings that contains the URLs we want to try
-        final LinkedHashSet<String> urlsToTry = getOrderedVerifyUrlsToTry(siteUrl);
+        // Ordered list of Strings that contains the URLs we want to try, in the order they are probed
+        List<String> urlsToTry = new ArrayList<>(getOrderedVerifyUrlsToTry(siteUrl));
+        if (!isCleartext(siteUrl)) {
+            urlsToTry = OrderedUrlProber.orderHttpsFirst(urlsToTry);
+        }
 
         AppLog.i(T.NUX, "Calling system.listMethods on the following URLs: " + urlsToTry);
-        for (String url : urlsToTry) {
-            try {
-                if (checkXMLRPCEndpointValidity(url)) {
-                    // Endpoint found and works fine.
-                    return url;
+        List<Boolean> outcomes = probeUrls(siteUrl, urlsToTry, new OrderedUrlProber.Probe<Boolean>() {
+            @NonNull
+            @Override
+            public Boolean probe(@NonNull String url) throws DiscoveryException {
+                try {
+                    return checkXMLRPCEndpointValidity(url);
+                } catch (DiscoveryException e) {
+                    // Stop execution for errors requiring user interaction
+                    if (e.discoveryError == DiscoveryError.ERRONEOUS_SSL_CERTIFICATE
+                        || e.discoveryError == DiscoveryError.HTTP_AUTH_REQUIRED
+                        || e.discoveryError == DiscoveryError.MISSING_XMLRPC_METHOD
+                        || e.discoveryError == DiscoveryError.XMLRPC_BLOCKED) {
+                        throw e;
+                    }
+                    // Otherwise. swallow the error since we are just verifying various URLs
+                } catch (RuntimeException re) {
+                    // Depending how corrupt the user entered URL is, it can generate several kinds of runtime
+                    // exceptions, ignore them
                 }
-            } catch (DiscoveryException e) {
-                // Stop execution for errors requiring user interaction
-                if (e.discoveryError == DiscoveryError.ERRONEOUS_SSL_CERTIFICATE
-                    || e.discoveryError == DiscoveryError.HTTP_AUTH_REQUIRED
-                    || e.discoveryError == DiscoveryError.MISSING_XMLRPC_METHOD
-                    || e.discoveryError == DiscoveryError.XMLRPC_BLOCKED) {
-                    throw e;
-                }
-                // Otherwise. swallow the error since we are just verifying various URLs
-            } catch (RuntimeException re) {
-                // Depending how corrupt the user entered URL is, it can generate several kinds of runtime exceptions,
-                // ignore them
+                return false;
+            }
+
+            @Override
+            public boolean isFinal(@NonNull Boolean isValid) {
+                return isValid;
             }
+        });
+
+        int lastIndex = outcomes.size() - 1;
+        if (lastIndex >= 0 && outcomes.get(lastIndex)) {
+            // Endpoint found and works fine.
+            return urlsToTry.get(lastIndex);
         }
         // Input url was not verified to be working
         return null;
     }
 
+    /**
+     * Probes the URLs in their order if the user specified the http:// protocol. Otherwise, the http:// URLs are only
+     * probed once all the other ones failed, so that no cleartext request is sent for a site answering over https.
+     */
+    @NonNull
+    private <R> List<R> probeUrls(@NonNull String siteUrl, @NonNull List<String> urls,
+                                  @NonNull OrderedUrlProber.Probe<R> probe) throws DiscoveryException {
+        if (isCleartext(siteUrl)) {
+            return mUrlProber.probe(urls, probe);
+        }
+        return mUrlProber.probeHttpsFirst(urls, probe);
+    }
+
+    private static boolean isCleartext(@NonNull String siteUrl) {
+        return siteUrl.trim().regionMatches(true, 0, "http://", 0, "http://".length());
+    }
+
     // Attempts to retrieve the XML-RPC url for a self-hosted site.
     // See diagrams here https://github.com/wordpress-mobile/WordPress-Android/issues/3805 for details about the
     // whole process.
@@ -208,7 +249,7 @@ public class SelfHostedEndpointFinder {
         urlsToTry.add(siteUrl);
 
         // Add the sanitized URL url, prioritizing https, unless the user specified the http:// protocol
-        if (siteUrl.startsWith("http://")) {
+        if (isCleartext(siteUrl)) {
             urlsToTry.add(sanitizeSiteUrl(siteUrl, false));
             urlsToTry.add(sanitizeSiteUrl(siteUrl, true));
         } else {
@@ -218,54 +259,31 @@ public class SelfHostedEndpointFinder {
 
         AppLog.i(AppLog.T.NUX, "Running RSD discovery process on the following URLs: " + urlsToTry);
 
-        String xmlrpcUrl = null;
-        boolean isWpSite = false;
-        for (String currentURL : urlsToTry) {
-            if (!URLUtil.isValidUrl(currentURL)) {
-                continue;
-            }
-            // Download the HTML content
-            AppLog.i(AppLog.T.NUX, "Downloading the HTML content at the following URL: " + currentURL);
-            String responseHTML = mDiscoveryXMLRPCClient.getResponse(currentURL);
-            if (TextUtils.isEmpty(responseHTML)) {
-                AppLog.w(AppLog.T.NUX, "Content downloaded but it's empty or null. Skipping this URL");
-                continue;
+        List<String> validUrlsToTry = new ArrayList<>();
+        for (String url : urlsToTry) {
+            if (URLUtil.isValidUrl(url)) {
+                validUrlsToTry.add(url);
             }
+        }
+        List<RsdDiscoveryOutcome> outcomes = probeUrls(siteUrl, validUrlsToTry,
+                new OrderedUrlProber.Probe<RsdDiscoveryOutcome>() {
+                    @NonNull
+                    @Override
+                    public RsdDiscoveryOutcome probe(@NonNull String url) throws DiscoveryException {
+                        return discoverXMLRPCUrlFromHtml(url);
+                    }
+
+                    @Override
+                    public boolean isFinal(@NonNull RsdDiscoveryOutcome outcome) {
+                        return outcome.mXmlrpcUrl != null;
+                    }
+                });
 
-            // Try to find the RSD tag with a regex
-            String rsdUrl = getRSDMetaTagHrefRegEx(responseHTML);
-            rsdUrl = UrlUtils.addUrlSchemeIfNeeded(rsdUrl, false);
-
-            // If the RSD URL is empty here, try to see if the pingback or Apilink are in the doc, as the user
-            // could have inserted a direct link to the XML-RPC endpoint
-            if (rsdUrl == null) {
-                AppLog.i(AppLog.T.NUX, "Can't find the RSD endpoint in the HTML document. Try to check the "
-                                       + "pingback tag, and the apiLink tag.");
-                xmlrpcUrl = UrlUtils.addUrlSchemeIfNeeded(DiscoveryUtils.getXMLRPCPingback(responseHTML), false);
-                if (xmlrpcUrl == null) {
-                    xmlrpcUrl = UrlUtils.addUrlSchemeIfNeeded(DiscoveryUtils.getXMLRPCApiLink(responseHTML), false);
-                }
-            } else {
-                // If the site contains RSD link, it is WP.org site
-                isWpSite = true;
-                AppLog.i(AppLog.T.NUX, "RSD endpoint found at the following address: " + rsdUrl);
-                AppLog.i(AppLog.T.NUX, "Downloading the RSD document...");
-                String rsdEndpointDocument = mDiscoveryXMLRPCClient.getResponse(rsdUrl);
-                if (TextUtils.isEmpty(rsdEndpointDocument)) {
-                    AppLog.w(AppLog.T.NUX, "Content downloaded but it's empty or null. Skipping this RSD document"
-                                           + " URL.");
-                    continue;
-                }
-                AppLog.i(AppLog.T.NUX, "Extracting the XML-RPC Endpoint address from the RSD document");
-                xmlrpcUrl = UrlUtils.addUrlSchemeIfNeeded(DiscoveryUtils.getXMLRPCApiLink(rsdEndpointDocument),
-                        false);
-            }
-            if (xmlrpcUrl != null) {
-                AppLog.i(AppLog.T.NUX, "Found the XML-RPC endpoint in the HTML document");
-                break;
-            } else {
-                AppLog.i(AppLog.T.NUX, "XML-RPC endpoint not found");
-            }
+        String xmlrpcUrl = null;
+        boolean isWpSite = false;
+        for (RsdDiscoveryOutcome outcome : outcomes) {
+            xmlrpcUrl = outcome.mXmlrpcUrl;
+            isWpSite |= outcome.mIsWpSite;
         }
 
         if (URLUtil.isValidUrl(xmlrpcUrl)) {
@@ -281,6 +299,58 @@ public class SelfHostedEndpointFinder {
         }
     }
 
+    /**
+     * Looks for the XML-RPC endpoint in the HTML document at the given URL, through its RSD link or else its pingback
+     * and apiLink tags.
+     */
+    @NonNull
+    private RsdDiscoveryOutcome discoverXMLRPCUrlFromHtml(@NonNull String currentURL) throws DiscoveryException {
+        // Download the HTML content
+        AppLog.i(AppLog.T.NUX, "Downloading the HTML content at the following URL: " + currentURL);
+        String responseHTML = mDiscoveryXMLRPCClient.getResponse(currentURL);
+        if (TextUtils.isEmpty(responseHTML)) {
+            AppLog.w(AppLog.T.NUX, "Content downloaded but it's empty or null. Skipping this URL");
+            return new RsdDiscoveryOutcome(null, false);
+        }
+
+        // Try to find the RSD tag with a regex
+        String rsdUrl = getRSDMetaTagHrefRegEx(responseHTML);
+        rsdUrl = UrlUtils.addUrlSchemeIfNeeded(rsdUrl, false);
+
+        String xmlrpcUrl;
+        boolean isWpSite = false;
+        // If the RSD URL is empty here, try to see if the pingback or Apilink are in the doc, as the user
+        // could have inserted a direct link to the XML-RPC endpoint
+        if (rsdUrl == null) {
+            AppLog.i(AppLog.T.NUX, "Can't find the RSD endpoint in the HTML document. Try to check the "
+                                   + "pingback tag, and the apiLink tag.");
+            xmlrpcUrl = UrlUtils.addUrlSchemeIfNeeded(DiscoveryUtils.getXMLRPCPingback(responseHTML), false);
+            if (xmlrpcUrl == null) {
+                xmlrpcUrl = UrlUtils.addUrlSchemeIfNeeded(DiscoveryUtils.getXMLRPCApiLink(responseHTML), false);
+            }
+        } else {
+            // If the site contains RSD link, it is WP.org site
+            isWpSite = true;
+            AppLog.i(AppLog.T.NUX, "RSD endpoint found at the following address: " + rsdUrl);
+            AppLog.i(AppLog.T.NUX, "Downloading the RSD document...");
+            String rsdEndpointDocument = mDiscoveryXMLRPCClient.getResponse(rsdUrl);
+            if (TextUtils.isEmpty(rsdEndpointDocument)) {
+                AppLog.w(AppLog.T.NUX, "Content downloaded but it's empty or null. Skipping this RSD document"
+                                       + " URL.");
+                return new RsdDiscoveryOutcome(null, true);
+            }
+            AppLog.i(AppLog.T.NUX, "Extracting the XML-RPC Endpoint address from the RSD document");
+            xmlrpcUrl = UrlUtils.addUrlSchemeIfNeeded(DiscoveryUtils.getXMLRPCApiLink(rsdEndpointDocument),
+                    false);
+        }
+        if (xmlrpcUrl != null) {
+            AppLog.i(AppLog.T.NUX, "Found the XML-RPC endpoint in the HTML document");
+        } else {
+            AppLog.i(AppLog.T.NUX, "XML-RPC endpoint not found");
+        }
+        return new RsdDiscoveryOutcome(xmlrpcUrl, isWpSite);
+    }
+
     /**
      * Returns RSD URL based on regex match.
      */
@@ -382,4 +452,14 @@ public class SelfHostedEndpointFinder {
         }
         return null;
     }
+
+    private static class RsdDiscoveryOutcome {
+        @Nullable private final String mXmlrpcUrl;
+        private final boolean mIsWpSite;
+
+        RsdDiscoveryOutcome(@Nullable String xmlrpcUrl, boolean isWpSite) {
+            mXmlrpcUrl = xmlrpcUrl;
+            mIsWpSite = isWpSite;
+        }
+    }
 }
@@ -0,0 +1,26 @@
+package org.wordpress.android.fluxc.network.rest
+
+import com.google.gson.Gson
+import com.google.gson.GsonBuilder
+import java.util.concurrent.ConcurrentHashMap
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * Process-wide [Gson] instances for [GsonRequest]s. Creating a [Gson] rebuilds its type adapter factories and
+ * reflective caches, so requests share the default instance and custom configurations are created once per name.
+ */
+@Singleton
+class GsonRegistry @Inject constructor() {
+    private val customGsons = ConcurrentHashMap<String, Gson>()
+
+    val defaultGson: Gson
+        get() = GsonRequest.getDefaultGson()
+
+    /**
+     * Returns the [Gson] registered under [name], creating it from the default [GsonBuilder] customized by
+     * [configure] the first time it is requested.
+     */
+    fun getCustomGson(name: String, configure: (GsonBuilder) -> GsonBuilder): Gson =
+        customGsons.getOrPut(name) { configure(GsonRequest.getDefaultGsonBuilder()).create() }
+}
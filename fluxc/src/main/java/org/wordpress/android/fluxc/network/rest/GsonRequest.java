@@ -10,13 +10,17 @@ import com.android.volley.Response.Listener;
 import com.android.volley.toolbox.HttpHeaderParser;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonIOException;
 import com.google.gson.JsonSyntaxException;
 
 import org.wordpress.android.fluxc.logging.FluxCCrashLogger;
 import org.wordpress.android.fluxc.logging.FluxCCrashLoggerProvider;
 import org.wordpress.android.fluxc.network.BaseRequest;
 
-import java.io.UnsupportedEncodingException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.lang.reflect.Type;
 import java.nio.charset.Charset;
 import java.util.HashMap;
@@ -26,6 +30,10 @@ public abstract class GsonRequest<T> extends BaseRequest<T> {
     private static final String PROTOCOL_CHARSET = "utf-8";
     private static final String PROTOCOL_CONTENT_TYPE = String.format("application/json; charset=%s", PROTOCOL_CHARSET);
 
+    // Gson is thread-safe, and building one sets up its type adapter factories and reflection caches from scratch,
+    // so all requests share the same instance unless they need a custom configuration
+    private static final Gson DEFAULT_GSON = getDefaultGsonBuilder().create();
+
     private final Gson mGson;
     private final Class<T> mClass;
     private final Type mType;
@@ -33,8 +41,6 @@ public abstract class GsonRequest<T> extends BaseRequest<T> {
     private final Map<String, String> mParams;
     private final Map<String, Object> mBody;
 
-    private final GsonBuilder mCustomGsonBuilder;
-
     protected GsonRequest(int method, Map<String, String> params, Map<String, Object> body, String url, Class<T> clazz,
                        Type type, Listener<T> listener, BaseErrorListener errorListener) {
         super(method, url, errorListener);
@@ -48,15 +54,14 @@ public abstract class GsonRequest<T> extends BaseRequest<T> {
         mClass = clazz;
         mType = type;
         mListener = listener;
-        mCustomGsonBuilder = null;
-        mGson = getDefaultGsonBuilder().create();
+        mGson = DEFAULT_GSON;
         mParams = params;
         mBody = body;
     }
 
     protected GsonRequest(int method, Map<String, String> params, Map<String, Object> body, String url, Class<T> clazz,
                           Type type, Listener<T> listener, BaseErrorListener errorListener,
-                          GsonBuilder customGsonBuilder) {
+                          @Nullable Gson customGson) {
         super(method, url, errorListener);
         if (method == Method.POST && body == null && (params == null || params.size() == 0)) {
             body = new HashMap<>();
@@ -65,15 +70,18 @@ public abstract class GsonRequest<T> extends BaseRequest<T> {
         mClass = clazz;
         mType = type;
         mListener = listener;
-        mCustomGsonBuilder = customGsonBuilder;
-        mGson = (customGsonBuilder != null ? customGsonBuilder : getDefaultGsonBuilder()).create();
+        mGson = customGson != null ? customGson : DEFAULT_GSON;
         mParams = params;
         mBody = body;
     }
 
     @Override
     protected void deliverResponse(T response) {
-        mListener.onResponse(response);
+        if (isNotModified()) {
+            deliverNotModified();
+        } else {
+            mListener.onResponse(response);
+        }
     }
 
     @Override
@@ -106,21 +114,31 @@ public abstract class GsonRequest<T> extends BaseRequest<T> {
 
     @Override
     protected Response<T> parseNetworkResponse(NetworkResponse response) {
-        try {
-            String json = new String(response.data, HttpHeaderParser.parseCharset(response.headers));
+        if (isNotModifiedResponse(response)) {
+            return Response.success(null, null);
+        }
+        // Read the JSON straight from the response bytes instead of decoding them into an intermediate String first,
+        // which would double the memory used by large responses while they are parsed
+        try (Reader reader = new InputStreamReader(new ByteArrayInputStream(response.data),
+                HttpHeaderParser.parseCharset(response.headers))) {
             T res;
             if (mClass == null) {
-                res = mGson.fromJson(json, mType);
+                res = mGson.fromJson(reader, mType);
             } else {
-                res = mGson.fromJson(json, mClass);
+                res = mGson.fromJson(reader, mClass);
             }
+            storeValidators(response);
             return Response.success(res, createCacheEntry(response));
-        } catch (UnsupportedEncodingException | JsonSyntaxException e) {
+        } catch (IOException | JsonSyntaxException | JsonIOException e) {
             logRequestPath();
             return Response.error(new ParseError(e));
         }
     }
 
+    public static Gson getDefaultGson() {
+        return DEFAULT_GSON;
+    }
+
     public static GsonBuilder getDefaultGsonBuilder() {
         GsonBuilder gsonBuilder = new GsonBuilder();
         gsonBuilder.setLenient();
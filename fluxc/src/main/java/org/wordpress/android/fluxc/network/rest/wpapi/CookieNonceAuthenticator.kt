@@ -1,6 +1,8 @@
 package org.wordpress.android.fluxc.network.rest.wpapi
 
 import android.webkit.URLUtil
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
 import okhttp3.HttpUrl.Companion.toHttpUrl
 import org.wordpress.android.fluxc.model.SiteModel
 import org.wordpress.android.fluxc.network.BaseRequest.BaseNetworkError
@@ -12,14 +14,21 @@ import org.wordpress.android.fluxc.persistence.SiteSqlUtils
 import org.wordpress.android.fluxc.tools.CoroutineEngine
 import org.wordpress.android.util.AppLog
 import org.wordpress.android.util.UrlUtils
+import java.util.concurrent.ConcurrentHashMap
 import javax.inject.Inject
+import javax.inject.Singleton
 
+@Singleton
 class CookieNonceAuthenticator @Inject constructor(
     private val nonceRestClient: NonceRestClient,
     private val discoveryWPAPIRestClient: DiscoveryWPAPIRestClient,
     private val siteSqlUtils: SiteSqlUtils,
     private val coroutineEngine: CoroutineEngine
 ) {
+    private val nonceRequestLocks = ConcurrentHashMap<String, Mutex>()
+    private val discoveryLocks = ConcurrentHashMap<String, Mutex>()
+    private val lastDiscoveries = ConcurrentHashMap<String, Discovery>()
+
     suspend fun authenticate(
         siteUrl: String,
         username: String,
@@ -96,7 +105,7 @@ class CookieNonceAuthenticator @Inject constructor(
         var nonce = nonceRestClient.getNonce(siteUrl, username)
         val usingSavedNonce = nonce is Available
         if (nonce !is Available) {
-            nonce = nonceRestClient.requestNonce(siteUrl, username, password)
+            nonce = requestNonce(siteUrl, username, password, staleNonce = nonce)
         }
 
         val response = fetchMethod(wpApiUrl, nonce)
@@ -112,7 +121,7 @@ class CookieNonceAuthenticator @Inject constructor(
                 if (usingSavedNonce) {
                     // Call with saved nonce failed, so try getting a new one
                     val previousNonce = nonce
-                    val newNonce = nonceRestClient.requestNonce(siteUrl, username, password)
+                    val newNonce = requestNonce(siteUrl, username, password, staleNonce = previousNonce)
 
                     // Try original call again if we have a new nonce
                     val nonceIsUpdated = newNonce != previousNonce
@@ -130,13 +139,40 @@ class CookieNonceAuthenticator @Inject constructor(
         }
     }
 
-    private fun discoverApiEndpoint(
-        url: String
-    ): String {
-        return discoveryWPAPIRestClient.discoverWPAPIBaseURL(url) // discover rest api endpoint
-            ?: WPAPIDiscoveryUtils.buildDefaultRESTBaseUrl(url)
+    /**
+     * Requests a new nonce, unless another caller replaced [staleNonce] while this one was waiting for the site's
+     * lock. Concurrent calls failing with the same expired nonce then share a single login.
+     */
+    private suspend fun requestNonce(siteUrl: String, username: String, password: String, staleNonce: Nonce?): Nonce {
+        return nonceRequestLocks.getOrPut(siteUrl) { Mutex() }.withLock {
+            val currentNonce = nonceRestClient.getNonce(siteUrl, username)
+            if (currentNonce != null && currentNonce !== staleNonce) {
+                currentNonce
+            } else {
+                nonceRestClient.requestNonce(siteUrl, username, password)
+            }
+        }
     }
 
+    /**
+     * Discovers the API endpoint of the site, reusing the result of a discovery that completed while this caller was
+     * waiting for the site's lock rather than running it again.
+     */
+    private suspend fun discoverApiEndpoint(url: String): String {
+        val requestedAt = System.nanoTime()
+        return discoveryLocks.getOrPut(url) { Mutex() }.withLock {
+            val recentDiscovery = lastDiscoveries[url]?.takeIf { it.completedAt - requestedAt > 0 }
+            recentDiscovery?.wpApiUrl ?: run {
+                val wpApiUrl = discoveryWPAPIRestClient.discoverWPAPIBaseURL(url) // discover rest api endpoint
+                    ?: WPAPIDiscoveryUtils.buildDefaultRESTBaseUrl(url)
+                lastDiscoveries[url] = Discovery(wpApiUrl, System.nanoTime())
+                wpApiUrl
+            }
+        }
+    }
+
+    private class Discovery(val wpApiUrl: String, val completedAt: Long)
+
     sealed interface CookieNonceAuthenticationResult {
         object Success : CookieNonceAuthenticationResult
         data class Error(
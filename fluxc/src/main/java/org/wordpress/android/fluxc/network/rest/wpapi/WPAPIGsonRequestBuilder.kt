@@ -4,13 +4,19 @@ import com.android.volley.Request.Method
 import kotlinx.coroutines.CancellableContinuation
 import kotlinx.coroutines.suspendCancellableCoroutine
 import org.wordpress.android.fluxc.network.BaseRequest
+import org.wordpress.android.fluxc.network.ConditionalRequestCache
+import org.wordpress.android.fluxc.network.ConditionalResponse
+import org.wordpress.android.fluxc.network.ConditionalResponse.Fetched
+import org.wordpress.android.fluxc.network.ConditionalResponse.NotModified
 import org.wordpress.android.fluxc.network.rest.wpapi.WPAPIResponse.Error
 import org.wordpress.android.fluxc.network.rest.wpapi.WPAPIResponse.Success
 import java.lang.reflect.Type
 import javax.inject.Inject
 import kotlin.coroutines.resume
 
-class WPAPIGsonRequestBuilder @Inject constructor() {
+class WPAPIGsonRequestBuilder @Inject constructor(
+    private val conditionalRequestCache: ConditionalRequestCache
+) {
     suspend fun <T> syncGetRequest(
         restClient: BaseWPAPIRestClient,
         url: String,
@@ -36,6 +42,39 @@ class WPAPIGsonRequestBuilder @Inject constructor() {
         callMethod(Method.GET, url, params, body, type, cont, enableCaching, cacheTimeToLive, nonce, restClient)
     }
 
+    /**
+     * Makes a conditional GET request, see [ConditionalRequestCache].
+     *
+     * @param revalidate false to fetch the whole resource, e.g. when the data from the previous response isn't
+     * stored anymore
+     */
+    @Suppress("LongParameterList")
+    suspend fun <T> syncGetRequestIfModified(
+        restClient: BaseWPAPIRestClient,
+        url: String,
+        params: Map<String, String> = emptyMap(),
+        clazz: Class<T>,
+        revalidate: Boolean = true,
+        nonce: String? = null
+    ) = suspendCancellableCoroutine<ConditionalResponse<WPAPIResponse<T>>> { cont ->
+        val request = WPAPIGsonRequest(Method.GET, url, params, emptyMap(), clazz, { response ->
+            cont.resume(Fetched(Success(response)))
+        }, { error ->
+            cont.resume(Fetched(Error(error)))
+        })
+        request.enableConditionalRequest(conditionalRequestCache, revalidate) { cont.resume(NotModified) }
+
+        cont.invokeOnCancellation {
+            request.cancel()
+        }
+
+        if (nonce != null) {
+            request.addHeader("x-wp-nonce", nonce)
+        }
+
+        restClient.add(request)
+    }
+
     suspend fun <T> syncPostRequest(
         restClient: BaseWPAPIRestClient,
         url: String,
@@ -6,7 +6,7 @@ import androidx.annotation.NonNull;
 
 import com.android.volley.Response.Listener;
 import com.android.volley.toolbox.HttpHeaderParser;
-import com.google.gson.GsonBuilder;
+import com.google.gson.Gson;
 
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -62,8 +62,8 @@ public class WPComGsonRequest<T> extends GsonRequest<T> {
 
     private WPComGsonRequest(int method, String url, Map<String, String> params, Map<String, Object> body,
                              Class<T> clazz, Type type, Listener<T> listener, BaseErrorListener errorListener,
-                             GsonBuilder customGsonBuilder) {
-        super(method, params, body, url, clazz, type, listener, errorListener, customGsonBuilder);
+                             Gson customGson) {
+        super(method, params, body, url, clazz, type, listener, errorListener, customGson);
         addQueryParameters(params);
     }
 
@@ -87,20 +87,20 @@ public class WPComGsonRequest<T> extends GsonRequest<T> {
                 wrapInBaseListener(errorListener));
     }
 
-    // Overloaded method to include custom GsonBuilder
+    // Overloaded method to include a custom Gson, see GsonRegistry
     public static <T> WPComGsonRequest<T> buildGetRequest(String url, Map<String, String> params, Class<T> clazz,
                                                           Listener<T> listener, WPComErrorListener errorListener,
-                                                          GsonBuilder customGsonBuilder) {
+                                                          Gson customGson) {
         return new WPComGsonRequest<>(Method.GET, url, params, null, clazz, null, listener,
-                wrapInBaseListener(errorListener), customGsonBuilder);
+                wrapInBaseListener(errorListener), customGson);
     }
 
-    // Overloaded method to include custom GsonBuilder
+    // Overloaded method to include a custom Gson, see GsonRegistry
     public static <T> WPComGsonRequest<T> buildGetRequest(String url, Map<String, String> params, Type type,
                                                           Listener<T> listener, WPComErrorListener errorListener,
-                                                          GsonBuilder customGsonBuilder) {
+                                                          Gson customGson) {
         return new WPComGsonRequest<>(Method.GET, url, params, null, null, type, listener,
-                wrapInBaseListener(errorListener), customGsonBuilder);
+                wrapInBaseListener(errorListener), customGson);
     }
 
     /**
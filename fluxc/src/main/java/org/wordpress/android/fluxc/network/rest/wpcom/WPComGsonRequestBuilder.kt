@@ -1,9 +1,13 @@
 package org.wordpress.android.fluxc.network.rest.wpcom
 
 import com.android.volley.RetryPolicy
-import com.google.gson.GsonBuilder
+import com.google.gson.Gson
 import kotlinx.coroutines.suspendCancellableCoroutine
 import org.wordpress.android.fluxc.network.BaseRequest
+import org.wordpress.android.fluxc.network.ConditionalRequestCache
+import org.wordpress.android.fluxc.network.ConditionalResponse
+import org.wordpress.android.fluxc.network.ConditionalResponse.Fetched
+import org.wordpress.android.fluxc.network.ConditionalResponse.NotModified
 import org.wordpress.android.fluxc.network.rest.wpcom.WPComGsonRequest.WPComGsonNetworkError
 import org.wordpress.android.fluxc.network.rest.wpcom.WPComGsonRequestBuilder.Response.Error
 import org.wordpress.android.fluxc.network.rest.wpcom.WPComGsonRequestBuilder.Response.Success
@@ -14,7 +18,7 @@ import kotlin.coroutines.resume
 
 @Singleton
 class WPComGsonRequestBuilder
-@Inject constructor() {
+@Inject constructor(private val conditionalRequestCache: ConditionalRequestCache) {
     /**
      * Creates a new GET request.
      * @param url the request URL
@@ -29,9 +33,9 @@ class WPComGsonRequestBuilder
         clazz: Class<T>,
         listener: (T) -> Unit,
         errorListener: (WPComGsonNetworkError) -> Unit,
-        customGsonBuilder: GsonBuilder? = null
+        customGson: Gson? = null
     ): WPComGsonRequest<T> {
-        return WPComGsonRequest.buildGetRequest(url, params, clazz, listener, errorListener, customGsonBuilder)
+        return WPComGsonRequest.buildGetRequest(url, params, clazz, listener, errorListener, customGson)
     }
 
     /**
@@ -49,14 +53,14 @@ class WPComGsonRequestBuilder
         enableCaching: Boolean = false,
         cacheTimeToLive: Int = BaseRequest.DEFAULT_CACHE_LIFETIME,
         forced: Boolean = false,
-        customGsonBuilder: GsonBuilder? = null,
+        customGson: Gson? = null,
         authenticatedRequest: Boolean = true
     ) = suspendCancellableCoroutine<Response<T>> { cont ->
         val request = WPComGsonRequest.buildGetRequest(url, params, clazz, {
             cont.resume(Success(it))
         }, {
             cont.resume(Error(it))
-        }, customGsonBuilder)
+        }, customGson)
         cont.invokeOnCancellation { request.cancel() }
         if (enableCaching) {
             request.enableCaching(cacheTimeToLive)
@@ -71,6 +75,39 @@ class WPComGsonRequestBuilder
         }
     }
 
+    /**
+     * Creates a new conditional GET request (see [ConditionalRequestCache]), triggers it and awaits results.
+     * @param restClient rest client that handles the request
+     * @param url the request URL
+     * @param params the parameters to append to the request URL
+     * @param clazz the class defining the expected response
+     * @param revalidate false to fetch the whole resource, e.g. when the data from the previous response isn't
+     * stored anymore
+     */
+    @Suppress("LongParameterList")
+    suspend fun <T> syncGetRequestIfModified(
+        restClient: BaseWPComRestClient,
+        url: String,
+        params: Map<String, String>,
+        clazz: Class<T>,
+        revalidate: Boolean = true,
+        customGson: Gson? = null,
+        authenticatedRequest: Boolean = true
+    ) = suspendCancellableCoroutine<ConditionalResponse<Response<T>>> { cont ->
+        val request = WPComGsonRequest.buildGetRequest(url, params, clazz, {
+            cont.resume(Fetched(Success(it)))
+        }, {
+            cont.resume(Fetched(Error(it)))
+        }, customGson)
+        request.enableConditionalRequest(conditionalRequestCache, revalidate) { cont.resume(NotModified) }
+        cont.invokeOnCancellation { request.cancel() }
+        if (authenticatedRequest) {
+            restClient.add(request)
+        } else {
+            restClient.addUnauthedRequest(request)
+        }
+    }
+
     /**
      * Creates a new GET request.
      * @param url the request URL
@@ -85,9 +122,9 @@ class WPComGsonRequestBuilder
         type: Type,
         listener: (T) -> Unit,
         errorListener: (WPComGsonNetworkError) -> Unit,
-        customGsonBuilder: GsonBuilder? = null
+        customGson: Gson? = null
     ): WPComGsonRequest<T> {
-        return WPComGsonRequest.buildGetRequest(url, params, type, listener, errorListener, customGsonBuilder)
+        return WPComGsonRequest.buildGetRequest(url, params, type, listener, errorListener, customGson)
     }
 
     /**
@@ -1,43 +1,89 @@
 package org.wordpress.android.fluxc.network.rest.wpcom.encryptedlog
 
-import com.android.volley.NoConnectionError
-import com.android.volley.RequestQueue
-import com.android.volley.VolleyError
-import kotlinx.coroutines.suspendCancellableCoroutine
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.job
+import kotlinx.coroutines.withContext
+import okhttp3.OkHttpClient
+import okhttp3.Request
+import okhttp3.RequestBody
+import okhttp3.Response
 import org.json.JSONException
 import org.json.JSONObject
-import org.wordpress.android.fluxc.network.EncryptedLogUploadRequest
+import org.wordpress.android.fluxc.generated.endpoint.WPCOMREST
 import org.wordpress.android.fluxc.network.rest.wpcom.auth.AppSecrets
 import org.wordpress.android.fluxc.network.rest.wpcom.encryptedlog.UploadEncryptedLogResult.LogUploadFailed
 import org.wordpress.android.fluxc.network.rest.wpcom.encryptedlog.UploadEncryptedLogResult.LogUploaded
 import org.wordpress.android.fluxc.store.EncryptedLogStore.UploadEncryptedLogError
 import org.wordpress.android.util.AppLog
 import org.wordpress.android.util.AppLog.T.API
+import java.io.IOException
+import java.net.SocketTimeoutException
+import java.util.concurrent.TimeUnit
 import javax.inject.Inject
 import javax.inject.Named
 import javax.inject.Singleton
-import kotlin.coroutines.resume
 
 private const val INVALID_REQUEST = "invalid-request"
 private const val TOO_MANY_REQUESTS = "too_many_requests"
+private const val AUTHORIZATION_HEADER = "Authorization"
+private const val UUID_HEADER = "log-uuid"
+private const val RETRY_AFTER_HEADER = "Retry-After"
 
 @Singleton
 class EncryptedLogRestClient @Inject constructor(
-    @Named("regular") private val requestQueue: RequestQueue,
+    @Named("regular") private val okHttpClient: OkHttpClient,
     private val appSecrets: AppSecrets
 ) {
-    suspend fun uploadLog(logUuid: String, contents: String): UploadEncryptedLogResult {
-        return suspendCancellableCoroutine { cont ->
-            val request = EncryptedLogUploadRequest(logUuid, contents, appSecrets.appSecret, {
-                cont.resume(LogUploaded)
-            }, { error ->
-                cont.resume(LogUploadFailed(mapError(error)))
-            })
-            cont.invokeOnCancellation { request.cancel() }
-            requestQueue.add(request)
+    /**
+     * Uploads an encrypted log, streaming the given [body] to the server.
+     *
+     * The call blocks an IO thread rather than being enqueued, so that errors thrown while encrypting the log are
+     * propagated to the caller.
+     */
+    suspend fun uploadLog(logUuid: String, body: RequestBody): UploadEncryptedLogResult {
+        val request = Request.Builder()
+                .url(WPCOMREST.encrypted_logging.urlV1_1)
+                .post(body)
+                .header(AUTHORIZATION_HEADER, appSecrets.appSecret)
+                .header(UUID_HEADER, logUuid)
+                .build()
+        return withContext(Dispatchers.IO) {
+            val call = okHttpClient.newCall(request)
+            val cancellationHandle = coroutineContext.job.invokeOnCompletion { call.cancel() }
+            try {
+                call.execute().use { response ->
+                    if (response.isSuccessful) {
+                        LogUploaded
+                    } else {
+                        LogUploadFailed(
+                                mapError(response.code, response.body?.string().orEmpty()),
+                                response.retryAfter()
+                        )
+                    }
+                }
+            } catch (e: SocketTimeoutException) {
+                AppLog.e(API, "Encrypted log upload timed out: " + e.message)
+                LogUploadFailed(UploadEncryptedLogError.Unknown())
+            } catch (e: IOException) {
+                AppLog.e(API, "Encrypted log upload failed: " + e.message)
+                LogUploadFailed(UploadEncryptedLogError.NoConnection)
+            } finally {
+                cancellationHandle.dispose()
+            }
         }
     }
 
+    /**
+     * Returns the delay in milliseconds requested by the `Retry-After` header of the response, which is either a
+     * number of seconds or an HTTP date.
+     */
+    private fun Response.retryAfter(): Long? {
+        val retryAfter = header(RETRY_AFTER_HEADER) ?: return null
+        return retryAfter.trim().toLongOrNull()?.let { TimeUnit.SECONDS.toMillis(it) }
+                ?: headers.getDate(RETRY_AFTER_HEADER)?.let { it.time - System.currentTimeMillis() }
+                ?.coerceAtLeast(0)
+    }
+
     /**
      * {
      *   "error":"too_many_requests",
@@ -49,34 +95,33 @@ class EncryptedLogRestClient @Inject constructor(
      * }
      */
     @Suppress("ReturnCount")
-    private fun mapError(error: VolleyError): UploadEncryptedLogError {
-        if (error is NoConnectionError) {
-            return UploadEncryptedLogError.NoConnection
+    private fun mapError(statusCode: Int, dataString: String): UploadEncryptedLogError {
+        val json = try {
+            JSONObject(dataString)
+        } catch (jsonException: JSONException) {
+            AppLog.e(API, "Received response not in JSON format: " + jsonException.message)
+            return UploadEncryptedLogError.Unknown(statusCode = statusCode, message = dataString)
         }
-        error.networkResponse?.let { networkResponse ->
-            val statusCode = networkResponse.statusCode
-            val dataString = String(networkResponse.data)
-            val json = try {
-                JSONObject(dataString)
-            } catch (jsonException: JSONException) {
-                AppLog.e(API, "Received response not in JSON format: " + jsonException.message)
-                return UploadEncryptedLogError.Unknown(message = dataString)
-            }
-            val errorMessage = json.getString("message")
-            json.getString("error").let { errorType ->
-                if (errorType == INVALID_REQUEST) {
-                    return UploadEncryptedLogError.InvalidRequest
-                } else if (errorType == TOO_MANY_REQUESTS) {
-                    return UploadEncryptedLogError.TooManyRequests
-                }
+        val errorMessage = json.optString("message")
+        json.optString("error").let { errorType ->
+            if (errorType == INVALID_REQUEST) {
+                return UploadEncryptedLogError.InvalidRequest
+            } else if (errorType == TOO_MANY_REQUESTS) {
+                return UploadEncryptedLogError.TooManyRequests
             }
-            return UploadEncryptedLogError.Unknown(statusCode, errorMessage)
         }
-        return UploadEncryptedLogError.Unknown()
+        return UploadEncryptedLogError.Unknown(statusCode, errorMessage)
     }
 }
 
 sealed class UploadEncryptedLogResult {
     object LogUploaded : UploadEncryptedLogResult()
-    class LogUploadFailed(val error: UploadEncryptedLogError) : UploadEncryptedLogResult()
+
+    /**
+     * @param retryAfter the delay in milliseconds before the next upload, when requested by the server
+     */
+    class LogUploadFailed(
+        val error: UploadEncryptedLogError,
+        val retryAfter: Long? = null
+    ) : UploadEncryptedLogResult()
 }
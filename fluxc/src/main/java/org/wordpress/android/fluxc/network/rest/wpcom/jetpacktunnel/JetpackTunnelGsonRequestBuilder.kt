@@ -4,6 +4,10 @@ import com.android.volley.RetryPolicy
 import kotlinx.coroutines.suspendCancellableCoroutine
 import org.wordpress.android.fluxc.model.SiteModel
 import org.wordpress.android.fluxc.network.BaseRequest
+import org.wordpress.android.fluxc.network.ConditionalRequestCache
+import org.wordpress.android.fluxc.network.ConditionalResponse
+import org.wordpress.android.fluxc.network.ConditionalResponse.Fetched
+import org.wordpress.android.fluxc.network.ConditionalResponse.NotModified
 import org.wordpress.android.fluxc.network.rest.wpcom.BaseWPComRestClient
 import org.wordpress.android.fluxc.network.rest.wpcom.WPComGsonRequest
 import org.wordpress.android.fluxc.network.rest.wpcom.WPComGsonRequest.WPComErrorListener
@@ -16,7 +20,9 @@ import javax.inject.Singleton
 import kotlin.coroutines.resume
 
 @Singleton
-class JetpackTunnelGsonRequestBuilder @Inject constructor() {
+class JetpackTunnelGsonRequestBuilder @Inject constructor(
+    private val conditionalRequestCache: ConditionalRequestCache
+) {
     /**
      * Creates a new GET request.
      * @param url the request URL
@@ -90,6 +96,42 @@ class JetpackTunnelGsonRequestBuilder @Inject constructor() {
         restClient.add(request)
     }
 
+    /**
+     * Creates a new conditional GET request (see [ConditionalRequestCache]), triggers it and awaits results.
+     *
+     * Requests retried after a Jetpack timeout fetch the whole resource.
+     * @param restClient rest client that handles the request
+     * @param url the request URL
+     * @param params the parameters to append to the request URL
+     * @param clazz the class defining the expected response
+     * @param revalidate false to fetch the whole resource, e.g. when the data from the previous response isn't
+     * stored anymore
+     */
+    @Suppress("LongParameterList")
+    suspend fun <T : Any> syncGetRequestIfModified(
+        restClient: BaseWPComRestClient,
+        site: SiteModel,
+        url: String,
+        params: Map<String, String>,
+        clazz: Class<T>,
+        revalidate: Boolean = true
+    ) = suspendCancellableCoroutine<ConditionalResponse<JetpackResponse<T>>> { cont ->
+        val request = JetpackTunnelGsonRequest.buildGetRequest<T>(
+            url,
+            site.siteId,
+            params,
+            clazz,
+            listener = { cont.resume(Fetched(JetpackSuccess(it))) },
+            errorListener = { cont.resume(Fetched(JetpackError(it))) },
+            jpTimeoutListener = { request: WPComGsonRequest<*> -> restClient.add(request) }
+        )
+        request?.enableConditionalRequest(conditionalRequestCache, revalidate) { cont.resume(NotModified) }
+        cont.invokeOnCancellation {
+            request?.cancel()
+        }
+        restClient.add(request)
+    }
+
     /**
      * Creates a new JSON-formatted POST request.
      * @param url the request URL
@@ -7,7 +7,7 @@ import org.wordpress.android.fluxc.Payload
 import org.wordpress.android.fluxc.generated.endpoint.WPCOMV2
 import org.wordpress.android.fluxc.network.BaseRequest.GenericErrorType
 import org.wordpress.android.fluxc.network.UserAgent
-import org.wordpress.android.fluxc.network.rest.GsonRequest.getDefaultGsonBuilder
+import org.wordpress.android.fluxc.network.rest.GsonRegistry
 import org.wordpress.android.fluxc.network.rest.NumberAwareMapDeserializer
 import org.wordpress.android.fluxc.network.rest.wpcom.BaseWPComRestClient
 import org.wordpress.android.fluxc.network.rest.wpcom.WPComGsonRequest.WPComGsonNetworkError
@@ -23,6 +23,7 @@ import javax.inject.Singleton
 @Singleton
 class RemoteConfigRestClient @Inject constructor(
     private val wpComGsonRequestBuilder: WPComGsonRequestBuilder,
+    private val gsonRegistry: GsonRegistry,
     dispatcher: Dispatcher,
     appContext: Context?,
     @Named("regular") requestQueue: RequestQueue,
@@ -33,16 +34,17 @@ class RemoteConfigRestClient @Inject constructor(
         // https://public-api.wordpress.com/wpcom/v2/mobile/remote_config
         val url = WPCOMV2.mobile.remote_config.url
 
-        // use custom GsonBuilder to support proper number serialisation from Maps
-        val customGsonBuilder = getDefaultGsonBuilder()
-            .registerTypeAdapter(Map::class.java, NumberAwareMapDeserializer())
+        // use custom Gson to support proper number serialisation from Maps
+        val customGson = gsonRegistry.getCustomGson(NUMBER_AWARE_MAP_GSON) {
+            it.registerTypeAdapter(Map::class.java, NumberAwareMapDeserializer())
+        }
 
         val response = wpComGsonRequestBuilder.syncGetRequest(
             this,
             url,
             mapOf(),
             Map::class.java,
-            customGsonBuilder = customGsonBuilder
+            customGson = customGson
         )
 
         return when (response) {
@@ -57,6 +59,10 @@ class RemoteConfigRestClient @Inject constructor(
                 e.key.toString() to e.value.toString()
         }?.toMap())
     }
+
+    private companion object {
+        const val NUMBER_AWARE_MAP_GSON = "number-aware-map"
+    }
 }
 
 data class RemoteConfigFetchedPayload (
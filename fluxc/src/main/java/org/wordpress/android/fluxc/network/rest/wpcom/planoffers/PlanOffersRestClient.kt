@@ -5,6 +5,8 @@ import com.android.volley.RequestQueue
 import org.wordpress.android.fluxc.Dispatcher
 import org.wordpress.android.fluxc.generated.endpoint.WPCOMV2
 import org.wordpress.android.fluxc.model.plans.PlanOffersModel
+import org.wordpress.android.fluxc.network.ConditionalResponse.Fetched
+import org.wordpress.android.fluxc.network.ConditionalResponse.NotModified
 import org.wordpress.android.fluxc.network.Response
 import org.wordpress.android.fluxc.network.UserAgent
 import org.wordpress.android.fluxc.network.rest.wpcom.BaseWPComRestClient
@@ -27,28 +29,34 @@ class PlanOffersRestClient @Inject constructor(
     accessToken: AccessToken,
     userAgent: UserAgent
 ) : BaseWPComRestClient(appContext, dispatcher, requestQueue, accessToken, userAgent) {
-    suspend fun fetchPlanOffers(): PlanOffersFetchedPayload {
+    /**
+     * @param revalidate false to fetch the plan offers even if they didn't change since the last fetch, e.g. when
+     * they aren't stored anymore
+     */
+    suspend fun fetchPlanOffers(revalidate: Boolean = true): PlanOffersFetchedPayload {
         val url = WPCOMV2.plans.mobile.url
 
         val params = mapOf<String, String>()
-        val response = wpComGsonRequestBuilder.syncGetRequest(
+        val response = wpComGsonRequestBuilder.syncGetRequestIfModified(
                 this,
                 url,
                 params,
                 PlanOffersResponse::class.java,
-                enableCaching = false,
-                forced = true
+                revalidate = revalidate
         )
         return when (response) {
-            is Success -> {
-                val plans = response.data.plans
-                val features = response.data.features
-                buildPlanOffersPayload(plans, features)
-            }
-            is WPComGsonRequestBuilder.Response.Error -> {
-                val payload = PlanOffersFetchedPayload()
-                payload.error = response.error
-                payload
+            is NotModified -> PlanOffersFetchedPayload(isUnchanged = true)
+            is Fetched -> when (val fetchedResponse = response.response) {
+                is Success -> {
+                    val plans = fetchedResponse.data.plans
+                    val features = fetchedResponse.data.features
+                    buildPlanOffersPayload(plans, features)
+                }
+                is WPComGsonRequestBuilder.Response.Error -> {
+                    val payload = PlanOffersFetchedPayload()
+                    payload.error = fetchedResponse.error
+                    payload
+                }
             }
         }
     }
@@ -53,6 +53,7 @@ import org.wordpress.android.fluxc.store.PostStore.DeletedPostPayload;
 import org.wordpress.android.fluxc.store.PostStore.FetchPostListResponsePayload;
 import org.wordpress.android.fluxc.store.PostStore.FetchPostResponsePayload;
 import org.wordpress.android.fluxc.store.PostStore.FetchPostStatusResponsePayload;
+import org.wordpress.android.fluxc.store.PostStore.FetchPostsByRemoteIdsResponsePayload;
 import org.wordpress.android.fluxc.store.PostStore.FetchPostsResponsePayload;
 import org.wordpress.android.fluxc.store.PostStore.FetchRevisionsResponsePayload;
 import org.wordpress.android.fluxc.store.PostStore.FetchedPostLikesResponsePayload;
@@ -308,6 +309,46 @@ public class PostRestClient extends BaseWPComRestClient {
         add(request);
     }
 
+    public void fetchPostsByRemoteIds(final List<PostModel> posts, final SiteModel site, final boolean getPages) {
+        String url = WPCOMREST.sites.site(site.getSiteId()).posts.getUrlV1_1();
+
+        List<Long> remotePostIds = new ArrayList<>(posts.size());
+        for (PostModel post : posts) {
+            remotePostIds.add(post.getRemotePostId());
+        }
+        Map<String, String> params =
+                createFetchPostListParameters(getPages, 0, posts.size(), null, null, null, null, null, null);
+        params.put("status", "any");
+        params.put("include", TextUtils.join(",", remotePostIds));
+
+        final WPComGsonRequest<PostsResponse> request = WPComGsonRequest.buildGetRequest(url, params,
+                PostsResponse.class,
+                new Listener<PostsResponse>() {
+                    @Override
+                    public void onResponse(PostsResponse response) {
+                        List<PostModel> fetchedPosts = new ArrayList<>(response.getPosts().size());
+                        for (PostWPComRestResponse postResponse : response.getPosts()) {
+                            PostModel post = postResponseToPostModel(postResponse);
+                            post.setLocalSiteId(site.getId());
+                            fetchedPosts.add(post);
+                        }
+                        FetchPostsByRemoteIdsResponsePayload payload =
+                                new FetchPostsByRemoteIdsResponsePayload(posts, fetchedPosts, site);
+                        mDispatcher.dispatch(PostActionBuilder.newFetchedPostsByRemoteIdsAction(payload));
+                    }
+                },
+                new WPComErrorListener() {
+                    @Override
+                    public void onErrorResponse(@NonNull WPComGsonNetworkError error) {
+                        PostError postError = new PostError(error.apiError, error.message);
+                        FetchPostsByRemoteIdsResponsePayload payload =
+                                new FetchPostsByRemoteIdsResponsePayload(posts, site, postError);
+                        mDispatcher.dispatch(PostActionBuilder.newFetchedPostsByRemoteIdsAction(payload));
+                    }
+                });
+        add(request);
+    }
+
     public void pushPost(
             final PostModel post,
             final SiteModel site,
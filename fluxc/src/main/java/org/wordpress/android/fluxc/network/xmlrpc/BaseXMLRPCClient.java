@@ -17,6 +17,7 @@ import org.wordpress.android.fluxc.utils.ErrorUtils.OnUnexpectedError;
 
 public abstract class BaseXMLRPCClient {
     private final RequestQueue mRequestQueue;
+    private final XMLRPCMulticallBatcher mMulticallBatcher;
     protected final Dispatcher mDispatcher;
     protected UserAgent mUserAgent;
     protected HTTPAuthManager mHTTPAuthManager;
@@ -30,6 +31,7 @@ public abstract class BaseXMLRPCClient {
         mDispatcher = dispatcher;
         mUserAgent = userAgent;
         mHTTPAuthManager = httpAuthManager;
+        mMulticallBatcher = new XMLRPCMulticallBatcher(request -> mRequestQueue.add(setRequestAuthParams(request)));
         mOnAuthFailedListener = new OnAuthFailedListener() {
             @Override
             public void onAuthFailed(AuthenticateErrorPayload authError) {
@@ -51,6 +53,20 @@ public abstract class BaseXMLRPCClient {
         return mRequestQueue.add(setRequestAuthParams(request));
     }
 
+    /**
+     * Adds a request that can be sent along with other calls to the same endpoint in a single
+     * {@code system.multicall} request. Meant for read calls that are often made concurrently, like fetching a few
+     * posts or terms. Requests using the cache are always sent on their own.
+     */
+    protected Request addBatched(XMLRPCRequest request) {
+        if (request.shouldCache()) {
+            return add(request);
+        }
+        setRequestAuthParams(request);
+        mMulticallBatcher.add(request);
+        return request;
+    }
+
     protected Request add(DiscoveryRequest request) {
         return mRequestQueue.add(setRequestAuthParams(request));
     }
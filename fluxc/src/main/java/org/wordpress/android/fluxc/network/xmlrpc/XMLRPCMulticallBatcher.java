@@ -0,0 +1,221 @@
+package org.wordpress.android.fluxc.network.xmlrpc;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import com.android.volley.ParseError;
+import com.android.volley.Response.Listener;
+import com.android.volley.VolleyError;
+
+import org.wordpress.android.fluxc.network.BaseRequest.BaseErrorListener;
+import org.wordpress.android.fluxc.network.BaseRequest.BaseNetworkError;
+import org.wordpress.android.util.AppLog;
+import org.wordpress.android.util.AppLog.T;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces the XML-RPC calls made to the same endpoint within a short window into a single
+ * {@code system.multicall} request, then hands each call its own result or fault.
+ * <p>
+ * A call made alone in its window is sent as is. Endpoints that don't support {@code system.multicall} (answering
+ * with a "method not found" fault, or a 404, 405 or 501 status) are remembered, and their batched calls are sent
+ * individually from then on. Any other failure of the multicall, such as an authentication error, a 429 or an
+ * unparseable response, is handed to each batched call as its error, and batching stays enabled.
+ */
+class XMLRPCMulticallBatcher {
+    interface RequestSender {
+        void send(@NonNull XMLRPCRequest request);
+    }
+
+    static final long DEFAULT_BATCH_WINDOW_MS = 20;
+    static final int MAX_CALLS_PER_BATCH = 20;
+
+    private static final String KEY_FAULT_CODE = "faultCode";
+    private static final String KEY_FAULT_STRING = "faultString";
+    private static final int FAULT_CODE_METHOD_NOT_FOUND = -32601;
+    private static final int HTTP_NOT_FOUND = 404;
+    private static final int HTTP_METHOD_NOT_ALLOWED = 405;
+    private static final int HTTP_NOT_IMPLEMENTED = 501;
+
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "XMLRPCMulticallBatcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final RequestSender mSender;
+    private final ScheduledExecutorService mScheduler;
+    private final long mBatchWindowMs;
+    private final Map<String, List<XMLRPCRequest>> mPendingCalls = new HashMap<>();
+    private final Set<String> mUnsupportedEndpoints = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    XMLRPCMulticallBatcher(@NonNull RequestSender sender) {
+        this(sender, SCHEDULER, DEFAULT_BATCH_WINDOW_MS);
+    }
+
+    XMLRPCMulticallBatcher(@NonNull RequestSender sender, @NonNull ScheduledExecutorService scheduler,
+                           long batchWindowMs) {
+        mSender = sender;
+        mScheduler = scheduler;
+        mBatchWindowMs = batchWindowMs;
+    }
+
+    void add(@NonNull XMLRPCRequest request) {
+        final String url = request.getUrl();
+        if (mUnsupportedEndpoints.contains(url)) {
+            mSender.send(request);
+            return;
+        }
+
+        List<XMLRPCRequest> fullBatch = null;
+        synchronized (mPendingCalls) {
+            List<XMLRPCRequest> calls = mPendingCalls.get(url);
+            if (calls == null) {
+                final List<XMLRPCRequest> batch = new ArrayList<>();
+                mPendingCalls.put(url, batch);
+                mScheduler.schedule(() -> flush(url, batch), mBatchWindowMs, TimeUnit.MILLISECONDS);
+                calls = batch;
+            }
+            calls.add(request);
+            if (calls.size() >= MAX_CALLS_PER_BATCH) {
+                mPendingCalls.remove(url);
+                fullBatch = calls;
+            }
+        }
+        if (fullBatch != null) {
+            send(url, fullBatch);
+        }
+    }
+
+    @VisibleForTesting
+    boolean isMulticallSupported(@NonNull String url) {
+        return !mUnsupportedEndpoints.contains(url);
+    }
+
+    private void flush(@NonNull String url, @NonNull List<XMLRPCRequest> batch) {
+        synchronized (mPendingCalls) {
+            // The batch was already sent if it filled up before the end of the window
+            if (mPendingCalls.get(url) != batch) {
+                return;
+            }
+            mPendingCalls.remove(url);
+        }
+        send(url, batch);
+    }
+
+    private void send(@NonNull String url, @NonNull List<XMLRPCRequest> batch) {
+        final List<XMLRPCRequest> calls = new ArrayList<>(batch.size());
+        for (XMLRPCRequest call : batch) {
+            if (!call.isCanceled()) {
+                calls.add(call);
+            }
+        }
+        if (calls.isEmpty()) {
+            return;
+        }
+        if (calls.size() == 1 || mUnsupportedEndpoints.contains(url)) {
+            sendIndividually(calls);
+            return;
+        }
+
+        List<Map<String, Object>> methodCalls = new ArrayList<>(calls.size());
+        for (XMLRPCRequest call : calls) {
+            Map<String, Object> methodCall = new HashMap<>();
+            methodCall.put(XMLRPCMulticallRequest.KEY_METHOD_NAME, call.getXmlRpcMethod().toString());
+            methodCall.put(XMLRPCMulticallRequest.KEY_PARAMS,
+                    call.getXmlRpcParams() == null ? new Object[0] : call.getXmlRpcParams());
+            methodCalls.add(methodCall);
+        }
+        Listener<Object> listener = response -> onMulticallResponse(url, calls, response);
+        BaseErrorListener errorListener = error -> onMulticallError(url, calls, error);
+        mSender.send(new XMLRPCMulticallRequest(url, methodCalls, listener, errorListener));
+    }
+
+    private void sendIndividually(@NonNull List<XMLRPCRequest> calls) {
+        for (XMLRPCRequest call : calls) {
+            mSender.send(call);
+        }
+    }
+
+    private void onMulticallResponse(@NonNull String url, @NonNull List<XMLRPCRequest> calls,
+                                     @Nullable Object response) {
+        if (!(response instanceof Object[]) || ((Object[]) response).length != calls.size()) {
+            AppLog.w(T.API, "Unexpected system.multicall response from " + url);
+            deliverError(calls, new ParseError(
+                    new XMLRPCException("Unexpected system.multicall response: " + response)));
+            return;
+        }
+
+        Object[] results = (Object[]) response;
+        for (int i = 0; i < calls.size(); i++) {
+            deliverResult(calls.get(i), results[i]);
+        }
+    }
+
+    private void onMulticallError(@NonNull String url, @NonNull List<XMLRPCRequest> calls,
+                                  @NonNull BaseNetworkError error) {
+        if (isMulticallUnsupported(error.volleyError)) {
+            AppLog.w(T.API, "system.multicall not supported by " + url + ", sending calls individually");
+            mUnsupportedEndpoints.add(url);
+            sendIndividually(calls);
+            return;
+        }
+
+        // Resending the calls individually would multiply the requests to a server that is failing or throttling
+        // them, so each call fails with the error of the multicall
+        deliverError(calls, error.volleyError != null ? error.volleyError : new VolleyError(error.message));
+    }
+
+    private static boolean isMulticallUnsupported(@Nullable VolleyError error) {
+        if (error == null) {
+            return false;
+        }
+        if (error.getCause() instanceof XMLRPCFault) {
+            return ((XMLRPCFault) error.getCause()).getFaultCode() == FAULT_CODE_METHOD_NOT_FOUND;
+        }
+        if (error.networkResponse == null) {
+            return false;
+        }
+        int statusCode = error.networkResponse.statusCode;
+        return statusCode == HTTP_NOT_FOUND || statusCode == HTTP_METHOD_NOT_ALLOWED
+               || statusCode == HTTP_NOT_IMPLEMENTED;
+    }
+
+    private static void deliverError(@NonNull List<XMLRPCRequest> calls, @NonNull VolleyError error) {
+        for (XMLRPCRequest call : calls) {
+            if (!call.isCanceled()) {
+                call.deliverError(error);
+            }
+        }
+    }
+
+    /**
+     * Each multicall result is either a single element array holding the call's result, or a fault struct.
+     */
+    private static void deliverResult(@NonNull XMLRPCRequest call, @Nullable Object result) {
+        if (call.isCanceled()) {
+            return;
+        }
+        if (result instanceof Object[] && ((Object[]) result).length == 1) {
+            call.deliverResponse(((Object[]) result)[0]);
+        } else if (result instanceof Map) {
+            Map<?, ?> fault = (Map<?, ?>) result;
+            String faultString = XMLRPCUtils.safeGetMapValue(fault, KEY_FAULT_STRING, "");
+            int faultCode = XMLRPCUtils.safeGetMapValue(fault, KEY_FAULT_CODE, 0);
+            call.deliverError(new VolleyError(new XMLRPCFault(faultString, faultCode)));
+        } else {
+            call.deliverError(new ParseError(new XMLRPCException("Unexpected system.multicall result: " + result)));
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package org.wordpress.android.fluxc.network.xmlrpc;
+
+import androidx.annotation.NonNull;
+
+import com.android.volley.Response.Listener;
+
+import org.wordpress.android.fluxc.generated.endpoint.XMLRPC;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code system.multicall} request sent by {@link XMLRPCMulticallBatcher}.
+ * <p>
+ * Errors are handed back to each batched call by the batcher, so they are not reported as authentication errors
+ * from here.
+ */
+class XMLRPCMulticallRequest extends XMLRPCRequest {
+    static final String KEY_METHOD_NAME = "methodName";
+    static final String KEY_PARAMS = "params";
+
+    XMLRPCMulticallRequest(@NonNull String url, @NonNull List<Map<String, Object>> calls,
+                           Listener<Object> listener, BaseErrorListener errorListener) {
+        super(url, XMLRPC.MULTICALL, Collections.<Object>singletonList(calls), listener, errorListener);
+    }
+
+    @Override
+    public BaseNetworkError deliverBaseNetworkError(@NonNull BaseNetworkError error) {
+        return error;
+    }
+}
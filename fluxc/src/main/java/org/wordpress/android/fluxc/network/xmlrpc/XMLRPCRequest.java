@@ -25,21 +25,26 @@ import org.xmlpull.v1.XmlSerializer;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.StringWriter;
 import java.io.UnsupportedEncodingException;
-import java.nio.charset.Charset;
 import java.util.List;
 
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.Buffer;
+import okio.BufferedSink;
+
 
 // TODO: Would be great to use generics / return POJO or model direclty (see GSON code?)
 public class XMLRPCRequest extends BaseRequest<Object> {
     private static final String PROTOCOL_CHARSET = "utf-8";
     private static final String PROTOCOL_CONTENT_TYPE = String.format("text/xml; charset=%s", PROTOCOL_CHARSET);
+    private static final MediaType PROTOCOL_MEDIA_TYPE = MediaType.parse(PROTOCOL_CONTENT_TYPE);
 
     private final Listener<? super Object[]> mListener;
     private final XMLRPC mMethod;
     private final Object[] mParams;
     private final XmlSerializer mSerializer = Xml.newSerializer();
+    private Buffer mSerializedBody;
 
     public enum XmlRpcErrorType {
         NOT_SET,
@@ -58,6 +63,14 @@ public class XMLRPCRequest extends BaseRequest<Object> {
         mParams = (params == null ? null : params.toArray());
     }
 
+    XMLRPC getXmlRpcMethod() {
+        return mMethod;
+    }
+
+    Object[] getXmlRpcParams() {
+        return mParams;
+    }
+
     @Override
     protected void deliverResponse(Object response) {
         deliverResponse(mListener, response);
@@ -66,9 +79,9 @@ public class XMLRPCRequest extends BaseRequest<Object> {
     @Override
     protected Response<Object> parseNetworkResponse(NetworkResponse response) {
         try {
-            String data = new String(response.data, HttpHeaderParser.parseCharset(response.headers));
-            InputStream is = new ByteArrayInputStream(data.getBytes(Charset.forName("UTF-8")));
-            Object obj = XMLSerializerUtils.deserialize(XMLSerializerUtils.scrubXmlResponse(is));
+            // Feed the parser straight from the response bytes, decoding them with the charset from the headers
+            InputStream is = XMLSerializerUtils.scrubXmlResponse(new ByteArrayInputStream(response.data));
+            Object obj = XMLSerializerUtils.deserialize(is, HttpHeaderParser.parseCharset(response.headers));
             return Response.success(obj, createCacheEntry(response));
         } catch (XMLRPCFault e) {
             return Response.error(new VolleyError(e));
@@ -93,15 +106,50 @@ public class XMLRPCRequest extends BaseRequest<Object> {
 
     @Override
     public byte[] getBody() throws AuthFailureError {
-        try {
-            StringWriter stringWriter = XMLSerializerUtils.serialize(mSerializer, mMethod, mParams);
-            return stringWriter.toString().getBytes("UTF-8");
-        } catch (UnsupportedEncodingException e) {
-            AppLog.e(T.API, "Can't encode XMLRPC request", e);
-        } catch (IOException e) {
-            AppLog.e(T.API, "Can't serialize XMLRPC request", e);
+        Buffer body = getSerializedBody();
+        return body == null ? null : body.clone().readByteArray();
+    }
+
+    @Override
+    public RequestBody getRequestBody() throws AuthFailureError {
+        final Buffer body = getSerializedBody();
+        if (body == null) {
+            return null;
+        }
+        return new RequestBody() {
+            @Override
+            public MediaType contentType() {
+                return PROTOCOL_MEDIA_TYPE;
+            }
+
+            @Override
+            public long contentLength() {
+                return body.size();
+            }
+
+            @Override
+            public void writeTo(@NonNull BufferedSink sink) throws IOException {
+                // The clone shares the serialized segments, so the body can be written again on retries
+                sink.write(body.clone(), body.size());
+            }
+        };
+    }
+
+    /**
+     * Serializes the call once, as UTF-8, into an okio buffer. Unlike a {@link java.io.StringWriter} this keeps a
+     * single encoded copy of large calls (long post content, base64 media) in pooled segments.
+     */
+    private synchronized Buffer getSerializedBody() {
+        if (mSerializedBody == null) {
+            try {
+                Buffer body = new Buffer();
+                XMLSerializerUtils.serialize(mSerializer, body.outputStream(), mMethod, mParams);
+                mSerializedBody = body;
+            } catch (IOException e) {
+                AppLog.e(T.API, "Can't serialize XMLRPC request", e);
+            }
         }
-        return null;
+        return mSerializedBody;
     }
 
     @Override
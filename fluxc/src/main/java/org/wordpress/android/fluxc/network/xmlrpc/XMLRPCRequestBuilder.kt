@@ -63,7 +63,9 @@ class XMLRPCRequestBuilder @Inject constructor() {
      * @param url the request URL
      * @param method XMLRPC method
      * @param params the parameters to append to the request URL
+     * @param batched whether the call can be sent in a `system.multicall` with concurrent calls to the same site
      */
+    @Suppress("LongParameterList")
     suspend fun <T> syncGetRequest(
         restClient: BaseXMLRPCClient,
         url: String,
@@ -72,7 +74,8 @@ class XMLRPCRequestBuilder @Inject constructor() {
         clazz: Class<T>,
         enableCaching: Boolean = false,
         cacheTimeToLive: Int = BaseRequest.DEFAULT_CACHE_LIFETIME,
-        forced: Boolean = false
+        forced: Boolean = false,
+        batched: Boolean = false
     ) = suspendCancellableCoroutine<Response<T>> { cont ->
         val request = buildGetRequest(url, method, params, clazz, {
             cont.resume(Success(it))
@@ -86,7 +89,11 @@ class XMLRPCRequestBuilder @Inject constructor() {
         if (forced) {
             request.setShouldForceUpdate()
         }
-        restClient.add(request)
+        if (batched) {
+            restClient.addBatched(request)
+        } else {
+            restClient.add(request)
+        }
     }
 
     sealed class Response<T> {
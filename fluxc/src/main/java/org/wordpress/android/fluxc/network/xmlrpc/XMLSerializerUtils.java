@@ -6,14 +6,12 @@ import org.xmlpull.v1.XmlPullParserException;
 import org.xmlpull.v1.XmlPullParserFactory;
 import org.xmlpull.v1.XmlSerializer;
 
-import java.io.ByteArrayInputStream;
+import java.io.BufferedInputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.SequenceInputStream;
+import java.io.OutputStream;
 import java.io.StringWriter;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.List;
 import java.util.Map;
 
 public class XMLSerializerUtils {
@@ -26,13 +24,28 @@ public class XMLSerializerUtils {
     private static final String TAG_FAULT_CODE = "faultCode";
     private static final String TAG_FAULT_STRING = "faultString";
 
+    private static final String PROTOCOL_CHARSET = "UTF-8";
     private static final int MAX_SCRUB_CHARACTERS = 5000;
+    private static final byte[] XML_DECLARATION_START = {'<', '?', 'x', 'm', 'l'};
 
     public static StringWriter serialize(XmlSerializer serializer, XMLRPC method, Object[] params)
             throws IOException {
         StringWriter bodyWriter = new StringWriter();
         serializer.setOutput(bodyWriter);
+        writeMethodCall(serializer, method, params);
+        return bodyWriter;
+    }
+
+    /**
+     * Serializes the method call as UTF-8 straight into the given stream, without building the body as a String.
+     */
+    public static void serialize(XmlSerializer serializer, OutputStream outputStream, XMLRPC method, Object[] params)
+            throws IOException {
+        serializer.setOutput(outputStream, PROTOCOL_CHARSET);
+        writeMethodCall(serializer, method, params);
+    }
 
+    private static void writeMethodCall(XmlSerializer serializer, XMLRPC method, Object[] params) throws IOException {
         serializer.startDocument(null, null);
         serializer.startTag(null, TAG_METHOD_CALL);
         // set method name
@@ -49,15 +62,21 @@ public class XMLSerializerUtils {
         }
         serializer.endTag(null, TAG_METHOD_CALL);
         serializer.endDocument();
-
-        return bodyWriter;
     }
 
     public static Object deserialize(InputStream is)
             throws IOException, XmlPullParserException, XMLRPCException {
+        return deserialize(is, PROTOCOL_CHARSET);
+    }
+
+    /**
+     * Parses the XMLRPC response straight from the given stream, decoding it with the given charset.
+     */
+    public static Object deserialize(InputStream is, String charset)
+            throws IOException, XmlPullParserException, XMLRPCException {
         // setup pull parser
         XmlPullParser pullParser = XmlPullParserFactory.newInstance().newPullParser();
-        pullParser.setInput(is, "UTF-8");
+        pullParser.setInput(is, charset);
 
         // lets start pulling...
         pullParser.nextTag();
@@ -87,36 +106,46 @@ public class XMLSerializerUtils {
         }
     }
 
+    /**
+     * Skips any junk the server printed before the XML declaration (php warnings for example), without copying the
+     * stream. Only the first {@link #MAX_SCRUB_CHARACTERS} bytes are searched; if no declaration is found there, the
+     * returned stream starts at the beginning of the response.
+     */
     public static InputStream scrubXmlResponse(InputStream is) throws IOException {
-        // Many WordPress configs can output junk before the xml response (php warnings for example), this cleans it.
-        int bomCheck = -1;
-        int stopper = 0;
-        while ((bomCheck = is.read()) != -1 && stopper <= MAX_SCRUB_CHARACTERS) {
-            stopper++;
-            String snippet = "";
-            // 60 == '<' character
-            if (bomCheck == 60) {
-                for (int i = 0; i < 4; i++) {
-                    byte[] chunk = new byte[1];
-                    int numRead = is.read(chunk);
-                    if (numRead > 0) {
-                        snippet += new String(chunk, "UTF-8");
-                    }
-                }
-                if (snippet.equals("?xml")) {
-                    // it's all good, add xml tag back and start parsing
-                    String start = "<" + snippet;
-                    List<InputStream> streams = Arrays.asList(new ByteArrayInputStream(start.getBytes()), is);
-                    is = new SequenceInputStream(Collections.enumeration(streams));
-                    break;
-                } else {
-                    // keep searching...
-                    List<InputStream> streams = Arrays.asList(new ByteArrayInputStream(snippet.getBytes()), is);
-                    is = new SequenceInputStream(Collections.enumeration(streams));
-                }
+        if (!is.markSupported()) {
+            is = new BufferedInputStream(is);
+        }
+        is.mark(MAX_SCRUB_CHARACTERS + XML_DECLARATION_START.length);
+
+        int matched = 0;
+        int position = 0;
+        int current;
+        while (position < MAX_SCRUB_CHARACTERS + XML_DECLARATION_START.length && (current = is.read()) != -1) {
+            position++;
+            if (current == XML_DECLARATION_START[matched]) {
+                matched++;
+            } else {
+                // '<' can only appear at the start of the declaration, so a mismatch restarts the search
+                matched = current == XML_DECLARATION_START[0] ? 1 : 0;
+            }
+            if (matched == XML_DECLARATION_START.length) {
+                is.reset();
+                skipFully(is, position - XML_DECLARATION_START.length);
+                return is;
             }
         }
 
+        is.reset();
         return is;
     }
+
+    private static void skipFully(InputStream is, long count) throws IOException {
+        while (count > 0) {
+            long skipped = is.skip(count);
+            if (skipped <= 0) {
+                throw new EOFException("Unexpected end of XMLRPC response");
+            }
+            count -= skipped;
+        }
+    }
 }
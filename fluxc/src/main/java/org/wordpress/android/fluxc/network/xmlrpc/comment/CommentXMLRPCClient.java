@@ -121,7 +121,7 @@ public class CommentXMLRPCClient extends BaseXMLRPCClient {
                 },
                 error -> mDispatcher.dispatch(CommentActionBuilder.newFetchedCommentAction(
                         CommentErrorUtils.commentErrorToFetchCommentPayload(error, comment))));
-        add(request);
+        addBatched(request);
     }
 
     public void deleteComment(
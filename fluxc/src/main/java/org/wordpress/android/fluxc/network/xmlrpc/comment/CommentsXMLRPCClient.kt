@@ -142,7 +142,8 @@ class CommentsXMLRPCClient @Inject constructor(
                 url = site.xmlRpcUrl,
                 method = XMLRPC.GET_COMMENT,
                 params = params,
-                clazz = Map::class.java
+                clazz = Map::class.java,
+                batched = true
         )
 
         return when (response) {
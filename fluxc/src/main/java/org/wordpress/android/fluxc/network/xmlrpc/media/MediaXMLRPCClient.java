@@ -42,7 +42,6 @@ import org.wordpress.android.util.DateTimeUtils;
 import org.wordpress.android.util.MapUtils;
 import org.xmlpull.v1.XmlPullParserException;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.HttpURLConnection;
@@ -652,11 +651,11 @@ public class MediaXMLRPCClient extends BaseXMLRPCClient implements ProgressListe
                 AppLog.e(T.MEDIA, "Failed to parse XMLRPC.wpUploadFile response - body was empty: " + response);
                 return null;
             }
-            String data = new String(responseBody.bytes(), StandardCharsets.UTF_8);
-            InputStream is = new ByteArrayInputStream(data.getBytes(StandardCharsets.UTF_8));
-            Object responseObject = XMLSerializerUtils.deserialize(XMLSerializerUtils.scrubXmlResponse(is));
-            if (responseObject instanceof Map) {
-                return (Map) responseObject;
+            try (InputStream is = XMLSerializerUtils.scrubXmlResponse(responseBody.byteStream())) {
+                Object responseObject = XMLSerializerUtils.deserialize(is, StandardCharsets.UTF_8.name());
+                if (responseObject instanceof Map) {
+                    return (Map) responseObject;
+                }
             }
         } catch (IOException | XmlPullParserException e) {
             AppLog.e(T.MEDIA, "Failed to parse XMLRPC.wpUploadFile response: " + response);
@@ -36,6 +36,7 @@ import org.wordpress.android.fluxc.store.PostStore.DeletedPostPayload;
 import org.wordpress.android.fluxc.store.PostStore.FetchPostListResponsePayload;
 import org.wordpress.android.fluxc.store.PostStore.FetchPostResponsePayload;
 import org.wordpress.android.fluxc.store.PostStore.FetchPostStatusResponsePayload;
+import org.wordpress.android.fluxc.store.PostStore.FetchPostsByRemoteIdsResponsePayload;
 import org.wordpress.android.fluxc.store.PostStore.FetchPostsResponsePayload;
 import org.wordpress.android.fluxc.store.PostStore.PostDeleteActionType;
 import org.wordpress.android.fluxc.store.PostStore.PostError;
@@ -54,6 +55,7 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -112,7 +114,49 @@ public class PostXMLRPCClient extends BaseXMLRPCClient {
             }
         });
 
-        add(request);
+        addBatched(request);
+    }
+
+    /**
+     * Fetches the posts with one wp.getPost call each, which are batched into system.multicall requests, and reports
+     * them together once all the calls are done. Posts whose call failed are left out of the response.
+     */
+    public void fetchPostsByRemoteIds(final List<PostModel> posts, final SiteModel site) {
+        final List<PostModel> fetchedPosts = Collections.synchronizedList(new ArrayList<PostModel>(posts.size()));
+        final AtomicInteger remainingCalls = new AtomicInteger(posts.size());
+
+        for (final PostModel post : posts) {
+            final XMLRPCRequest request = new XMLRPCRequest(site.getXmlRpcUrl(), XMLRPC.GET_POST,
+                    createFetchPostParams(post, site),
+                    new Listener<Object>() {
+                        @Override
+                        public void onResponse(Object response) {
+                            if (response instanceof Map) {
+                                PostModel postModel = postResponseObjectToPostModel((Map) response, site);
+                                if (postModel != null) {
+                                    fetchedPosts.add(postModel);
+                                }
+                            }
+                            onFetchPostByRemoteIdCompleted(remainingCalls, posts, fetchedPosts, site);
+                        }
+                    }, new BaseErrorListener() {
+                @Override
+                public void onErrorResponse(@NonNull BaseNetworkError error) {
+                    onFetchPostByRemoteIdCompleted(remainingCalls, posts, fetchedPosts, site);
+                }
+            });
+
+            addBatched(request);
+        }
+    }
+
+    private void onFetchPostByRemoteIdCompleted(AtomicInteger remainingCalls, List<PostModel> requestedPosts,
+                                                List<PostModel> fetchedPosts, SiteModel site) {
+        if (remainingCalls.decrementAndGet() == 0) {
+            FetchPostsByRemoteIdsResponsePayload payload =
+                    new FetchPostsByRemoteIdsResponsePayload(requestedPosts, new ArrayList<>(fetchedPosts), site);
+            mDispatcher.dispatch(PostActionBuilder.newFetchedPostsByRemoteIdsAction(payload));
+        }
     }
 
     public void fetchPostStatus(final PostModel post, final SiteModel site) {
@@ -146,7 +190,7 @@ public class PostXMLRPCClient extends BaseXMLRPCClient {
             }
         });
 
-        add(request);
+        addBatched(request);
     }
 
     public void fetchPostList(final PostListDescriptorForXmlRpcSite listDescriptor, final long offset) {
@@ -54,7 +54,7 @@ class SiteXMLRPCClient @Inject constructor(
             site.error = error
             mDispatcher.dispatch(SiteActionBuilder.newFetchedProfileXmlRpcAction(site))
         }
-        add(request)
+        addBatched(request)
     }
 
     suspend fun fetchSites(xmlrpcUrl: String, username: String, password: String): SitesModel {
@@ -102,7 +102,14 @@ class SiteXMLRPCClient @Inject constructor(
                         "jetpack_user_email"
                 )
         )
-        val response = xmlrpcRequestBuilder.syncGetRequest(this, site.xmlRpcUrl, GET_OPTIONS, params, Map::class.java)
+        val response = xmlrpcRequestBuilder.syncGetRequest(
+                this,
+                site.xmlRpcUrl,
+                GET_OPTIONS,
+                params,
+                Map::class.java,
+                batched = true
+        )
         return when (response) {
             is Success -> {
                 val updatedSite = updateSiteFromOptions(response.data, site)
@@ -121,7 +128,8 @@ class SiteXMLRPCClient @Inject constructor(
                 site.xmlRpcUrl,
                 GET_POST_FORMATS,
                 params,
-                Map::class.java
+                Map::class.java,
+                batched = true
         )
         return when (response) {
             is Success -> {
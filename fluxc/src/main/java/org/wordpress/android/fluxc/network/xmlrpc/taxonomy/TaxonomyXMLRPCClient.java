@@ -91,7 +91,7 @@ public class TaxonomyXMLRPCClient extends BaseXMLRPCClient {
                     mDispatcher.dispatch(TaxonomyActionBuilder.newFetchedTermAction(payload));
                 });
 
-        add(request);
+        addBatched(request);
     }
 
     public void fetchTerms(@NonNull final SiteModel site, @NonNull final String taxonomyName) {
@@ -125,7 +125,7 @@ public class TaxonomyXMLRPCClient extends BaseXMLRPCClient {
                     mDispatcher.dispatch(TaxonomyActionBuilder.newFetchedTermsAction(payload));
                 });
 
-        add(request);
+        addBatched(request);
     }
 
     public void pushTerm(@NonNull final TermModel term, @NonNull final SiteModel site) {
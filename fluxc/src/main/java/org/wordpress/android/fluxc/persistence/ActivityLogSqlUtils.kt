@@ -1,5 +1,8 @@
 package org.wordpress.android.fluxc.persistence
 
+import android.database.DatabaseUtils
+import android.database.sqlite.SQLiteDatabase
+import android.database.sqlite.SQLiteStatement
 import com.wellsql.generated.ActivityLogTable
 import com.wellsql.generated.BackupDownloadStatusTable
 import com.wellsql.generated.RewindStatusCredentialsTable
@@ -15,34 +18,122 @@ import org.wordpress.android.fluxc.model.activity.ActivityLogModel
 import org.wordpress.android.fluxc.model.activity.BackupDownloadStatusModel
 import org.wordpress.android.fluxc.model.activity.RewindStatusModel
 import org.wordpress.android.fluxc.model.activity.RewindStatusModel.Credentials
+import org.wordpress.android.fluxc.persistence.WellSqlConfig.Companion.SQLITE_MAX_VARIABLE_NUMBER
 import org.wordpress.android.fluxc.tools.FormattableContentMapper
+import org.wordpress.android.fluxc.utils.CurrentTimeProvider
 import java.util.Date
 import javax.inject.Inject
 import javax.inject.Singleton
 
 @Singleton
-class ActivityLogSqlUtils @Inject constructor(private val formattableContentMapper: FormattableContentMapper) {
+class ActivityLogSqlUtils @Inject constructor(
+    private val formattableContentMapper: FormattableContentMapper,
+    private val currentTimeProvider: CurrentTimeProvider
+) {
+    /**
+     * How long, and how many, activities are kept per site. It's enforced every time activities of a site are
+     * inserted. All the activities are kept by default.
+     */
+    @Volatile var retentionPolicy: RetentionPolicy = RetentionPolicy.KEEP_ALL
+
+    /**
+     * Inserts the given activities of the site, or updates the stored ones having the same activity id, then deletes
+     * the activities of the site falling outside of the [retentionPolicy]. It's all done in a single transaction.
+     *
+     * @return the number of activities inserted or updated
+     */
     fun insertOrUpdateActivities(siteModel: SiteModel, activityModels: List<ActivityLogModel>): Int {
-        val activityIds = activityModels.map { it.activityID }
-        val activitiesToUpdate = WellSql.select(ActivityLogBuilder::class.java).where()
-                .isIn(ActivityLogTable.ACTIVITY_ID, activityIds)
-                .endWhere()
-                .asModel
-                .map { it.activityID }
-        val (existing, new) = activityModels
-                .map { it.toBuilder(siteModel) }
-                .partition { activitiesToUpdate.contains(it.activityID) }
-        val insertQuery = WellSql.insert(new)
-        val updateQueries = existing.map {
-            WellSql.update(ActivityLogBuilder::class.java)
+        val mapper = UpdateAllExceptId(ActivityLogBuilder::class.java)
+        val db = WellSql.giveMeWritableDb()
+        db.beginTransaction()
+        try {
+            val storedActivityIds = getStoredActivityIds(siteModel, activityModels.map { it.activityID })
+            val statements = mutableMapOf<List<String>, ActivityStatements>()
+            var rowsAffected = 0
+            try {
+                activityModels.forEach { activityModel ->
+                    val values = mapper.toCv(activityModel.toBuilder(siteModel))
+                    val columns = values.keySet().sorted()
+                    val rowStatements = statements.getOrPut(columns) { ActivityStatements(db, columns) }
+                    columns.forEachIndexed { index, column -> rowStatements.bind(index + 1, values.get(column)) }
+
+                    if (storedActivityIds.add(activityModel.activityID)) {
+                        rowStatements.insert.executeInsert()
+                        rowsAffected++
+                    } else {
+                        rowStatements.update.bindLong(columns.size + 1, siteModel.id.toLong())
+                        rowStatements.update.bindString(columns.size + 2, activityModel.activityID)
+                        rowsAffected += rowStatements.update.executeUpdateDelete()
+                    }
+                }
+            } finally {
+                statements.values.forEach { it.close() }
+            }
+            pruneActivities(siteModel)
+            db.setTransactionSuccessful()
+            return rowsAffected
+        } finally {
+            db.endTransaction()
+        }
+    }
+
+    /**
+     * Returns true if the activities older than the given fetched ones fall outside of the [retentionPolicy]: they
+     * would be deleted right after being fetched, so there's no point in loading more activities of the site.
+     */
+    fun isRetentionLimitReached(site: SiteModel, fetchedActivities: List<ActivityLogModel>): Boolean {
+        val policy = retentionPolicy
+        val maxAgeReached = policy.maxAgeMs?.let { maxAgeMs ->
+            val cutoff = currentTimeProvider.currentDate().time - maxAgeMs
+            fetchedActivities.any { it.published.time < cutoff }
+        } ?: false
+        val maxCountReached = policy.maxCount?.let { maxCount ->
+            WellSql.select(ActivityLogBuilder::class.java)
+                    .where()
+                    .equals(ActivityLogTable.LOCAL_SITE_ID, site.id)
+                    .endWhere()
+                    .count() >= maxCount
+        } ?: false
+        return maxAgeReached || maxCountReached
+    }
+
+    /**
+     * Looks up only the activity ids, in chunks keeping the query under SQLite's limit of variables.
+     */
+    private fun getStoredActivityIds(site: SiteModel, activityIds: List<String>): MutableSet<String> {
+        val storedActivityIds = mutableSetOf<String>()
+        activityIds.distinct().chunked(SQLITE_MAX_VARIABLE_NUMBER - 1).forEach { chunk ->
+            WellSql.select(ActivityLogBuilder::class.java)
+                    .columns(ActivityLogTable.ACTIVITY_ID)
                     .where()
-                    .equals(ActivityLogTable.ACTIVITY_ID, it.activityID)
-                    .equals(ActivityLogTable.LOCAL_SITE_ID, it.localSiteId)
+                    .equals(ActivityLogTable.LOCAL_SITE_ID, site.id)
+                    .isIn(ActivityLogTable.ACTIVITY_ID, chunk)
                     .endWhere()
-                    .put(it, UpdateAllExceptId<ActivityLogBuilder>(ActivityLogBuilder::class.java))
+                    .asModel
+                    .mapTo(storedActivityIds) { it.activityID }
+        }
+        return storedActivityIds
+    }
+
+    private fun pruneActivities(site: SiteModel) {
+        val policy = retentionPolicy
+        val db = WellSql.giveMeWritableDb()
+        policy.maxAgeMs?.let { maxAgeMs ->
+            val cutoff = currentTimeProvider.currentDate().time - maxAgeMs
+            db.delete(
+                    ACTIVITY_LOG_TABLE,
+                    "${ActivityLogTable.LOCAL_SITE_ID}=? AND ${ActivityLogTable.PUBLISHED}<?",
+                    arrayOf(site.id.toString(), cutoff.toString())
+            )
+        }
+        policy.maxCount?.let { maxCount ->
+            db.execSQL(
+                    "DELETE FROM $ACTIVITY_LOG_TABLE WHERE ${ActivityLogTable.LOCAL_SITE_ID}=? AND _id NOT IN " +
+                            "(SELECT _id FROM $ACTIVITY_LOG_TABLE WHERE ${ActivityLogTable.LOCAL_SITE_ID}=? " +
+                            "ORDER BY ${ActivityLogTable.PUBLISHED} DESC LIMIT ?)",
+                    arrayOf<Any>(site.id, site.id, maxCount)
+            )
         }
-        insertQuery.execute()
-        return updateQueries.map { it.execute() }.sum() + new.count()
     }
 
     fun getActivitiesForSite(site: SiteModel, @SelectQuery.Order order: Int): List<ActivityLogModel> {
@@ -246,6 +337,45 @@ class ActivityLogSqlUtils @Inject constructor(private val formattableContentMapp
         )
     }
 
+    private class ActivityStatements(db: SQLiteDatabase, columns: List<String>) {
+        val insert: SQLiteStatement = db.compileStatement(
+                "INSERT INTO $ACTIVITY_LOG_TABLE (${columns.joinToString(",")}) " +
+                        "VALUES (${columns.joinToString(",") { "?" }})"
+        )
+        val update: SQLiteStatement = db.compileStatement(
+                "UPDATE $ACTIVITY_LOG_TABLE SET ${columns.joinToString(",") { "$it=?" }} " +
+                        "WHERE ${ActivityLogTable.LOCAL_SITE_ID}=? AND ${ActivityLogTable.ACTIVITY_ID}=?"
+        )
+
+        fun bind(index: Int, value: Any?) {
+            DatabaseUtils.bindObjectToProgram(insert, index, value)
+            DatabaseUtils.bindObjectToProgram(update, index, value)
+        }
+
+        fun close() {
+            insert.close()
+            update.close()
+        }
+    }
+
+    /**
+     * Activities published more than [maxAgeMs] ago are deleted, as well as the oldest activities past the newest
+     * [maxCount] ones. A null limit doesn't apply.
+     *
+     * The next page of activities is fetched from an offset equal to the number of stored activities, so the
+     * activities deleted by the policy can't be loaded again: see [isRetentionLimitReached].
+     */
+    data class RetentionPolicy(val maxAgeMs: Long? = null, val maxCount: Int? = null) {
+        init {
+            require(maxAgeMs == null || maxAgeMs >= 0) { "maxAgeMs must not be negative" }
+            require(maxCount == null || maxCount >= 0) { "maxCount must not be negative" }
+        }
+
+        companion object {
+            @JvmField val KEEP_ALL = RetentionPolicy()
+        }
+    }
+
     @Table(name = "ActivityLog")
     data class ActivityLogBuilder(
         @PrimaryKey
@@ -416,4 +546,8 @@ class ActivityLogSqlUtils @Inject constructor(private val formattableContentMapp
             )
         }
     }
+
+    private companion object {
+        const val ACTIVITY_LOG_TABLE = "ActivityLog"
+    }
 }
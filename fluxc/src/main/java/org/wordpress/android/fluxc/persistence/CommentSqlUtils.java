@@ -228,6 +228,15 @@ public class CommentSqlUtils {
                 .getAsModel();
     }
 
+    /**
+     * Returns the comments of the site having words starting with every word of the query, best matches first.
+     */
+    @NonNull
+    public static List<CommentModel> searchCommentsForSite(@NonNull SiteModel site, @NonNull String query) {
+        return FullTextSearchIndex.COMMENTS.searchModels(CommentModel.class, query,
+                Collections.singletonMap(CommentModelTable.LOCAL_SITE_ID, site.getId()));
+    }
+
     public static int getCommentsCountForSite(
             @NonNull SiteModel site,
             @NonNull CommentStatus... statuses) {
@@ -0,0 +1,30 @@
+package org.wordpress.android.fluxc.persistence
+
+import android.database.Cursor
+import com.yarolegovich.wellsql.WellSql
+
+/**
+ * Reads the current row the way WellSql does before converting it to a model.
+ */
+internal fun Cursor.toRow(): Map<String, Any?> = (0 until columnCount).associate { index ->
+    getColumnName(index) to when (getType(index)) {
+        Cursor.FIELD_TYPE_INTEGER -> getLong(index)
+        Cursor.FIELD_TYPE_FLOAT -> getDouble(index)
+        Cursor.FIELD_TYPE_STRING -> getString(index)
+        Cursor.FIELD_TYPE_BLOB -> getBlob(index)
+        else -> null
+    }
+}
+
+/**
+ * Converts all the rows of the cursor to models, for the queries WellSql can't build, such as joins. The cursor must
+ * only have columns of the model's table, and is closed once read.
+ */
+internal fun <T> Cursor.toModels(modelClass: Class<T>): List<T> = use { cursor ->
+    val mapper = WellSql.mapperFor(modelClass)
+    val models = ArrayList<T>(cursor.count)
+    while (cursor.moveToNext()) {
+        models.add(mapper.convert(cursor.toRow()))
+    }
+    models
+}
@@ -8,11 +8,14 @@ import org.wordpress.android.fluxc.model.encryptedlogging.EncryptedLogModel
 import org.wordpress.android.fluxc.model.encryptedlogging.EncryptedLogUploadState.FAILED
 import org.wordpress.android.fluxc.model.encryptedlogging.EncryptedLogUploadState.QUEUED
 import org.wordpress.android.fluxc.model.encryptedlogging.EncryptedLogUploadState.UPLOADING
+import java.util.Date
 import javax.inject.Inject
 import javax.inject.Singleton
 
 @Singleton
 class EncryptedLogSqlUtils @Inject constructor() {
+    private val uploadStatesForUpload = listOf(QUEUED, FAILED).map { it.value }
+
     fun insertOrUpdateEncryptedLog(encryptedLog: EncryptedLog) {
         insertOrUpdateEncryptedLogs(listOf(encryptedLog))
     }
@@ -45,10 +48,43 @@ class EncryptedLogSqlUtils @Inject constructor() {
     }
 
     fun getEncryptedLogsForUpload(): List<EncryptedLog> {
-        val uploadStates = listOf(QUEUED, FAILED).map { it.value }
+        return selectEncryptedLogsForUpload(dueDate = null)
+    }
+
+    /**
+     * Returns the logs waiting for an upload whose next attempt is due at the given [date], in upload order.
+     */
+    fun getEncryptedLogsDueForUpload(date: Date): List<EncryptedLog> {
+        return selectEncryptedLogsForUpload(dueDate = date)
+    }
+
+    /**
+     * Returns the earliest next attempt date after the given [date] of the logs waiting for an upload, or null if
+     * there are none.
+     */
+    fun getNextUploadAttemptDate(after: Date): Date? {
         return WellSql.select(EncryptedLogModel::class.java)
+                .columns(EncryptedLogModelTable.NEXT_ATTEMPT_TIME)
                 .where()
-                .isIn(EncryptedLogModelTable.UPLOAD_STATE_DB_VALUE, uploadStates)
+                .isIn(EncryptedLogModelTable.UPLOAD_STATE_DB_VALUE, uploadStatesForUpload)
+                .greaterThen(EncryptedLogModelTable.NEXT_ATTEMPT_TIME, after.time)
+                .endWhere()
+                .orderBy(EncryptedLogModelTable.NEXT_ATTEMPT_TIME, SelectQuery.ORDER_ASCENDING)
+                .limit(1)
+                .asModel
+                .firstOrNull()
+                ?.let { Date(it.nextAttemptTime) }
+    }
+
+    private fun selectEncryptedLogsForUpload(dueDate: Date?): List<EncryptedLog> {
+        return WellSql.select(EncryptedLogModel::class.java)
+                .where()
+                .isIn(EncryptedLogModelTable.UPLOAD_STATE_DB_VALUE, uploadStatesForUpload)
+                .apply {
+                    if (dueDate != null) {
+                        lessThenOrEqual(EncryptedLogModelTable.NEXT_ATTEMPT_TIME, dueDate.time)
+                    }
+                }
                 .endWhere()
                 // Queued status should have priority over failed status
                 .orderBy(EncryptedLogModelTable.UPLOAD_STATE_DB_VALUE, SelectQuery.ORDER_ASCENDING)
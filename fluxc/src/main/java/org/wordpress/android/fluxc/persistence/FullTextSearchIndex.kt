@@ -0,0 +1,188 @@
+package org.wordpress.android.fluxc.persistence
+
+import android.database.sqlite.SQLiteDatabase
+import com.yarolegovich.wellsql.WellSql
+import com.yarolegovich.wellsql.core.Identifiable
+import org.wordpress.android.fluxc.persistence.WellSqlConfig.Companion.SQLITE_MAX_VARIABLE_NUMBER
+import java.nio.ByteBuffer
+import java.nio.ByteOrder
+import java.util.ArrayDeque
+import java.util.PriorityQueue
+import java.util.Queue
+import kotlin.math.ln
+
+/**
+ * An FTS4 index of text columns of a WellSql table, letting local searches look words up in the index instead of
+ * scanning the table with `LIKE '%query%'`.
+ *
+ * Triggers keep the index in sync with the inserts, updates and deletions of the table, whatever code writes them.
+ * The index is created by [WellSqlConfig] along with the tables, and restored after every migration, since dropping
+ * a table drops its triggers.
+ *
+ * @param columnWeights the indexed columns, with the weight of their matches in the ranking of the results
+ */
+class FullTextSearchIndex(
+    private val tableName: String,
+    private val columnWeights: Map<String, Double>
+) {
+    private val indexName = "${tableName}Fts"
+    private val columns = columnWeights.keys.toList()
+
+    /**
+     * Creates the index and its triggers if they don't exist yet, and fills the index if any of them was missing.
+     * Does nothing if the indexed table doesn't exist.
+     */
+    fun create(db: SQLiteDatabase) {
+        if (!exists(db, TYPE_TABLE, tableName)) return
+
+        val triggers = mapOf(
+                "${indexName}_insert" to "AFTER INSERT ON $tableName BEGIN ${insertRow("new")}; END",
+                "${indexName}_update" to "AFTER UPDATE OF $ID_COLUMN, ${columns.joinToString()} ON $tableName " +
+                        "BEGIN ${deleteRow("old")}; ${insertRow("new")}; END",
+                "${indexName}_delete" to "AFTER DELETE ON $tableName BEGIN ${deleteRow("old")}; END"
+        )
+        val isComplete = exists(db, TYPE_TABLE, indexName) && triggers.keys.all { exists(db, TYPE_TRIGGER, it) }
+        if (isComplete) return
+
+        db.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS $indexName USING fts4(${columns.joinToString()})")
+        triggers.forEach { (name, definition) -> db.execSQL("CREATE TRIGGER IF NOT EXISTS $name $definition") }
+        db.execSQL("DELETE FROM $indexName")
+        db.execSQL("INSERT INTO $indexName (docid, ${columns.joinToString()}) " +
+                "SELECT $ID_COLUMN, ${columns.joinToString()} FROM $tableName")
+    }
+
+    /**
+     * Returns the ids of the rows containing words starting with every word of [query], best matches first.
+     *
+     * Rows are ranked by the number of matches in each column, weighted by the column weight and by the rarity of
+     * the matched word across the table. FTS4 has no ranking function and Android can't register one, so the rows are
+     * scored while reading the matches, keeping only the best [limit] of them.
+     *
+     * @param filters values the other columns of the returned rows must be equal to
+     */
+    @JvmOverloads
+    fun search(query: String, filters: Map<String, Any> = emptyMap(), limit: Int? = null): List<Int> {
+        val matchQuery = toMatchQuery(query) ?: return emptyList()
+        if (limit != null && limit <= 0) return emptyList()
+
+        val selection = filters.keys.joinToString("") { " AND $tableName.$it = ?" }
+        val selectionArgs = arrayOf(matchQuery) + filters.values.map { toSqlArgument(it) }
+        // With a limit, the head of the queue is the worst of the best rows read so far
+        val scores: Queue<Pair<Int, Double>> =
+                if (limit != null) PriorityQueue(limit + 1, BEST_FIRST.reversed()) else ArrayDeque()
+        WellSql.giveMeReadableDb().rawQuery(
+                "SELECT $tableName.$ID_COLUMN, matchinfo($indexName, '$MATCHINFO_FORMAT') FROM $indexName " +
+                        "JOIN $tableName ON $tableName.$ID_COLUMN = $indexName.docid " +
+                        "WHERE $indexName MATCH ?$selection",
+                selectionArgs
+        ).use { cursor ->
+            while (cursor.moveToNext()) {
+                scores.add(cursor.getInt(0) to score(cursor.getBlob(1)))
+                if (limit != null && scores.size > limit) {
+                    scores.poll()
+                }
+            }
+        }
+
+        return scores.sortedWith(BEST_FIRST).map { it.first }
+    }
+
+    /**
+     * Returns the models of the rows returned by [search], in the same order.
+     */
+    @JvmOverloads
+    fun <T : Identifiable> searchModels(
+        modelClass: Class<T>,
+        query: String,
+        filters: Map<String, Any> = emptyMap(),
+        limit: Int? = null
+    ): List<T> {
+        val ids = search(query, filters, limit)
+        val positions = ids.withIndex().associate { it.value to it.index }
+        return ids.chunked(SQLITE_MAX_VARIABLE_NUMBER)
+                .flatMap { chunk ->
+                    WellSql.select(modelClass).where().isIn(ID_COLUMN, chunk).endWhere().asModel
+                }
+                .sortedBy { positions[it.id] }
+    }
+
+    private fun insertRow(row: String) = "INSERT OR REPLACE INTO $indexName (docid, ${columns.joinToString()}) " +
+            "VALUES ($row.$ID_COLUMN, ${columns.joinToString { "$row.$it" }})"
+
+    private fun deleteRow(row: String) = "DELETE FROM $indexName WHERE docid = $row.$ID_COLUMN"
+
+    /**
+     * Reads the 'pcnx' matchinfo: the numbers of phrases, columns and rows, then for each phrase and column the
+     * number of matches in the row, in all rows, and the number of rows having a match.
+     */
+    private fun score(matchInfo: ByteArray): Double {
+        val values = ByteBuffer.wrap(matchInfo).order(ByteOrder.nativeOrder()).asIntBuffer()
+        val phraseCount = values[0]
+        val columnCount = values[1]
+        val rowCount = values[2]
+        var score = 0.0
+        for (phrase in 0 until phraseCount) {
+            for (column in 0 until columnCount) {
+                val offset = MATCHINFO_HEADER_SIZE + (phrase * columnCount + column) * MATCHINFO_VALUES_PER_COLUMN
+                val rowHits = values[offset]
+                val rowsWithHits = values[offset + 2]
+                if (rowHits > 0) {
+                    val rarity = ln(1.0 + rowCount.toDouble() / rowsWithHits)
+                    score += columnWeights.getValue(columns[column]) * rowHits * rarity
+                }
+            }
+        }
+        return score
+    }
+
+    private fun exists(db: SQLiteDatabase, type: String, name: String): Boolean {
+        return db.rawQuery("SELECT 1 FROM sqlite_master WHERE type = ? AND name = ?", arrayOf(type, name)).use {
+            it.moveToFirst()
+        }
+    }
+
+    companion object {
+        private const val ID_COLUMN = "_id"
+        private const val TYPE_TABLE = "table"
+        private const val TYPE_TRIGGER = "trigger"
+        private const val MATCHINFO_FORMAT = "pcnx"
+        private const val MATCHINFO_HEADER_SIZE = 3
+        private const val MATCHINFO_VALUES_PER_COLUMN = 3
+        private const val TITLE_WEIGHT = 3.0
+
+        // Highest scores first, then the most recently inserted rows
+        private val BEST_FIRST = compareByDescending<Pair<Int, Double>> { it.second }.thenByDescending { it.first }
+
+        // Splits the query the way the default FTS tokenizer splits the text
+        private val WORD_SEPARATORS = Regex("[^\\p{L}\\p{N}]+")
+
+        @JvmField val POSTS = FullTextSearchIndex("PostModel", mapOf("TITLE" to TITLE_WEIGHT, "CONTENT" to 1.0))
+
+        @JvmField val MEDIA = FullTextSearchIndex(
+                "MediaModel",
+                mapOf("TITLE" to TITLE_WEIGHT, "CAPTION" to 1.0, "DESCRIPTION" to 1.0, "FILE_NAME" to 1.0)
+        )
+
+        @JvmField val COMMENTS = FullTextSearchIndex("CommentModel", mapOf("CONTENT" to 1.0, "AUTHOR_NAME" to 1.0))
+
+        @JvmField val PRODUCTS = FullTextSearchIndex(
+                "WCProductModel",
+                mapOf("NAME" to TITLE_WEIGHT, "SKU" to TITLE_WEIGHT, "SHORT_DESCRIPTION" to 1.0, "DESCRIPTION" to 1.0)
+        )
+
+        val ALL = listOf(POSTS, MEDIA, COMMENTS, PRODUCTS)
+
+        private fun toSqlArgument(value: Any) = when (value) {
+            is Boolean -> if (value) "1" else "0"
+            else -> value.toString()
+        }
+
+        /**
+         * Turns every word of the query into a prefix query, e.g. `red shirt` into `"red*" "shirt*"`.
+         */
+        private fun toMatchQuery(query: String): String? {
+            val words = query.split(WORD_SEPARATORS).filter { it.isNotEmpty() }
+            return if (words.isEmpty()) null else words.joinToString(" ") { "\"$it*\"" }
+        }
+    }
+}
@@ -40,6 +40,30 @@ class ListItemSqlUtils @Inject constructor() {
         }
     }
 
+    /**
+     * This function returns the remote item ids of the [ListItemModel] records for the given [listId], in the same
+     * order as [getListItems]. Only the ids are read, straight into a [LongArray], so no model or boxed id is created
+     * per item.
+     */
+    @Suppress("TooGenericExceptionCaught")
+    fun getListItemRemoteIds(listId: Int): LongArray {
+        return try {
+            WellSql.giveMeReadableDb().rawQuery(
+                    "SELECT ${ListItemModelTable.REMOTE_ITEM_ID} FROM ${ListItemModel::class.java.simpleName} " +
+                            "WHERE ${ListItemModelTable.LIST_ID} = ? ORDER BY ${ListItemModelTable.ID} ASC",
+                    arrayOf(listId.toString())
+            ).use { cursor ->
+                LongArray(cursor.count) { index ->
+                    cursor.moveToPosition(index)
+                    cursor.getLong(0)
+                }
+            }
+        } catch (e: Exception) {
+            AppLog.e(T.DB, "Error fetching item ids for listId: $listId", e)
+            LongArray(0)
+        }
+    }
+
     /**
      * This function returns the number of records a list has for the given [listId].
      */
@@ -18,6 +18,7 @@ import org.wordpress.android.fluxc.model.SiteModel;
 import org.wordpress.android.fluxc.utils.MimeType.Type;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class MediaSqlUtils {
@@ -151,6 +152,17 @@ public class MediaSqlUtils {
         return searchSiteMediaQuery(siteModel, searchTerm).getAsModel();
     }
 
+    /**
+     * Returns the media of the site having words starting with every word of the search term, best matches first.
+     */
+    @NonNull
+    public static List<MediaModel> searchSiteMediaByRelevance(
+            @NonNull SiteModel siteModel,
+            @NonNull String searchTerm) {
+        return FullTextSearchIndex.MEDIA.searchModels(MediaModel.class, searchTerm,
+                Collections.singletonMap(MediaModelTable.LOCAL_SITE_ID, siteModel.getId()));
+    }
+
     @NonNull
     public static List<MediaModel> searchSiteImages(
             @NonNull SiteModel siteModel,
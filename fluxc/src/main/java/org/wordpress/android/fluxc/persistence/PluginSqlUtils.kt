@@ -14,6 +14,9 @@ import org.wordpress.android.fluxc.model.plugin.WPOrgPluginModel
 import kotlin.math.max
 
 object PluginSqlUtils {
+    // SQLite doesn't limit the number of rows returned for a negative LIMIT
+    const val NO_LIMIT = -1
+
     @JvmStatic
     fun getSitePlugins(site: SiteModel): List<SitePluginModel> =
         WellSql.select(SitePluginModel::class.java)
@@ -120,39 +123,35 @@ object PluginSqlUtils {
         return if (result.isEmpty()) null else result.first()
     }
 
+    /**
+     * Returns the plugins of the directory, in the order of the directory, reading only the requested page of them.
+     * A plugin listed several times in the directory is returned once, at its first position.
+     *
+     * @param limit the maximum number of plugins to return, or [NO_LIMIT]
+     * @param offset the number of plugins to skip
+     */
     @JvmStatic
-    fun getWPOrgPluginsForDirectory(directoryType: PluginDirectoryType?): List<WPOrgPluginModel> {
-        val directoryModels = getPluginDirectoriesForType(directoryType)
-        if (directoryModels.isEmpty()) {
-            // No directories found, return an empty list
+    @JvmOverloads
+    fun getWPOrgPluginsForDirectory(
+        directoryType: PluginDirectoryType?,
+        limit: Int = NO_LIMIT,
+        offset: Int = 0
+    ): List<WPOrgPluginModel> {
+        if (directoryType == null) {
             return ArrayList()
         }
-        val slugList = ArrayList<String?>(directoryModels.size)
-        val orderMap = HashMap<String, Int>()
-        directoryModels.forEachIndexed { index, pluginDirectoryModel ->
-            val slug = pluginDirectoryModel.slug
-            slugList.add(slug)
-            orderMap[slug] = index
-        }
-
-        val batches = slugList.chunked(WellSqlConfig.SQLITE_MAX_VARIABLE_NUMBER)
-        val wpOrgPlugins = mutableListOf<WPOrgPluginModel>()
-        batches.forEach {
-            val batchQueryResult = WellSql.select(WPOrgPluginModel::class.java)
-                .where()
-                .isIn(WPOrgPluginModelTable.SLUG, it)
-                .endWhere()
-                .asModel
-            wpOrgPlugins.addAll(batchQueryResult)
-        }
-        // We need to manually order the list according to the directory models since SQLite will
-        // return mixed results
-        wpOrgPlugins.sortWith { plugin1, plugin2 ->
-            val order1 = orderMap[plugin1.slug] ?: 0
-            val order2 = orderMap[plugin2.slug] ?: 0
-            order1.compareTo(order2)
-        }
-        return wpOrgPlugins
+        val plugins = WPOrgPluginModel::class.java.simpleName
+        val directories = PluginDirectoryModel::class.java.simpleName
+        return WellSql.giveMeReadableDb().rawQuery(
+                "SELECT $plugins.* FROM $directories " +
+                        "JOIN $plugins ON $plugins.${WPOrgPluginModelTable.SLUG} = " +
+                        "$directories.${PluginDirectoryModelTable.SLUG} " +
+                        "WHERE $directories.${PluginDirectoryModelTable.DIRECTORY_TYPE} = ? " +
+                        "GROUP BY $plugins.${WPOrgPluginModelTable.ID} " +
+                        "ORDER BY MIN($directories.${PluginDirectoryModelTable.ID}) " +
+                        "LIMIT ? OFFSET ?",
+                arrayOf(directoryType.toString(), limit.toString(), offset.toString())
+        ).toModels(WPOrgPluginModel::class.java)
     }
 
     @JvmStatic
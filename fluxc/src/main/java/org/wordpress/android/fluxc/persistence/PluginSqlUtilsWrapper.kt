@@ -37,8 +37,12 @@ class PluginSqlUtilsWrapper
         return PluginSqlUtils.getWPOrgPluginBySlug(slug)
     }
 
-    fun getWPOrgPluginsForDirectory(directoryType: PluginDirectoryType?): List<WPOrgPluginModel?> {
-        return PluginSqlUtils.getWPOrgPluginsForDirectory(directoryType)
+    fun getWPOrgPluginsForDirectory(
+        directoryType: PluginDirectoryType?,
+        limit: Int = PluginSqlUtils.NO_LIMIT,
+        offset: Int = 0
+    ): List<WPOrgPluginModel?> {
+        return PluginSqlUtils.getWPOrgPluginsForDirectory(directoryType, limit, offset)
     }
 
     fun insertOrUpdateWPOrgPlugin(wpOrgPluginModel: WPOrgPluginModel?): Int {
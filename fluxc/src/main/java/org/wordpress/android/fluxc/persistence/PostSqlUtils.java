@@ -31,8 +31,10 @@ import org.wordpress.android.fluxc.network.rest.wpcom.post.PostRemoteAutoSaveMod
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
 
 import javax.inject.Inject;
 
@@ -110,19 +112,55 @@ public class PostSqlUtils {
         return insertOrUpdatePost(post, true);
     }
 
+    /**
+     * Saves the posts in a single transaction, overwriting their local changes.
+     *
+     * @return the number of rows affected by each post, in the order of {@code posts}
+     */
+    public synchronized int[] insertOrUpdatePostsOverwritingLocalChanges(@NonNull List<PostModel> posts) {
+        int[] rowsAffected = new int[posts.size()];
+        SQLiteDatabase db = WellSql.giveMeWritableDb();
+        db.beginTransaction();
+        try {
+            for (int i = 0; i < posts.size(); i++) {
+                rowsAffected[i] = insertOrUpdatePost(posts.get(i), true);
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        return rowsAffected;
+    }
+
     public List<PostModel> getPostsForSite(SiteModel site, boolean getPages) {
+        return queryPostsForSite(site, getPages, false);
+    }
+
+    /**
+     * Returns the posts of the site, only reading the given {@link PostModelTable} columns. The other fields of the
+     * returned posts are left to their default values.
+     * <p>
+     * List-style callers should use this to avoid reading large columns such as {@link PostModelTable#CONTENT}.
+     */
+    public List<PostModel> getPostsForSite(SiteModel site, boolean getPages, @NonNull String... columns) {
+        return queryPostsForSite(site, getPages, false, columns);
+    }
+
+    /**
+     * Returns the posts or pages of the site having words starting with every word of the query, best matches first.
+     */
+    public List<PostModel> searchPostsForSite(@NonNull SiteModel site, boolean getPages, @NonNull String query) {
+        Map<String, Object> filters = new HashMap<>();
+        filters.put(PostModelTable.LOCAL_SITE_ID, site.getId());
+        filters.put(PostModelTable.IS_PAGE, getPages);
+        return FullTextSearchIndex.POSTS.searchModels(PostModel.class, query, filters);
+    }
+
+    public int getPostsCountForSite(SiteModel site, boolean getPages) {
         if (site == null) {
-            return Collections.emptyList();
+            return 0;
         }
-
-        return WellSql.select(PostModel.class)
-                .where().beginGroup()
-                .equals(PostModelTable.LOCAL_SITE_ID, site.getId())
-                .equals(PostModelTable.IS_PAGE, getPages)
-                .endGroup().endWhere()
-                .orderBy(PostModelTable.IS_LOCAL_DRAFT, SelectQuery.ORDER_DESCENDING)
-                .orderBy(PostModelTable.DATE_CREATED, SelectQuery.ORDER_DESCENDING)
-                .getAsModel();
+        return (int) getPostsForSiteQuery(site, getPages, false).count();
     }
 
     public List<PostModel> getPostsForSiteWithFormat(SiteModel site, List<String> postFormat, boolean getPages) {
@@ -142,21 +180,59 @@ public class PostSqlUtils {
     }
 
     public List<PostModel> getUploadedPostsForSite(SiteModel site, boolean getPages) {
+        return queryPostsForSite(site, getPages, true);
+    }
+
+    /**
+     * Returns the uploaded posts of the site, only reading the given {@link PostModelTable} columns.
+     *
+     * @see #getPostsForSite(SiteModel, boolean, String...)
+     */
+    public List<PostModel> getUploadedPostsForSite(SiteModel site, boolean getPages, @NonNull String... columns) {
+        return queryPostsForSite(site, getPages, true, columns);
+    }
+
+    public int getUploadedPostsCountForSite(SiteModel site, boolean getPages) {
+        if (site == null) {
+            return 0;
+        }
+        return (int) getPostsForSiteQuery(site, getPages, true).count();
+    }
+
+    private List<PostModel> queryPostsForSite(SiteModel site, boolean getPages, boolean uploadedOnly,
+                                              @NonNull String... columns) {
         if (site == null) {
             return Collections.emptyList();
         }
 
-        return WellSql.select(PostModel.class)
-                .where().beginGroup()
-                .equals(PostModelTable.LOCAL_SITE_ID, site.getId())
-                .equals(PostModelTable.IS_PAGE, getPages)
-                .equals(PostModelTable.IS_LOCAL_DRAFT, false)
-                .endGroup().endWhere()
+        SelectQuery<PostModel> query = WellSql.select(PostModel.class);
+        if (columns.length > 0) {
+            query = query.columns(columns);
+        }
+        return getPostsForSiteQuery(query, site, getPages, uploadedOnly)
                 .orderBy(PostModelTable.IS_LOCAL_DRAFT, SelectQuery.ORDER_DESCENDING)
                 .orderBy(PostModelTable.DATE_CREATED, SelectQuery.ORDER_DESCENDING)
                 .getAsModel();
     }
 
+    private SelectQuery<PostModel> getPostsForSiteQuery(@NonNull SiteModel site, boolean getPages,
+                                                        boolean uploadedOnly) {
+        return getPostsForSiteQuery(WellSql.select(PostModel.class), site, getPages, uploadedOnly);
+    }
+
+    private SelectQuery<PostModel> getPostsForSiteQuery(@NonNull SelectQuery<PostModel> query,
+                                                        @NonNull SiteModel site, boolean getPages,
+                                                        boolean uploadedOnly) {
+        ConditionClauseBuilder<SelectQuery<PostModel>> clauseBuilder = query
+                .where().beginGroup()
+                .equals(PostModelTable.LOCAL_SITE_ID, site.getId())
+                .equals(PostModelTable.IS_PAGE, getPages);
+        if (uploadedOnly) {
+            clauseBuilder = clauseBuilder.equals(PostModelTable.IS_LOCAL_DRAFT, false);
+        }
+        return clauseBuilder.endGroup().endWhere();
+    }
+
     public List<PostModel> getLocalDrafts(@NonNull Integer localSiteId, boolean isPage) {
         return WellSql.select(PostModel.class)
                       .where()
@@ -3,6 +3,7 @@ package org.wordpress.android.fluxc.persistence
 import android.content.ContentValues
 import android.database.Cursor
 import android.database.sqlite.SQLiteConstraintException
+import android.database.sqlite.SQLiteDatabase
 import com.wellsql.generated.AccountModelTable
 import com.wellsql.generated.GutenbergLayoutCategoriesModelTable
 import com.wellsql.generated.GutenbergLayoutCategoryModelTable
@@ -27,6 +28,7 @@ import org.wordpress.android.fluxc.network.rest.wpcom.site.GutenbergLayoutCatego
 import org.wordpress.android.util.AppLog
 import org.wordpress.android.util.AppLog.T.DB
 import org.wordpress.android.util.UrlUtils
+import java.util.concurrent.atomic.AtomicInteger
 import javax.inject.Inject
 import javax.inject.Singleton
 
@@ -37,32 +39,26 @@ class SiteSqlUtils
         private const val serialVersionUID = -224883903136726226L
     }
 
-    fun getSiteWithLocalId(id: LocalId): SiteModel? = WellSql.select(SiteModel::class.java)
-            .where()
-            .equals(SiteModelTable.ID, id.value)
-            .endWhere()
-            .asModel
-            .firstOrNull()
-
-    fun getSitesWithLocalId(id: Int): List<SiteModel> {
-        return WellSql.select(SiteModel::class.java)
-                .where().equals(SiteModelTable.ID, id).endWhere().asModel
+    companion object {
+        /**
+         * Drops the in-memory copy of the sites, to be called when the SiteModel table is written without
+         * [SiteSqlUtils], e.g. when the tables are recreated.
+         */
+        @JvmStatic
+        fun invalidateSiteCache() {
+            SiteCache.invalidate()
+        }
     }
 
-    fun getSitesWithRemoteId(id: Long): List<SiteModel> {
-        return WellSql.select(SiteModel::class.java)
-                .where().equals(SiteModelTable.SITE_ID, id).endWhere().asModel
-    }
+    fun getSiteWithLocalId(id: LocalId): SiteModel? = SiteCache.getSite(id.value)
 
-    fun getWpComSites(): List<SiteModel> {
-        return WellSql.select(SiteModel::class.java)
-                .where().equals(SiteModelTable.IS_WPCOM, true).endWhere().asModel
-    }
+    fun getSitesWithLocalId(id: Int): List<SiteModel> = listOfNotNull(SiteCache.getSite(id))
 
-    fun getWpComAtomicSites(): List<SiteModel> {
-        return WellSql.select(SiteModel::class.java)
-                .where().equals(SiteModelTable.IS_WPCOM_ATOMIC, true).endWhere().asModel
-    }
+    fun getSitesWithRemoteId(id: Long): List<SiteModel> = SiteCache.getSites { it.siteId == id }
+
+    fun getWpComSites(): List<SiteModel> = SiteCache.getSites { it.isWPCom }
+
+    fun getWpComAtomicSites(): List<SiteModel> = SiteCache.getSites { it.isWPComAtomic }
 
     fun getSitesWith(field: String?, value: Boolean): SelectQuery<SiteModel> {
         return WellSql.select(SiteModel::class.java)
@@ -86,15 +82,16 @@ class SiteSqlUtils
                 .endWhere().asModel
     }
 
-    fun getSites(): List<SiteModel> = WellSql.select(SiteModel::class.java).asModel
+    fun getSites(): List<SiteModel> = SiteCache.getSites { true }
 
-    fun getVisibleSites(): List<SiteModel> {
-        return WellSql.select(SiteModel::class.java)
-                .where()
-                .equals(SiteModelTable.IS_VISIBLE, true)
-                .endWhere()
-                .asModel
-    }
+    fun getVisibleSites(): List<SiteModel> = SiteCache.getSites { it.isVisible }
+
+    /**
+     * Returns the number of sites matching the given [filter], without building any [SiteModel].
+     *
+     * The filter is given the cached sites, which is why it's kept internal: the filters of FluxC only read them.
+     */
+    internal fun getSitesCount(filter: (SiteModel) -> Boolean = { true }): Int = SiteCache.count(filter)
 
     /**
      * Inserts the given SiteModel into the DB, or updates an existing entry where sites match.
@@ -204,12 +201,13 @@ class SiteSqlUtils
             // No site with this local ID, REMOTE_ID + URL, or XMLRPC URL, then insert it
             AppLog.d(DB, "Inserting site: " + site.url)
             WellSql.insert(site).asSingleTransaction(true).execute()
+            SiteCache.invalidate()
             1
         } else {
             // Update old site
             AppLog.d(DB, "Updating site: " + site.url)
             val oldId = siteResult[0].id
-            try {
+            val rowsAffected = try {
                 WellSql.update(SiteModel::class.java).whereId(oldId)
                         .put(site, UpdateAllExceptId(SiteModel::class.java)).execute()
             } catch (e: SQLiteConstraintException) {
@@ -221,6 +219,8 @@ class SiteSqlUtils
                 )
                 throw DuplicateSiteException
             }
+            SiteCache.invalidate()
+            rowsAffected
         }
     }
 
@@ -230,10 +230,11 @@ class SiteSqlUtils
         } else WellSql.delete(SiteModel::class.java)
                 .where().equals(SiteModelTable.ID, site.id).endWhere()
                 .execute()
+                .also { SiteCache.invalidate() }
     }
 
     fun deleteAllSites(): Int {
-        return WellSql.delete(SiteModel::class.java).execute()
+        return WellSql.delete(SiteModel::class.java).execute().also { SiteCache.invalidate() }
     }
 
     fun setSiteVisibility(site: SiteModel?, visible: Boolean): Int {
@@ -247,6 +248,7 @@ class SiteSqlUtils
                     cv.put(SiteModelTable.IS_VISIBLE, item)
                     cv
                 }).execute()
+                .also { SiteCache.invalidate() }
     }
 
     val wPComSites: SelectQuery<SiteModel>
@@ -462,29 +464,14 @@ class SiteSqlUtils
     }
 
     fun isWPComSiteVisibleByLocalId(id: Int): Boolean {
-        return WellSql.select(SiteModel::class.java)
-                .where().beginGroup()
-                .equals(SiteModelTable.ID, id)
-                .equals(SiteModelTable.IS_WPCOM, true)
-                .equals(SiteModelTable.IS_VISIBLE, true)
-                .endGroup().endWhere()
-                .exists()
+        return SiteCache.count { it.id == id && it.isWPCom && it.isVisible } > 0
     }
 
     /**
      * Given a (remote) site id, returns the corresponding (local) id.
      */
     fun getLocalIdForRemoteSiteId(siteId: Long): Int {
-        val sites = WellSql.select(SiteModel::class.java)
-                .where().beginGroup()
-                .equals(SiteModelTable.SITE_ID, siteId)
-                .or()
-                .equals(SiteModelTable.SELF_HOSTED_SITE_ID, siteId)
-                .endGroup().endWhere()
-                .getAsModel(this::toSiteModel)
-        return if (sites.size > 0) {
-            sites[0].id
-        } else 0
+        return SiteCache.getLocalId { it.siteId == siteId || it.selfHostedSiteId == siteId } ?: 0
     }
 
     private fun toSiteModel(cursor: Cursor): SiteModel {
@@ -513,27 +500,76 @@ class SiteSqlUtils
      * sites.
      */
     fun getSiteIdForLocalId(id: Int): Long {
-        val result = WellSql.select(SiteModel::class.java)
-                .where().beginGroup()
-                .equals(SiteModelTable.ID, id)
-                .endGroup().endWhere()
-                .getAsModel { cursor ->
-                    val siteModel = SiteModel()
-                    siteModel.siteId = cursor.getInt(
-                            cursor.getColumnIndexOrThrow(SiteModelTable.SITE_ID)
-                    ).toLong()
-                    siteModel.selfHostedSiteId = cursor.getLong(
-                            cursor.getColumnIndexOrThrow(SiteModelTable.SELF_HOSTED_SITE_ID)
-                    )
-                    siteModel
-                }
-        if (result.isEmpty()) {
-            return 0
+        return SiteCache.getSiteId { it.id == id } ?: 0
+    }
+}
+
+/**
+ * In-memory copy of the SiteModel table, shared by all the instances of [SiteSqlUtils] and dropped by every write
+ * to the table, so the sites are read from the database once instead of on every lookup.
+ *
+ * The rows are kept as read from the database, and every lookup converts them to new [SiteModel]s, since callers
+ * are free to modify the sites they get. The cached [SiteModel]s are only used to filter the rows.
+ */
+private object SiteCache {
+    private class CachedSites(
+        val database: SQLiteDatabase,
+        val sites: List<SiteModel>,
+        val rows: List<Map<String, Any?>>
+    )
+
+    // Guards the publication of the cache against invalidations, the sites are read outside of it
+    private val lock = Any()
+    private val generation = AtomicInteger()
+    @Volatile private var cachedSites: CachedSites? = null
+
+    fun invalidate() {
+        synchronized(lock) {
+            generation.incrementAndGet()
+            cachedSites = null
         }
-        return if (result[0].siteId > 0) {
-            result[0].siteId
-        } else {
-            result[0].selfHostedSiteId
+    }
+
+    fun getSite(localId: Int): SiteModel? = getSites { it.id == localId }.firstOrNull()
+
+    fun getSites(filter: (SiteModel) -> Boolean): List<SiteModel> {
+        val cache = load()
+        val mapper = WellSql.mapperFor(SiteModel::class.java)
+        return cache.sites.indices.filter { filter(cache.sites[it]) }.map { mapper.convert(cache.rows[it]) }
+    }
+
+    fun getLocalId(filter: (SiteModel) -> Boolean): Int? = load().sites.firstOrNull(filter)?.id
+
+    fun getSiteId(filter: (SiteModel) -> Boolean): Long? = load().sites.firstOrNull(filter)?.let {
+        if (it.siteId > 0) it.siteId else it.selfHostedSiteId
+    }
+
+    fun count(filter: (SiteModel) -> Boolean): Int = load().sites.count(filter)
+
+    private fun load(): CachedSites {
+        val database = WellSql.giveMeReadableDb()
+        cachedSites?.takeIf { it.database === database }?.let { return it }
+
+        val loadedGeneration = generation.get()
+        val rows = WellSql.select(SiteModel::class.java)
+                .orderBy(SiteModelTable.ID, SelectQuery.ORDER_ASCENDING)
+                .asCursor
+                .use { cursor ->
+                    val rows = mutableListOf<Map<String, Any?>>()
+                    while (cursor.moveToNext()) {
+                        rows.add(cursor.toRow())
+                    }
+                    rows
+                }
+        val mapper = WellSql.mapperFor(SiteModel::class.java)
+        return CachedSites(database, rows.map { mapper.convert(it) }, rows).also {
+            // Don't keep rows read while the table was being written. Checking the generation and publishing the
+            // cache can't be split by an invalidation, which would leave the rows read before the write cached.
+            synchronized(lock) {
+                if (generation.get() == loadedGeneration) {
+                    cachedSites = it
+                }
+            }
         }
     }
 }
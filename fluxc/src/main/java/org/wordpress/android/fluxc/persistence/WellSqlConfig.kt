@@ -41,7 +41,7 @@ open class WellSqlConfig : DefaultWellConfig {
     annotation class AddOn
 
     override fun getDbVersion(): Int {
-        return 205
+        return 208
     }
 
     override fun getDbName(): String {
@@ -50,6 +50,7 @@ open class WellSqlConfig : DefaultWellConfig {
 
     override fun onCreate(db: SQLiteDatabase, helper: WellTableManager) {
         mTables.forEach { table -> helper.createTable(table) }
+        createFullTextSearchIndexes(db)
     }
 
     @Suppress("CheckStyle", "LongMethod", "ComplexMethod", "MagicNumber")
@@ -2113,8 +2114,26 @@ open class WellSqlConfig : DefaultWellConfig {
 
                     db.execSQL("ALTER TABLE WCProductModel_temp RENAME TO WCProductModel")
                 }
+
+                205 -> migrateAddOn(ADDON_WOOCOMMERCE, version) {
+                    db.execSQL("ALTER TABLE WCProductModel ADD NAME_SORT_KEY TEXT")
+                    // LOWER() only folds ASCII letters, the next sync of the products sets their exact sort key
+                    db.execSQL("UPDATE WCProductModel SET NAME_SORT_KEY = LOWER(NAME)")
+                }
+
+                206 -> migrate(version) {
+                    // The full-text search indexes are created below, once all the tables are migrated
+                }
+
+                207 -> migrate(version) {
+                    db.execSQL("ALTER TABLE EncryptedLogModel ADD RETRY_COUNT INTEGER NOT NULL DEFAULT 0")
+                    db.execSQL("ALTER TABLE EncryptedLogModel ADD NEXT_ATTEMPT_TIME INTEGER NOT NULL DEFAULT 0")
+                }
             }
         }
+        // Restores the triggers of the tables dropped and recreated by the migrations
+        createFullTextSearchIndexes(db)
+        SiteSqlUtils.invalidateSiteCache()
         db.setTransactionSuccessful()
         db.endTransaction()
     }
@@ -2137,6 +2156,7 @@ open class WellSqlConfig : DefaultWellConfig {
 
             AppLog.d(T.DB, "Database downgraded from version $oldVersion to $newVersion")
             helper?.let { reset(it) }
+            db?.let { createFullTextSearchIndexes(it) }
         } else {
             super.onDowngrade(db, helper, oldVersion, newVersion)
         }
@@ -2166,6 +2186,8 @@ open class WellSqlConfig : DefaultWellConfig {
             db.execSQL("DROP TABLE IF EXISTS ${table.tableName}")
             db.execSQL(table.createStatement())
         }
+        createFullTextSearchIndexes(db)
+        SiteSqlUtils.invalidateSiteCache()
     }
 
     /**
@@ -2180,6 +2202,11 @@ open class WellSqlConfig : DefaultWellConfig {
             AppLog.d(T.DB, "creating table " + table.simpleName)
             helper.createTable(table)
         }
+        SiteSqlUtils.invalidateSiteCache()
+    }
+
+    protected fun createFullTextSearchIndexes(db: SQLiteDatabase) {
+        FullTextSearchIndex.ALL.forEach { it.create(db) }
     }
 
     private fun migrate(version: Int, script: () -> Unit) {
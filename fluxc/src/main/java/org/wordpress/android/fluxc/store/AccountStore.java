@@ -16,6 +16,7 @@ import org.wordpress.android.fluxc.Dispatcher;
 import org.wordpress.android.fluxc.Payload;
 import org.wordpress.android.fluxc.action.AccountAction;
 import org.wordpress.android.fluxc.action.AuthenticationAction;
+import org.wordpress.android.fluxc.annotations.ActionHandler;
 import org.wordpress.android.fluxc.annotations.action.Action;
 import org.wordpress.android.fluxc.annotations.action.IAction;
 import org.wordpress.android.fluxc.model.AccountModel;
@@ -61,6 +62,7 @@ import static org.wordpress.android.fluxc.network.xmlrpc.XMLRPCRequest.XmlRpcErr
  * In-memory based and persisted in SQLite.
  */
 @Singleton
+@ActionHandler(value = {AccountAction.class, AuthenticationAction.class})
 public class AccountStore extends Store {
     // Payloads
     public static class AuthenticationRequestPayload extends Payload<BaseNetworkError> {
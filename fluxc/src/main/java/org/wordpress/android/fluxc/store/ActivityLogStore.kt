@@ -14,6 +14,7 @@ import org.wordpress.android.fluxc.action.ActivityLogAction.FETCH_ACTIVITY_TYPES
 import org.wordpress.android.fluxc.action.ActivityLogAction.FETCH_BACKUP_DOWNLOAD_STATE
 import org.wordpress.android.fluxc.action.ActivityLogAction.FETCH_REWIND_STATE
 import org.wordpress.android.fluxc.action.ActivityLogAction.REWIND
+import org.wordpress.android.fluxc.annotations.ActionHandler
 import org.wordpress.android.fluxc.annotations.action.Action
 import org.wordpress.android.fluxc.model.SiteModel
 import org.wordpress.android.fluxc.model.activity.ActivityLogModel
@@ -32,6 +33,7 @@ import javax.inject.Singleton
 private const val ACTIVITY_LOG_PAGE_SIZE = 100
 
 @Singleton
+@ActionHandler(ActivityLogAction::class)
 class ActivityLogStore
 @Inject constructor(
     private val activityLogRestClient: ActivityLogRestClient,
@@ -185,7 +187,8 @@ class ActivityLogStore
                 rowsAffected += activityLogSqlUtils.insertOrUpdateActivities(payload.site, payload.activityLogModels)
             }
             val canLoadMore = payload.activityLogModels.isNotEmpty() &&
-                    (payload.offset + payload.number) < payload.totalItems
+                    (payload.offset + payload.number) < payload.totalItems &&
+                    !activityLogSqlUtils.isRetentionLimitReached(payload.site, payload.activityLogModels)
             OnActivityLogFetched(rowsAffected, canLoadMore, action)
         }
     }
@@ -13,6 +13,7 @@ import org.greenrobot.eventbus.ThreadMode;
 import org.wordpress.android.fluxc.Dispatcher;
 import org.wordpress.android.fluxc.Payload;
 import org.wordpress.android.fluxc.action.CommentAction;
+import org.wordpress.android.fluxc.annotations.ActionHandler;
 import org.wordpress.android.fluxc.annotations.action.Action;
 import org.wordpress.android.fluxc.annotations.action.IAction;
 import org.wordpress.android.fluxc.model.CommentModel;
@@ -34,6 +35,7 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 
 @Singleton
+@ActionHandler(CommentAction.class)
 public class CommentStore extends Store {
     private final CommentRestClient mCommentRestClient;
     private final CommentXMLRPCClient mCommentXMLRPCClient;
@@ -265,6 +267,14 @@ public class CommentStore extends Store {
         return CommentSqlUtils.getCommentsForSite(site, order, limit, statuses);
     }
 
+    /**
+     * Returns the comments of the site having words starting with every word of the query, best matches first.
+     */
+    @NonNull
+    public List<CommentModel> searchCommentsForSite(@NonNull SiteModel site, @NonNull String query) {
+        return CommentSqlUtils.searchCommentsForSite(site, query);
+    }
+
     public int getNumberOfCommentsForSite(
             @NonNull SiteModel site,
             @NonNull CommentStatus... statuses) {
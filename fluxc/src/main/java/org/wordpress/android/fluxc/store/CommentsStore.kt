@@ -19,6 +19,7 @@ import org.wordpress.android.fluxc.action.CommentsAction.LIKE_COMMENT
 import org.wordpress.android.fluxc.action.CommentsAction.PUSHED_COMMENT
 import org.wordpress.android.fluxc.action.CommentsAction.PUSH_COMMENT
 import org.wordpress.android.fluxc.action.CommentsAction.UPDATE_COMMENT
+import org.wordpress.android.fluxc.annotations.ActionHandler
 import org.wordpress.android.fluxc.annotations.action.Action
 import org.wordpress.android.fluxc.model.CommentModel
 import org.wordpress.android.fluxc.model.CommentStatus
@@ -56,6 +57,7 @@ import javax.inject.Singleton
 
 @Suppress("LargeClass")
 @Singleton
+@ActionHandler(CommentsAction::class)
 class CommentsStore @Inject constructor(
     private val commentsRestClient: CommentsRestClient,
     private val commentsXMLRPCClient: CommentsXMLRPCClient,
@@ -7,6 +7,7 @@ import org.wordpress.android.fluxc.Dispatcher
 import org.wordpress.android.fluxc.Payload
 import org.wordpress.android.fluxc.action.EditorThemeAction
 import org.wordpress.android.fluxc.action.EditorThemeAction.FETCH_EDITOR_THEME
+import org.wordpress.android.fluxc.annotations.ActionHandler
 import org.wordpress.android.fluxc.annotations.action.Action
 import org.wordpress.android.fluxc.model.BlockEditorSettings
 import org.wordpress.android.fluxc.model.EditorTheme
@@ -29,6 +30,7 @@ private const val EDITOR_SETTINGS_REQUEST_PATH = "wp-block-editor/v1/settings?co
 private const val EDITOR_SETTINGS_WP_VERSION = "5.8"
 
 @Singleton
+@ActionHandler(EditorThemeAction::class)
 class EditorThemeStore
 @Inject constructor(
     private val reactNativeStore: ReactNativeStore,
@@ -1,6 +1,9 @@
 package org.wordpress.android.fluxc.store
 
+import kotlinx.coroutines.Job
 import kotlinx.coroutines.delay
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
 import org.greenrobot.eventbus.Subscribe
 import org.greenrobot.eventbus.ThreadMode
 import org.wordpress.android.fluxc.Dispatcher
@@ -8,12 +11,14 @@ import org.wordpress.android.fluxc.Payload
 import org.wordpress.android.fluxc.action.EncryptedLogAction
 import org.wordpress.android.fluxc.action.EncryptedLogAction.RESET_UPLOAD_STATES
 import org.wordpress.android.fluxc.action.EncryptedLogAction.UPLOAD_LOG
+import org.wordpress.android.fluxc.annotations.ActionHandler
 import org.wordpress.android.fluxc.annotations.action.Action
 import org.wordpress.android.fluxc.model.encryptedlogging.EncryptedLog
 import org.wordpress.android.fluxc.model.encryptedlogging.EncryptedLogUploadState.FAILED
 import org.wordpress.android.fluxc.model.encryptedlogging.EncryptedLogUploadState.UPLOADING
 import org.wordpress.android.fluxc.model.encryptedlogging.LogEncrypter
 import org.wordpress.android.fluxc.network.BaseRequest.BaseNetworkError
+import org.wordpress.android.fluxc.network.EncryptedLogUploadRequestBody
 import org.wordpress.android.fluxc.network.rest.wpcom.encryptedlog.EncryptedLogRestClient
 import org.wordpress.android.fluxc.network.rest.wpcom.encryptedlog.UploadEncryptedLogResult.LogUploadFailed
 import org.wordpress.android.fluxc.network.rest.wpcom.encryptedlog.UploadEncryptedLogResult.LogUploaded
@@ -38,6 +43,7 @@ import java.io.File
 import java.util.Date
 import javax.inject.Inject
 import javax.inject.Singleton
+import kotlin.random.Random
 
 /**
  * Depending on the error type, we'll keep a record of the earliest date we can try another encrypted log upload.
@@ -46,15 +52,18 @@ import javax.inject.Singleton
  * an hour.
  */
 private const val ENCRYPTED_LOG_UPLOAD_UNAVAILABLE_UNTIL_DATE = "ENCRYPTED_LOG_UPLOAD_UNAVAILABLE_UNTIL_DATE_PREF_KEY"
-private const val UPLOAD_NEXT_DELAY = 3000L // 3 seconds
+private const val MAX_CONCURRENT_UPLOADS = 3
 private const val TOO_MANY_REQUESTS_ERROR_DELAY = 60 * 60 * 1000L // 1 hour
 private const val REGULAR_UPLOAD_FAILURE_DELAY = 60 * 1000L // 1 minute
+private const val MAX_UPLOAD_FAILURE_DELAY = 60 * 60 * 1000L // 1 hour
+private const val MAX_BACKOFF_EXPONENT = 6 // Doubling the delay more often would exceed the maximum delay anyway
 private const val MAX_RETRY_COUNT = 3
 
 private const val HTTP_STATUS_CODE_500 = 500
 private const val HTTP_STATUS_CODE_599 = 599
 
 @Singleton
+@ActionHandler(EncryptedLogAction::class)
 class EncryptedLogStore @Inject constructor(
     private val encryptedLogRestClient: EncryptedLogRestClient,
     private val encryptedLogSqlUtils: EncryptedLogSqlUtils,
@@ -63,6 +72,11 @@ class EncryptedLogStore @Inject constructor(
     private val preferenceUtils: PreferenceUtilsWrapper,
     dispatcher: Dispatcher
 ) : Store(dispatcher) {
+    private val uploadMutex = Mutex()
+    private val uploadsInProgress = mutableSetOf<String>()
+    private var scheduledUpload: Job? = null
+    private var scheduledUploadDate: Date? = null
+
     override fun onRegister() {
         AppLog.d(API, this.javaClass.name + ": onRegister")
     }
@@ -124,20 +138,53 @@ class EncryptedLogStore @Inject constructor(
         })
     }
 
-    private suspend fun uploadNextWithDelay(delay: Long) {
-        addUploadDelay(delay)
-        // Add a few seconds buffer to avoid possible millisecond comparison issues
-        delay(delay + UPLOAD_NEXT_DELAY)
-        uploadNext()
+    /**
+     * Starts uploading the logs whose next attempt is due, up to [MAX_CONCURRENT_UPLOADS] at a time, and schedules
+     * another call for the earliest next attempt of the other logs. Each upload calls it again once it's done.
+     */
+    private suspend fun uploadNext() {
+        uploadMutex.withLock {
+            val now = Date()
+            val unavailableUntil = getUploadUnavailableUntilDate()
+            if (unavailableUntil.after(now)) {
+                scheduleUploadNext(unavailableUntil)
+                return
+            }
+            encryptedLogSqlUtils.getEncryptedLogsDueForUpload(now)
+                    .filterNot { uploadsInProgress.contains(it.uuid) }
+                    .take(MAX_CONCURRENT_UPLOADS - uploadsInProgress.size)
+                    .forEach { startUpload(it) }
+            encryptedLogSqlUtils.getNextUploadAttemptDate(after = now)?.let { scheduleUploadNext(it) }
+        }
     }
 
-    private suspend fun uploadNext() {
-        if (!isUploadAvailable()) {
+    private fun startUpload(encryptedLog: EncryptedLog) {
+        uploadsInProgress.add(encryptedLog.uuid)
+        coroutineEngine.launch(API, this, "EncryptedLogStore: Uploading ${encryptedLog.uuid}") {
+            try {
+                uploadEncryptedLog(encryptedLog)
+            } finally {
+                uploadMutex.withLock { uploadsInProgress.remove(encryptedLog.uuid) }
+            }
+            uploadNext()
+        }
+    }
+
+    /**
+     * Schedules a call to [uploadNext] at the given [date], unless one is already scheduled before it.
+     */
+    private fun scheduleUploadNext(date: Date) {
+        val now = Date()
+        val scheduledDate = scheduledUploadDate
+        if (scheduledUpload?.isActive == true && scheduledDate != null && scheduledDate.after(now) &&
+                !scheduledDate.after(date)) {
             return
         }
-        // We want to upload a single file at a time
-        encryptedLogSqlUtils.getEncryptedLogsForUpload().firstOrNull()?.let {
-            uploadEncryptedLog(it)
+        scheduledUpload?.cancel()
+        scheduledUploadDate = date
+        scheduledUpload = coroutineEngine.launch(API, this, "EncryptedLogStore: Scheduling the next upload") {
+            delay(date.time - now.time)
+            uploadNext()
         }
     }
 
@@ -146,20 +193,20 @@ class EncryptedLogStore @Inject constructor(
         // If the log file doesn't exist, fail immediately and try the next log file
         if (!isValidFile(encryptedLog.file)) {
             handleFailedUpload(encryptedLog, MissingFile)
-            uploadNext()
             return
         }
         try {
-            val encryptedText = logEncrypter.encrypt(text = encryptedLog.file.readText(), uuid = encryptedLog.uuid)
+            // The log is encrypted while it's being uploaded, without reading the whole file in memory
+            val requestBody = EncryptedLogUploadRequestBody(encryptedLog.file, encryptedLog.uuid, logEncrypter)
 
             // Update the upload state of the log
             encryptedLog.copy(uploadState = UPLOADING).let {
                 encryptedLogSqlUtils.insertOrUpdateEncryptedLog(it)
             }
 
-            when (val result = encryptedLogRestClient.uploadLog(encryptedLog.uuid, encryptedText)) {
+            when (val result = encryptedLogRestClient.uploadLog(encryptedLog.uuid, requestBody)) {
                 is LogUploaded -> handleSuccessfulUpload(encryptedLog)
-                is LogUploadFailed -> handleFailedUpload(encryptedLog, result.error)
+                is LogUploadFailed -> handleFailedUpload(encryptedLog, result.error, result.retryAfter)
             }
         } catch (e: UnsatisfiedLinkError) {
             handleFailedUpload(encryptedLog, UnsatisfiedLinkException)
@@ -168,13 +215,19 @@ class EncryptedLogStore @Inject constructor(
         }
     }
 
-    private suspend fun handleSuccessfulUpload(encryptedLog: EncryptedLog) {
+    private fun handleSuccessfulUpload(encryptedLog: EncryptedLog) {
         deleteEncryptedLog(encryptedLog)
         emitChange(EncryptedLogUploadedSuccessfully(uuid = encryptedLog.uuid, file = encryptedLog.file))
-        uploadNext()
     }
 
-    private suspend fun handleFailedUpload(encryptedLog: EncryptedLog, error: UploadEncryptedLogError) {
+    /**
+     * @param retryAfter the delay in milliseconds before the next upload, when requested by the server
+     */
+    private fun handleFailedUpload(
+        encryptedLog: EncryptedLog,
+        error: UploadEncryptedLogError,
+        retryAfter: Long? = null
+    ) {
         val failureType = mapUploadEncryptedLogError(error)
 
         val (isFinalFailure, finalFailureCount) = when (failureType) {
@@ -193,10 +246,22 @@ class EncryptedLogStore @Inject constructor(
         if (isFinalFailure) {
             deleteEncryptedLog(encryptedLog)
         } else {
+            val retryCount = encryptedLog.retryCount + 1
+            val retryDelay = retryAfter ?: if (error is TooManyRequests) {
+                TOO_MANY_REQUESTS_ERROR_DELAY
+            } else {
+                getBackoffDelay(retryCount)
+            }
+            if (error is TooManyRequests) {
+                // The server refuses any upload until then, not only the ones of this log
+                addUploadDelay(retryDelay)
+            }
             encryptedLogSqlUtils.insertOrUpdateEncryptedLog(
                     encryptedLog.copy(
                             uploadState = FAILED,
-                            failedCount = finalFailureCount
+                            failedCount = finalFailureCount,
+                            retryCount = retryCount,
+                            nextAttemptDate = Date(Date().time + retryDelay)
                     )
             )
         }
@@ -209,17 +274,16 @@ class EncryptedLogStore @Inject constructor(
                         willRetry = !isFinalFailure
                 )
         )
-        // If a log failed to upload for the final time, we don't need to add any delay since the log is the problem.
-        // Otherwise, the only special case that requires an extra long delay is `TOO_MANY_REQUESTS` upload error.
-        if (isFinalFailure) {
-            uploadNext()
-        } else {
-            if (error is TooManyRequests) {
-                uploadNextWithDelay(TOO_MANY_REQUESTS_ERROR_DELAY)
-            } else {
-                uploadNextWithDelay(REGULAR_UPLOAD_FAILURE_DELAY)
-            }
-        }
+    }
+
+    /**
+     * Returns the exponential backoff delay before the given retry of a log, with a random jitter of up to half of
+     * the delay so that the logs failing together don't retry together.
+     */
+    private fun getBackoffDelay(retryCount: Int): Long {
+        val exponent = (retryCount - 1).coerceIn(0, MAX_BACKOFF_EXPONENT)
+        val delay = (REGULAR_UPLOAD_FAILURE_DELAY shl exponent).coerceAtMost(MAX_UPLOAD_FAILURE_DELAY)
+        return delay / 2 + Random.nextLong(delay / 2 + 1)
     }
 
     private fun mapUploadEncryptedLogError(error: UploadEncryptedLogError): EncryptedLogUploadFailureType {
@@ -241,19 +305,10 @@ class EncryptedLogStore @Inject constructor(
     private fun isValidFile(file: File): Boolean = file.exists() && file.canRead()
 
     /**
-     * Checks if encrypted logs can be uploaded at this time.
-     *
-     * If we are already uploading another encrypted log or if we are manually delaying the uploads due to server errors
-     * encrypted log uploads will not be available.
+     * Returns the date until which we are manually delaying all the uploads due to server errors.
      */
-    private fun isUploadAvailable(): Boolean {
-        if (encryptedLogSqlUtils.getNumberOfUploadingEncryptedLogs() > 0) {
-            // We are already uploading another log file
-            return false
-        }
-        preferenceUtils.getFluxCPreferences().getLong(ENCRYPTED_LOG_UPLOAD_UNAVAILABLE_UNTIL_DATE, -1L).let {
-            return it <= Date().time
-        }
+    private fun getUploadUnavailableUntilDate(): Date {
+        return Date(preferenceUtils.getFluxCPreferences().getLong(ENCRYPTED_LOG_UPLOAD_UNAVAILABLE_UNTIL_DATE, -1L))
     }
 
     private fun addUploadDelay(delayDuration: Long) {
@@ -10,6 +10,7 @@ import org.wordpress.android.fluxc.Payload
 import org.wordpress.android.fluxc.action.JetpackAction
 import org.wordpress.android.fluxc.action.JetpackAction.ACTIVATE_STATS_MODULE
 import org.wordpress.android.fluxc.action.JetpackAction.INSTALL_JETPACK
+import org.wordpress.android.fluxc.annotations.ActionHandler
 import org.wordpress.android.fluxc.annotations.action.Action
 import org.wordpress.android.fluxc.generated.SiteActionBuilder
 import org.wordpress.android.fluxc.model.SiteModel
@@ -32,6 +33,7 @@ private const val RELOAD_SITE_DELAY = 5000L
 private const val JETPACK_DOMAIN = "jetpack.wordpress.com"
 
 @Singleton
+@ActionHandler(JetpackAction::class)
 class JetpackStore
 @Inject constructor(
     private val jetpackRestClient: JetpackRestClient,
@@ -12,6 +12,7 @@ import org.greenrobot.eventbus.ThreadMode;
 import org.wordpress.android.fluxc.Dispatcher;
 import org.wordpress.android.fluxc.Payload;
 import org.wordpress.android.fluxc.action.MediaAction;
+import org.wordpress.android.fluxc.annotations.ActionHandler;
 import org.wordpress.android.fluxc.annotations.action.Action;
 import org.wordpress.android.fluxc.annotations.action.IAction;
 import org.wordpress.android.fluxc.model.MediaModel;
@@ -47,6 +48,7 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 
 @Singleton
+@ActionHandler(MediaAction.class)
 public class MediaStore extends Store {
     public static final int DEFAULT_NUM_MEDIA_PER_FETCH = 50;
 
@@ -769,6 +771,16 @@ public class MediaStore extends Store {
         return MediaSqlUtils.searchSiteMedia(siteModel, searchTerm);
     }
 
+    /**
+     * Returns the media of the site having words starting with every word of the search term, best matches first.
+     */
+    @NonNull
+    public List<MediaModel> searchSiteMediaByRelevance(
+            @NonNull SiteModel siteModel,
+            @NonNull String searchTerm) {
+        return MediaSqlUtils.searchSiteMediaByRelevance(siteModel, searchTerm);
+    }
+
     @NonNull
     public List<MediaModel> searchSiteImages(
             @NonNull SiteModel siteModel,
@@ -9,6 +9,7 @@ import org.greenrobot.eventbus.ThreadMode
 import org.wordpress.android.fluxc.Dispatcher
 import org.wordpress.android.fluxc.Payload
 import org.wordpress.android.fluxc.action.NotificationAction
+import org.wordpress.android.fluxc.annotations.ActionHandler
 import org.wordpress.android.fluxc.annotations.action.Action
 import org.wordpress.android.fluxc.model.SiteModel
 import org.wordpress.android.fluxc.model.notification.NoteIdSet
@@ -27,6 +28,7 @@ import javax.inject.Inject
 import javax.inject.Singleton
 
 @Singleton
+@ActionHandler(NotificationAction::class)
 class NotificationStore @Inject constructor(
     dispatcher: Dispatcher,
     private val context: Context,
@@ -6,6 +6,7 @@ import org.wordpress.android.fluxc.Dispatcher
 import org.wordpress.android.fluxc.Payload
 import org.wordpress.android.fluxc.action.PlanOffersAction
 import org.wordpress.android.fluxc.action.PlanOffersAction.FETCH_PLAN_OFFERS
+import org.wordpress.android.fluxc.annotations.ActionHandler
 import org.wordpress.android.fluxc.annotations.action.Action
 import org.wordpress.android.fluxc.model.plans.PlanOffersModel
 import org.wordpress.android.fluxc.network.BaseRequest
@@ -18,6 +19,7 @@ import javax.inject.Inject
 import javax.inject.Singleton
 
 @Singleton
+@ActionHandler(PlanOffersAction::class)
 class PlanOffersStore @Inject constructor(
     private val planOffersRestClient: PlanOffersRestClient,
     private val planOffersSqlUtils: PlanOffersSqlUtils,
@@ -37,16 +39,20 @@ class PlanOffersStore @Inject constructor(
     }
 
     private suspend fun fetchPlanOffers(): OnPlanOffersFetched {
-        val fetchedPlanOffersPayload = planOffersRestClient.fetchPlanOffers()
+        val cachedPlanOffers = getCachedPlanOffers()
+        // Only revalidate the plan offers we still have, since an unchanged response doesn't carry them
+        val fetchedPlanOffersPayload = planOffersRestClient.fetchPlanOffers(revalidate = cachedPlanOffers.isNotEmpty())
 
-        return if (!fetchedPlanOffersPayload.isError) {
-            planOffersSqlUtils.storePlanOffers(fetchedPlanOffersPayload.planOffers!!)
-            OnPlanOffersFetched(fetchedPlanOffersPayload.planOffers)
-        } else {
-            OnPlanOffersFetched(
-                    getCachedPlanOffers(),
+        return when {
+            fetchedPlanOffersPayload.isError -> OnPlanOffersFetched(
+                    cachedPlanOffers,
                     PlansFetchError(GENERIC_ERROR, fetchedPlanOffersPayload.error.message)
             )
+            fetchedPlanOffersPayload.isUnchanged -> OnPlanOffersFetched(cachedPlanOffers, isUnchanged = true)
+            else -> {
+                planOffersSqlUtils.storePlanOffers(fetchedPlanOffersPayload.planOffers!!)
+                OnPlanOffersFetched(fetchedPlanOffersPayload.planOffers)
+            }
         }
     }
 
@@ -58,13 +64,23 @@ class PlanOffersStore @Inject constructor(
         AppLog.d(AppLog.T.API, PlanOffersStore::class.java.simpleName + " onRegister")
     }
 
+    /**
+     * @param isUnchanged true if the plan offers didn't change since the last fetch, in which case [planOffers] is
+     * null and the stored plan offers are still current
+     */
     class PlanOffersFetchedPayload(
-        val planOffers: List<PlanOffersModel>? = null
+        val planOffers: List<PlanOffersModel>? = null,
+        val isUnchanged: Boolean = false
     ) : Payload<BaseRequest.BaseNetworkError>()
 
+    /**
+     * @param isUnchanged true if the plan offers didn't change since they were stored, so that there's nothing to
+     * refresh
+     */
     data class OnPlanOffersFetched(
         val planOffers: List<PlanOffersModel>? = null,
-        val fetchError: PlansFetchError? = null
+        val fetchError: PlansFetchError? = null,
+        val isUnchanged: Boolean = false
     ) : Store.OnChanged<PlansFetchError>() {
         init {
             // we allow setting error from constructor, so it will be a part of data class
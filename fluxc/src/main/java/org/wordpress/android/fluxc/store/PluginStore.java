@@ -8,6 +8,7 @@ import org.greenrobot.eventbus.ThreadMode;
 import org.wordpress.android.fluxc.Dispatcher;
 import org.wordpress.android.fluxc.Payload;
 import org.wordpress.android.fluxc.action.PluginAction;
+import org.wordpress.android.fluxc.annotations.ActionHandler;
 import org.wordpress.android.fluxc.annotations.action.Action;
 import org.wordpress.android.fluxc.annotations.action.IAction;
 import org.wordpress.android.fluxc.generated.PluginActionBuilder;
@@ -32,6 +33,7 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 
 @Singleton
+@ActionHandler(PluginAction.class)
 public class PluginStore extends Store {
     // Request payloads
     @SuppressWarnings("WeakerAccess")
@@ -876,12 +878,21 @@ public class PluginStore extends Store {
     }
 
     public @NonNull List<ImmutablePluginModel> getPluginDirectory(@NonNull SiteModel site, PluginDirectoryType type) {
+        return getPluginDirectory(site, type, PluginSqlUtils.NO_LIMIT, 0);
+    }
+
+    /**
+     * Returns a page of the plugin directory, read directly from the database. Pages of the site plugins aren't
+     * supported: all of them are returned.
+     */
+    public @NonNull List<ImmutablePluginModel> getPluginDirectory(@NonNull SiteModel site, PluginDirectoryType type,
+                                                                  int limit, int offset) {
         // Site plugins are handled differently
         if (type == PluginDirectoryType.SITE) {
             return getSitePlugins(site);
         }
         List<ImmutablePluginModel> immutablePlugins = new ArrayList<>();
-        List<WPOrgPluginModel> wpOrgPlugins = PluginSqlUtils.getWPOrgPluginsForDirectory(type);
+        List<WPOrgPluginModel> wpOrgPlugins = PluginSqlUtils.getWPOrgPluginsForDirectory(type, limit, offset);
         for (WPOrgPluginModel wpOrgPlugin : wpOrgPlugins) {
             String slug = wpOrgPlugin.getSlug();
             SitePluginModel sitePlugin = PluginSqlUtils.getSitePluginBySlug(site, slug);
@@ -15,6 +15,7 @@ import org.wordpress.android.fluxc.BuildConfig;
 import org.wordpress.android.fluxc.Dispatcher;
 import org.wordpress.android.fluxc.Payload;
 import org.wordpress.android.fluxc.action.PostAction;
+import org.wordpress.android.fluxc.annotations.ActionHandler;
 import org.wordpress.android.fluxc.annotations.action.Action;
 import org.wordpress.android.fluxc.annotations.action.IAction;
 import org.wordpress.android.fluxc.generated.ListActionBuilder;
@@ -67,8 +68,10 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 
 @Singleton
+@ActionHandler(PostAction.class)
 public class PostStore extends Store {
     public static final int NUM_POSTS_PER_FETCH = 20;
+    public static final int MAX_POSTS_PER_BULK_FETCH = 100;
 
     public static final List<PostStatus> DEFAULT_POST_STATUS_LIST = Collections.unmodifiableList(Arrays.asList(
             PostStatus.DRAFT,
@@ -179,6 +182,28 @@ public class PostStore extends Store {
         }
     }
 
+    public static class FetchPostsByRemoteIdsResponsePayload extends Payload<PostError> {
+        @NonNull public List<PostModel> requestedPosts;
+        @NonNull public List<PostModel> fetchedPosts;
+        @NonNull public SiteModel site;
+
+        public FetchPostsByRemoteIdsResponsePayload(@NonNull List<PostModel> requestedPosts,
+                                                    @NonNull List<PostModel> fetchedPosts,
+                                                    @NonNull SiteModel site) {
+            this.requestedPosts = requestedPosts;
+            this.fetchedPosts = fetchedPosts;
+            this.site = site;
+        }
+
+        public FetchPostsByRemoteIdsResponsePayload(@NonNull List<PostModel> requestedPosts,
+                                                    @NonNull SiteModel site, @NonNull PostError error) {
+            this.requestedPosts = requestedPosts;
+            this.fetchedPosts = Collections.emptyList();
+            this.site = site;
+            this.error = error;
+        }
+    }
+
     public static class FetchPostLikesPayload extends Payload<BaseNetworkError> {
         public final long siteId;
         public final long remotePostId;
@@ -534,18 +559,32 @@ public class PostStore extends Store {
         return mPostSqlUtils.getPostsForSite(site, true);
     }
 
+    /**
+     * Returns the posts of the given site having words starting with every word of the query, best matches first.
+     */
+    public List<PostModel> searchPostsForSite(SiteModel site, String query) {
+        return mPostSqlUtils.searchPostsForSite(site, false, query);
+    }
+
+    /**
+     * Returns the pages of the given site having words starting with every word of the query, best matches first.
+     */
+    public List<PostModel> searchPagesForSite(SiteModel site, String query) {
+        return mPostSqlUtils.searchPostsForSite(site, true, query);
+    }
+
     /**
      * Returns the number of posts in the store for the given site.
      */
     public int getPostsCountForSite(SiteModel site) {
-        return getPostsForSite(site).size();
+        return mPostSqlUtils.getPostsCountForSite(site, false);
     }
 
     /**
      * Returns the number of pages in the store for the given site.
      */
     public int getPagesCountForSite(SiteModel site) {
-        return getPagesForSite(site).size();
+        return mPostSqlUtils.getPostsCountForSite(site, true);
     }
 
     /**
@@ -566,14 +605,14 @@ public class PostStore extends Store {
      * Returns the number of uploaded posts in the store for the given site.
      */
     public int getUploadedPostsCountForSite(SiteModel site) {
-        return getUploadedPostsForSite(site).size();
+        return mPostSqlUtils.getUploadedPostsCountForSite(site, false);
     }
 
     /**
      * Returns the number of uploaded pages in the store for the given site.
      */
     public int getUploadedPagesCountForSite(SiteModel site) {
-        return getUploadedPagesForSite(site).size();
+        return mPostSqlUtils.getUploadedPostsCountForSite(site, true);
     }
 
     /**
@@ -720,6 +759,9 @@ public class PostStore extends Store {
             case FETCH_POST:
                 fetchPost((RemotePostPayload) action.getPayload());
                 break;
+            case FETCHED_POSTS_BY_REMOTE_IDS:
+                handleFetchedPostsByRemoteIds((FetchPostsByRemoteIdsResponsePayload) action.getPayload());
+                break;
             case FETCH_POST_STATUS:
                 fetchPostStatus((RemotePostPayload) action.getPayload());
                 break;
@@ -888,6 +930,7 @@ public class PostStore extends Store {
                 postIds.add(item.remotePostId);
             }
             Map<Long, PostModel> posts = getPostsByRemotePostIds(postIds, site);
+            List<PostModel> postsToFetch = new ArrayList<>();
             for (PostListItem item : payload.postListItems) {
                 PostModel post = posts.get(item.remotePostId);
                 if (post == null) {
@@ -925,7 +968,7 @@ public class PostStore extends Store {
                     // Dispatch a fetch action for the posts that are changed, but not for posts with local changes
                     // as we'd otherwise overwrite and lose these local changes forever
                     if (!post.isLocallyChanged()) {
-                        mDispatcher.dispatch(PostActionBuilder.newFetchPostAction(new RemotePostPayload(post, site)));
+                        postsToFetch.add(post);
                     } else if (isPostChanged) {
                         // at this point we know there's a potential version conflict (the post has been modified
                         // both locally and on the remote), so flag the local version of the Post so the
@@ -943,6 +986,7 @@ public class PostStore extends Store {
                     }
                 }
             }
+            fetchChangedPosts(postsToFetch, site);
         }
 
         FetchedListItemsPayload fetchedListItemsPayload =
@@ -951,10 +995,89 @@ public class PostStore extends Store {
         mDispatcher.dispatch(ListActionBuilder.newFetchedListItemsAction(fetchedListItemsPayload));
     }
 
+    /**
+     * Fetches the posts found changed by a post list sync. The posts are requested in bulk, so they don't each need
+     * their own request, and are saved in a single transaction by {@link #handleFetchedPostsByRemoteIds}.
+     */
+    private void fetchChangedPosts(List<PostModel> posts, SiteModel site) {
+        if (posts.isEmpty()) {
+            return;
+        }
+        if (posts.size() == 1) {
+            mDispatcher.dispatch(PostActionBuilder.newFetchPostAction(new RemotePostPayload(posts.get(0), site)));
+            return;
+        }
+
+        if (site.isUsingWpComRestApi()) {
+            // The posts endpoint only returns a single post type per request
+            List<PostModel> changedPosts = new ArrayList<>();
+            List<PostModel> changedPages = new ArrayList<>();
+            for (PostModel post : posts) {
+                if (post.isPage()) {
+                    changedPages.add(post);
+                } else {
+                    changedPosts.add(post);
+                }
+            }
+            fetchPostsByRemoteIds(changedPosts, site, false);
+            fetchPostsByRemoteIds(changedPages, site, true);
+        } else {
+            // TODO: check for WP-REST-API plugin and use it here
+            mPostXMLRPCClient.fetchPostsByRemoteIds(posts, site);
+        }
+    }
+
+    private void fetchPostsByRemoteIds(List<PostModel> posts, SiteModel site, boolean pages) {
+        for (int start = 0; start < posts.size(); start += MAX_POSTS_PER_BULK_FETCH) {
+            List<PostModel> chunk = posts.subList(start, Math.min(posts.size(), start + MAX_POSTS_PER_BULK_FETCH));
+            mPostRestClient.fetchPostsByRemoteIds(new ArrayList<>(chunk), site, pages);
+        }
+    }
+
+    private void handleFetchedPostsByRemoteIds(FetchPostsByRemoteIdsResponsePayload payload) {
+        List<PostModel> missingPosts = new ArrayList<>();
+        List<PostModel> postsToSave = new ArrayList<>();
+        if (payload.isError()) {
+            missingPosts.addAll(payload.requestedPosts);
+        } else {
+            Map<Long, PostModel> fetchedPosts = new HashMap<>(payload.fetchedPosts.size());
+            for (PostModel fetchedPost : payload.fetchedPosts) {
+                fetchedPosts.put(fetchedPost.getRemotePostId(), fetchedPost);
+            }
+            for (PostModel requestedPost : payload.requestedPosts) {
+                PostModel fetchedPost = fetchedPosts.get(requestedPost.getRemotePostId());
+                if (fetchedPost == null) {
+                    missingPosts.add(requestedPost);
+                } else {
+                    fetchedPost.setId(requestedPost.getId());
+                    fetchedPost.setLocalSiteId(payload.site.getId());
+                    postsToSave.add(fetchedPost);
+                }
+            }
+        }
+
+        if (!postsToSave.isEmpty()) {
+            int[] rowsAffected = mPostSqlUtils.insertOrUpdatePostsOverwritingLocalChanges(postsToSave);
+            for (int i = 0; i < postsToSave.size(); i++) {
+                PostModel post = postsToSave.get(i);
+                CauseOfOnPostChanged causeOfChange =
+                        new CauseOfOnPostChanged.UpdatePost(post.getId(), post.getRemotePostId(), false);
+                emitChange(new OnPostChanged(causeOfChange, rowsAffected[i]));
+            }
+            mDispatcher.dispatch(ListActionBuilder.newListDataInvalidatedAction(
+                    PostListDescriptor.calculateTypeIdentifier(payload.site.getId())));
+        }
+
+        // Fall back to fetching the posts the bulk request didn't return one by one, so they get their own errors
+        for (PostModel post : missingPosts) {
+            mDispatcher.dispatch(PostActionBuilder.newFetchPostAction(new RemotePostPayload(post, payload.site)));
+        }
+    }
+
     private void fetchPosts(FetchPostsPayload payload, boolean pages) {
         int offset = 0;
         if (payload.loadMore) {
-            offset = mPostSqlUtils.getUploadedPostsForSite(payload.site, pages).size();
+            offset = mPostSqlUtils.getUploadedPostsCountForSite(payload.site, pages);
         }
 
         if (payload.site.isUsingWpComRestApi()) {
@@ -5,6 +5,7 @@ import org.greenrobot.eventbus.ThreadMode
 import org.wordpress.android.fluxc.Dispatcher
 import org.wordpress.android.fluxc.action.ProductAction
 import org.wordpress.android.fluxc.action.ProductAction.FETCH_PRODUCTS
+import org.wordpress.android.fluxc.annotations.ActionHandler
 import org.wordpress.android.fluxc.annotations.action.Action
 import org.wordpress.android.fluxc.model.products.Product
 import org.wordpress.android.fluxc.network.rest.wpcom.WPComGsonRequestBuilder.Response.Error
@@ -18,6 +19,7 @@ import javax.inject.Inject
 import javax.inject.Singleton
 
 @Singleton
+@ActionHandler(ProductAction::class)
 class ProductsStore @Inject constructor(
     private val productsRestClient: ProductsRestClient,
     private val coroutineEngine: CoroutineEngine,
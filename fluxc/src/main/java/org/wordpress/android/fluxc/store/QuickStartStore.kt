@@ -3,6 +3,7 @@ package org.wordpress.android.fluxc.store
 import org.greenrobot.eventbus.Subscribe
 import org.greenrobot.eventbus.ThreadMode
 import org.wordpress.android.fluxc.Dispatcher
+import org.wordpress.android.fluxc.annotations.ActionHandler
 import org.wordpress.android.fluxc.annotations.action.Action
 import org.wordpress.android.fluxc.model.QuickStartTaskModel
 import org.wordpress.android.fluxc.persistence.QuickStartSqlUtils
@@ -15,6 +16,7 @@ import javax.inject.Inject
 import javax.inject.Singleton
 
 @Singleton
+@ActionHandler
 class QuickStartStore @Inject constructor(
     private val quickStartSqlUtils: QuickStartSqlUtils,
     dispatcher: Dispatcher
@@ -11,6 +11,7 @@ import org.wordpress.android.fluxc.action.ScanAction.FETCH_SCAN_STATE
 import org.wordpress.android.fluxc.action.ScanAction.FIX_THREATS
 import org.wordpress.android.fluxc.action.ScanAction.IGNORE_THREAT
 import org.wordpress.android.fluxc.action.ScanAction.START_SCAN
+import org.wordpress.android.fluxc.annotations.ActionHandler
 import org.wordpress.android.fluxc.annotations.action.Action
 import org.wordpress.android.fluxc.model.SiteModel
 import org.wordpress.android.fluxc.model.scan.ScanStateModel
@@ -35,6 +36,7 @@ private val SCAN_THREAT_STATUSES = listOf(CURRENT)
 private val SCAN_HISTORY_THREAT_STATUSES = listOf(IGNORED, FIXED)
 
 @Singleton
+@ActionHandler(ScanAction::class)
 class ScanStore @Inject constructor(
     private val scanRestClient: ScanRestClient,
     private val scanSqlUtils: ScanSqlUtils,
@@ -67,6 +67,7 @@ import org.wordpress.android.fluxc.action.SiteAction.SUGGESTED_DOMAINS
 import org.wordpress.android.fluxc.action.SiteAction.SUGGEST_DOMAINS
 import org.wordpress.android.fluxc.action.SiteAction.UPDATE_SITE
 import org.wordpress.android.fluxc.action.SiteAction.UPDATE_SITES
+import org.wordpress.android.fluxc.annotations.ActionHandler
 import org.wordpress.android.fluxc.annotations.action.Action
 import org.wordpress.android.fluxc.model.DomainModel
 import org.wordpress.android.fluxc.model.JetpackCapability
@@ -142,6 +143,7 @@ import javax.inject.Singleton
  */
 @Suppress("LargeClass", "ForbiddenComment")
 @Singleton
+@ActionHandler(SiteAction::class)
 open class SiteStore @Inject constructor(
     dispatcher: Dispatcher?,
     private val postSqlUtils: PostSqlUtils,
@@ -1123,7 +1125,7 @@ open class SiteStore @Inject constructor(
      * Returns the number of sites of any kind in the store.
      */
     val sitesCount: Int
-        get() = siteSqlUtils.getSites().count()
+        get() = siteSqlUtils.getSitesCount()
 
     /**
      * Checks whether the store contains any sites of any kind.
@@ -1150,7 +1152,7 @@ open class SiteStore @Inject constructor(
      * Checks whether the store contains a site matching the given (local) id.
      */
     fun hasSiteWithLocalId(id: Int): Boolean {
-        return siteSqlUtils.getSitesWithLocalId(id).isNotEmpty()
+        return siteSqlUtils.getSitesCount { it.id == id } > 0
     }
 
     /**
@@ -1170,7 +1172,7 @@ open class SiteStore @Inject constructor(
      * via WPCom REST API).
      */
     val sitesAccessedViaWPComRestCount: Int
-        get() = siteSqlUtils.sitesAccessedViaWPComRest.count().toInt()
+        get() = siteSqlUtils.getSitesCount { it.origin == SiteModel.ORIGIN_WPCOM_REST }
 
     /**
      * Checks whether the store contains at least one site accessed via WPCom REST API (WPCom sites or Jetpack
@@ -1184,13 +1186,13 @@ open class SiteStore @Inject constructor(
      * Returns the number of .COM sites in the store.
      */
     val wPComSitesCount: Int
-        get() = siteSqlUtils.getWpComSites().size
+        get() = siteSqlUtils.getSitesCount { it.isWPCom }
 
     /**
      * Returns the number of .COM Atomic sites in the store.
      */
     val wPComAtomicSitesCount: Int
-        get() = siteSqlUtils.getWpComAtomicSites().size
+        get() = siteSqlUtils.getSitesCount { it.isWPComAtomic }
 
     /**
      * Returns sites with a name or url matching the search string.
@@ -1231,7 +1233,7 @@ open class SiteStore @Inject constructor(
      * Returns the number of sites accessed via XMLRPC (self-hosted sites or Jetpack sites accessed via XMLRPC).
      */
     val sitesAccessedViaXMLRPCCount: Int
-        get() = siteSqlUtils.sitesAccessedViaXMLRPC.count().toInt()
+        get() = siteSqlUtils.getSitesCount { it.origin == SiteModel.ORIGIN_XMLRPC }
 
     /**
      * Checks whether the store contains at least one site accessed via XMLRPC (self-hosted sites or
@@ -1251,7 +1253,7 @@ open class SiteStore @Inject constructor(
      * Returns the number of visible sites. All self-hosted sites over XML-RPC are visible by default.
      */
     val visibleSitesCount: Int
-        get() = siteSqlUtils.getVisibleSites().size
+        get() = siteSqlUtils.getSitesCount { it.isVisible }
 
     /**
      * Returns all visible .COM sites as [SiteModel]s.
@@ -1263,7 +1265,7 @@ open class SiteStore @Inject constructor(
      * Returns the number of visible .COM sites.
      */
     val visibleSitesAccessedViaWPComCount: Int
-        get() = siteSqlUtils.visibleSitesAccessedViaWPCom.count().toInt()
+        get() = siteSqlUtils.getSitesCount { it.origin == SiteModel.ORIGIN_WPCOM_REST && it.isVisible }
 
     /**
      * Checks whether the .COM site with the given (local) id is visible.
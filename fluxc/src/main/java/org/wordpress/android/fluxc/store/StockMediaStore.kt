@@ -6,6 +6,7 @@ import org.wordpress.android.fluxc.Dispatcher
 import org.wordpress.android.fluxc.Payload
 import org.wordpress.android.fluxc.action.StockMediaAction
 import org.wordpress.android.fluxc.action.StockMediaAction.FETCH_STOCK_MEDIA
+import org.wordpress.android.fluxc.annotations.ActionHandler
 import org.wordpress.android.fluxc.annotations.action.Action
 import org.wordpress.android.fluxc.model.SiteModel
 import org.wordpress.android.fluxc.model.StockMediaModel
@@ -20,6 +21,7 @@ import javax.inject.Inject
 import javax.inject.Singleton
 
 @Singleton
+@ActionHandler(StockMediaAction::class)
 class StockMediaStore
 @Inject constructor(
     dispatcher: Dispatcher?,
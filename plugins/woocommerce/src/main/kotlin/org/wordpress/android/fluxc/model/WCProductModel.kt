@@ -19,6 +19,8 @@ import org.wordpress.android.fluxc.persistence.WCGlobalAttributeSqlUtils
 import org.wordpress.android.fluxc.persistence.WellSqlConfig
 import org.wordpress.android.util.AppLog
 import org.wordpress.android.util.AppLog.T
+import java.util.Collections
+import java.util.Locale
 
 /**
  * Single Woo product - see http://woocommerce.github.io/woocommerce-rest-api-docs/#product-properties
@@ -31,6 +33,12 @@ data class WCProductModel(@PrimaryKey @Column private var id: Int = 0) : Identif
     val remoteId
         get() = RemoteId(remoteProductId)
     @Column var name = ""
+        set(value) {
+            field = value
+            nameSortKey = value.toLowerCase(Locale.getDefault())
+        }
+    // Case-insensitive version of the name, letting the title-sorted product lists be sorted and paged in SQL
+    @Column var nameSortKey = ""
     @Column var slug = ""
     @Column var permalink = ""
 
@@ -121,18 +129,34 @@ data class WCProductModel(@PrimaryKey @Column private var id: Int = 0) : Identif
         @JvmName("setIsSampleProduct")
         set
 
+    // The JSON columns are decoded on first use and kept until the column is set to a different value. The decoded
+    // lists are shared between calls, so they're read-only and the getters copy any mutable element they return.
+    @Transient private val decodedAttributeArray = DecodedColumn { json ->
+        gson.fromJson(json, Array<ProductAttribute>::class.java) ?: emptyArray()
+    }
+    @Transient private val decodedAttributes = DecodedColumn { decodeAttributeList(it).readOnly() }
+    @Transient private val decodedImages = DecodedColumn { decodeImageList(it).readOnly() }
+    @Transient private val decodedDownloads = DecodedColumn { decodeDownloadableFiles(it).readOnly() }
+    @Transient private val decodedCategories = DecodedColumn { getTripletsOrEmpty(it).readOnly() }
+    @Transient private val decodedTags = DecodedColumn { getTripletsOrEmpty(it).readOnly() }
+    @Transient private val decodedVariations = DecodedColumn { parseJson(it).readOnly() }
+    @Transient private val decodedGroupedProductIds = DecodedColumn { parseJson(it).readOnly() }
+    @Transient private val decodedUpsellIds = DecodedColumn { parseJson(it).readOnly() }
+    @Transient private val decodedCrossSellIds = DecodedColumn { parseJson(it).readOnly() }
+    @Transient private val decodedIsConfigurableBundle = DecodedColumn { json ->
+        runCatching { gson.fromJson(json, Array<WCBundledProduct>::class.java) }
+            .takeIf { it.isSuccess }?.getOrNull()
+            ?.let { products ->
+                products.any { it.isConfigurable() }
+            } ?: false
+    }
+
     val attributeList: Array<ProductAttribute>
-        get() = Gson().fromJson(attributes, Array<ProductAttribute>::class.java) ?: emptyArray()
+        get() = decodedAttributeArray.get(attributes).let { decoded -> Array(decoded.size) { decoded[it].copy() } }
 
     val isConfigurable: Boolean
         get() = when (type) {
-            CoreProductType.BUNDLE.value -> {
-                runCatching { Gson().fromJson(bundledItems, Array<WCBundledProduct>::class.java) }
-                    .takeIf { it.isSuccess }?.getOrNull()
-                    ?.let { products ->
-                        products.any { it.isConfigurable() }
-                    } ?: false
-            }
+            CoreProductType.BUNDLE.value -> decodedIsConfigurableBundle.get(bundledItems)
             else -> false
         }
 
@@ -224,7 +248,7 @@ data class WCProductModel(@PrimaryKey @Column private var id: Int = 0) : Identif
                                         .takeIf { it.isNotEmpty() }
                                         ?.let { addAll(it) }
                             }
-                }.also { attributes = Gson().toJson(it) }
+                }.also { attributes = gson.toJson(it) }
     }
 
     fun removeAttribute(attributeID: Int) =
@@ -233,7 +257,7 @@ data class WCProductModel(@PrimaryKey @Column private var id: Int = 0) : Identif
                         .takeIf { it.isNotEmpty() }
                         ?.filter { attributeID != it.id.toInt() }
                         ?.let { addAll(it) }
-            }.also { attributes = Gson().toJson(it) }
+            }.also { attributes = gson.toJson(it) }
 
     fun getAttribute(attributeID: Int) =
         attributeList.find { it.id == attributeID.toLong() }
@@ -272,10 +296,12 @@ data class WCProductModel(@PrimaryKey @Column private var id: Int = 0) : Identif
     /**
      * Parses the images json array into a list of product images
      */
-    fun getImageListOrEmpty(): List<WCProductImageModel> {
+    fun getImageListOrEmpty(): List<WCProductImageModel> = decodedImages.get(images).map { it.copy() }
+
+    private fun decodeImageList(images: String): List<WCProductImageModel> {
         return if (images.isNotEmpty()) {
             try {
-                val jsonElement = Gson().fromJson(images, JsonElement::class.java)
+                val jsonElement = gson.fromJson(images, JsonElement::class.java)
                 getImageList(jsonElement.asJsonArray)
             } catch (e: JsonParseException) {
                 AppLog.e(T.API, e)
@@ -307,24 +333,15 @@ data class WCProductModel(@PrimaryKey @Column private var id: Int = 0) : Identif
     /**
      * Extract the first image url from the json array of images
      */
-    fun getFirstImageUrl(): String? {
-        try {
-            if (images.isNotEmpty()) {
-                Gson().fromJson(images, JsonElement::class.java).asJsonArray.firstOrNull { jsonElement ->
-                    return (jsonElement.asJsonObject).getString("src")
-                }
-            }
-        } catch (e: JsonParseException) {
-            AppLog.e(T.API, e)
-        }
-        return null
-    }
+    fun getFirstImageUrl(): String? = decodedImages.get(images).firstOrNull()?.src?.takeIf { it.isNotEmpty() }
 
     /**
      * Returns the list of products attributes. The function returns an empty list
      * when the attributes json deserialization fails.
      */
-    fun getAttributeList(): List<ProductAttribute> {
+    fun getAttributeList(): List<ProductAttribute> = decodedAttributes.get(attributes).map { it.copy() }
+
+    private fun decodeAttributeList(attributes: String): List<ProductAttribute> {
         fun getAttributeOptions(jsonArray: JsonArray?): List<String> {
             val options = ArrayList<String>()
             try {
@@ -340,7 +357,7 @@ data class WCProductModel(@PrimaryKey @Column private var id: Int = 0) : Identif
         }
 
         return kotlin.runCatching {
-            Gson().fromJson(attributes, JsonElement::class.java)
+            gson.fromJson(attributes, JsonElement::class.java)
                 .asJsonArray.asSequence()
                 .map { it.asJsonObject }
                 .map { json ->
@@ -361,11 +378,13 @@ data class WCProductModel(@PrimaryKey @Column private var id: Int = 0) : Identif
         )
     }
 
-    fun getDownloadableFiles(): List<WCProductFileModel> {
+    fun getDownloadableFiles(): List<WCProductFileModel> = decodedDownloads.get(downloads)
+
+    private fun decodeDownloadableFiles(downloads: String): List<WCProductFileModel> {
         if (downloads.isEmpty()) return emptyList()
         val fileList = ArrayList<WCProductFileModel>()
         try {
-            Gson().fromJson(downloads, JsonElement::class.java).asJsonArray.forEach { jsonElement ->
+            gson.fromJson(downloads, JsonElement::class.java).asJsonArray.forEach { jsonElement ->
                 with(jsonElement.asJsonObject) {
                     fileList.add(
                             WCProductFileModel(
@@ -401,7 +420,7 @@ data class WCProductModel(@PrimaryKey @Column private var id: Int = 0) : Identif
     private fun parseJson(jsonString: String): List<Long> {
         return if (jsonString.isNotEmpty()) {
             try {
-                val jsonElement = Gson().fromJson(jsonString, JsonElement::class.java)
+                val jsonElement = gson.fromJson(jsonString, JsonElement::class.java)
                 parseJsonIfNotEmpty(jsonElement)
             } catch (e: JsonParseException) {
                 AppLog.e(T.API, e)
@@ -437,19 +456,19 @@ data class WCProductModel(@PrimaryKey @Column private var id: Int = 0) : Identif
 
     fun getNumVariations() = getVariationIdList().size
 
-    fun getVariationIdList() = parseJson(variations)
+    fun getVariationIdList() = decodedVariations.get(variations)
 
-    fun getGroupedProductIdList() = parseJson(groupedProductIds)
+    fun getGroupedProductIdList() = decodedGroupedProductIds.get(groupedProductIds)
 
-    fun getUpsellProductIdList() = parseJson(upsellIds)
+    fun getUpsellProductIdList() = decodedUpsellIds.get(upsellIds)
 
-    fun getCrossSellProductIdList() = parseJson(crossSellIds)
+    fun getCrossSellProductIdList() = decodedCrossSellIds.get(crossSellIds)
 
-    fun getCategoryList() = getTripletsOrEmpty(categories)
+    fun getCategoryList() = decodedCategories.get(categories)
 
     fun getCommaSeparatedCategoryNames() = getCommaSeparatedTripletNames(getCategoryList())
 
-    fun getTagList() = getTripletsOrEmpty(tags)
+    fun getTagList() = decodedTags.get(tags)
 
     fun getCommaSeparatedTagNames() = getCommaSeparatedTripletNames(getTagList())
 
@@ -469,7 +488,7 @@ data class WCProductModel(@PrimaryKey @Column private var id: Int = 0) : Identif
     private fun getTripletsOrEmpty(jsonStr: String): List<ProductTriplet> {
         return if (jsonStr.isNotEmpty()) {
             try {
-                val jsonElement = Gson().fromJson(jsonStr, JsonElement::class.java)
+                val jsonElement = gson.fromJson(jsonStr, JsonElement::class.java)
                 getTriplets(jsonElement)
             } catch (e: JsonParseException) {
                 AppLog.e(T.API, e)
@@ -504,8 +523,8 @@ data class WCProductModel(@PrimaryKey @Column private var id: Int = 0) : Identif
      */
     @Suppress("ReturnCount")
     fun hasSameImages(updatedProduct: WCProductModel): Boolean {
-        val updatedImages = updatedProduct.getImageListOrEmpty()
-        val thisImages = getImageListOrEmpty()
+        val updatedImages = updatedProduct.decodedImages.get(updatedProduct.images)
+        val thisImages = decodedImages.get(images)
         if (thisImages.size != updatedImages.size) {
             return false
         }
@@ -565,6 +584,37 @@ data class WCProductModel(@PrimaryKey @Column private var id: Int = 0) : Identif
         return storedFiles == updatedFiles
     }
 
+    /**
+     * Memoizes the value decoded from a JSON column, until the column is set to a different string.
+     */
+    private class DecodedColumn<T>(private val decode: (String) -> T) {
+        @Volatile private var cache: Pair<String, T>? = null
+
+        fun get(json: String): T {
+            cache?.let { (cachedJson, value) ->
+                if (cachedJson == json) return value
+            }
+            return decode(json).also { cache = json to it }
+        }
+    }
+
+    companion object {
+        private val gson = Gson()
+
+        private fun <T> List<T>.readOnly(): List<T> = if (isEmpty()) emptyList() else Collections.unmodifiableList(this)
+
+        private fun WCProductImageModel.copy() = WCProductImageModel(id).also {
+            it.dateCreated = dateCreated
+            it.src = src
+            it.alt = alt
+            it.name = name
+        }
+
+        // Gson leaves the fields missing from the json null
+        @Suppress("USELESS_ELVIS")
+        private fun ProductAttribute.copy() = ProductAttribute(id, name ?: "", variation, visible, options ?: emptyList())
+    }
+
     object SubscriptionMetadataKeys {
         const val SUBSCRIPTION_PRICE = "_subscription_price"
         const val SUBSCRIPTION_PERIOD = "_subscription_period"
@@ -0,0 +1,127 @@
+package org.wordpress.android.fluxc.persistence
+
+import android.database.DatabaseUtils
+import android.database.sqlite.SQLiteConstraintException
+import android.database.sqlite.SQLiteDatabase
+import android.database.sqlite.SQLiteStatement
+import com.yarolegovich.wellsql.WellSql
+import com.yarolegovich.wellsql.core.Identifiable
+import org.wordpress.android.util.AppLog
+import org.wordpress.android.util.AppLog.T
+
+/**
+ * Inserts or updates a batch of rows with a fixed number of statements, instead of a lookup followed by an insert
+ * or an update per row:
+ * - the stored rows matching the batch are looked up with one query per chunk of [LOOKUP_CHUNK_SIZE] rows,
+ * - the INSERT and UPDATE statements are compiled once and reused across the rows.
+ *
+ * A row updates the stored row having the same id, or else the stored row having the same site and remote ids, and
+ * its id is set to the one of the stored row. Other rows are inserted, and their id is set to the one of their new
+ * row.
+ *
+ * The caller is expected to run [insertOrUpdate] in a transaction.
+ */
+internal class BulkInsertOrUpdate<T : Identifiable>(
+    private val modelClass: Class<T>,
+    private val localSiteIdColumn: String,
+    private val remoteIdColumns: List<String>,
+    private val localSiteIdOf: (T) -> Int,
+    private val remoteIdsOf: (T) -> List<Long>
+) {
+    private val tableName = modelClass.simpleName
+    private val mapper = UpdateAllExceptId(modelClass)
+
+    /**
+     * @return the rows that were inserted or updated
+     */
+    fun insertOrUpdate(rows: List<T>): List<T> {
+        if (rows.isEmpty()) return emptyList()
+
+        val storedIds = mutableSetOf<Int>()
+        val storedIdsByKey = mutableMapOf<RowKey, Int>()
+        rows.chunked(LOOKUP_CHUNK_SIZE).forEach { chunk ->
+            getStoredRows(chunk).forEach { storedRow ->
+                storedIds.add(storedRow.id)
+                storedIdsByKey[storedRow.key()] = storedRow.id
+            }
+        }
+
+        val db = WellSql.giveMeWritableDb()
+        val statements = mutableMapOf<List<String>, Statements>()
+        try {
+            return rows.filter { row ->
+                val values = mapper.toCv(row)
+                val columns = values.keySet().sorted()
+                val rowStatements = statements.getOrPut(columns) { Statements(db, columns) }
+                columns.forEachIndexed { index, column ->
+                    rowStatements.bind(index + 1, values.get(column))
+                }
+
+                val storedId = row.id.takeIf { it in storedIds } ?: storedIdsByKey[row.key()]
+                try {
+                    if (storedId == null) {
+                        row.id = rowStatements.insert.executeInsert().toInt()
+                        // Later rows of the batch having the same remote ids update this one
+                        storedIdsByKey[row.key()] = row.id
+                        true
+                    } else {
+                        row.id = storedId
+                        rowStatements.update.bindLong(columns.size + 1, storedId.toLong())
+                        rowStatements.update.executeUpdateDelete() > 0
+                    }
+                } catch (e: SQLiteConstraintException) {
+                    // Skip the row, as WellSql does when a single insert or update fails
+                    AppLog.e(T.DB, "Unable to write a row to $tableName", e)
+                    false
+                }
+            }
+        } finally {
+            statements.values.forEach { it.close() }
+        }
+    }
+
+    private fun getStoredRows(rows: List<T>): List<T> {
+        return WellSql.select(modelClass)
+                .columns(ID_COLUMN, localSiteIdColumn, *remoteIdColumns.toTypedArray())
+                .where()
+                .isIn(ID_COLUMN, rows.map { it.id }.distinct())
+                .or()
+                .beginGroup()
+                .isIn(localSiteIdColumn, rows.map(localSiteIdOf).distinct())
+                .isIn(remoteIdColumns.first(), rows.map { remoteIdsOf(it).first() }.distinct())
+                .endGroup()
+                .endWhere()
+                .asModel
+    }
+
+    private fun T.key() = RowKey(localSiteIdOf(this), remoteIdsOf(this))
+
+    private data class RowKey(val localSiteId: Int, val remoteIds: List<Long>)
+
+    private inner class Statements(db: SQLiteDatabase, columns: List<String>) {
+        val insert: SQLiteStatement = db.compileStatement(
+                "INSERT INTO $tableName (${columns.joinToString(",")}) " +
+                        "VALUES (${columns.joinToString(",") { "?" }})"
+        )
+        val update: SQLiteStatement = db.compileStatement(
+                "UPDATE $tableName SET ${columns.joinToString(",") { "$it=?" }} WHERE $ID_COLUMN=?"
+        )
+
+        fun bind(index: Int, value: Any?) {
+            DatabaseUtils.bindObjectToProgram(insert, index, value)
+            DatabaseUtils.bindObjectToProgram(update, index, value)
+        }
+
+        fun close() {
+            insert.close()
+            update.close()
+        }
+    }
+
+    private companion object {
+        const val ID_COLUMN = "_id"
+
+        // Keeps the lookup query under SQLite's limit of 999 variables
+        const val LOOKUP_CHUNK_SIZE = 300
+    }
+}
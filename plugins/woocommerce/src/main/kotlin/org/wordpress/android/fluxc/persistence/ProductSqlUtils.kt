@@ -15,9 +15,9 @@ import com.yarolegovich.wellsql.SelectQuery
 import com.yarolegovich.wellsql.WellSql
 import kotlinx.coroutines.Dispatchers
 import kotlinx.coroutines.flow.Flow
-import kotlinx.coroutines.flow.MutableSharedFlow
 import kotlinx.coroutines.flow.debounce
 import kotlinx.coroutines.flow.distinctUntilChanged
+import kotlinx.coroutines.flow.filter
 import kotlinx.coroutines.flow.flowOn
 import kotlinx.coroutines.flow.mapLatest
 import kotlinx.coroutines.flow.onStart
@@ -48,19 +48,86 @@ import java.util.Locale
 @Suppress("LargeClass")
 object ProductSqlUtils {
     private const val DEBOUNCE_DELAY_FOR_OBSERVERS = 50L
-    private val productsUpdatesTrigger = MutableSharedFlow<Unit>(extraBufferCapacity = 1)
-    private val variationsUpdatesTrigger = MutableSharedFlow<Unit>(extraBufferCapacity = 1)
-    private val categoriesUpdatesTrigger = MutableSharedFlow<Unit>(extraBufferCapacity = 1)
+
+    // Changes are never dropped: observers filter them by site, so a dropped change could be the only one
+    // concerning a given observer. The changes pending for a slow observer are merged per site instead.
+    private val productsUpdatesTrigger = ProductTableChangeTrigger()
+    private val variationsUpdatesTrigger = ProductTableChangeTrigger()
+    private val categoriesUpdatesTrigger = ProductTableChangeTrigger()
 
     private val gson by lazy { Gson() }
 
+    private val productsBulkUpsert = BulkInsertOrUpdate(
+        WCProductModel::class.java,
+        WCProductModelTable.LOCAL_SITE_ID,
+        listOf(WCProductModelTable.REMOTE_PRODUCT_ID),
+        { it.localSiteId },
+        { listOf(it.remoteProductId) }
+    )
+    private val variationsBulkUpsert = BulkInsertOrUpdate(
+        WCProductVariationModel::class.java,
+        WCProductVariationModelTable.LOCAL_SITE_ID,
+        listOf(WCProductVariationModelTable.REMOTE_PRODUCT_ID, WCProductVariationModelTable.REMOTE_VARIATION_ID),
+        { it.localSiteId },
+        { listOf(it.remoteProductId, it.remoteVariationId) }
+    )
+    private val categoriesBulkUpsert = BulkInsertOrUpdate(
+        WCProductCategoryModel::class.java,
+        WCProductCategoryModelTable.LOCAL_SITE_ID,
+        listOf(WCProductCategoryModelTable.REMOTE_CATEGORY_ID),
+        { it.localSiteId },
+        { listOf(it.remoteCategoryId) }
+    )
+    private val tagsBulkUpsert = BulkInsertOrUpdate(
+        WCProductTagModel::class.java,
+        WCProductTagModelTable.LOCAL_SITE_ID,
+        listOf(WCProductTagModelTable.REMOTE_TAG_ID),
+        { it.localSiteId },
+        { listOf(it.remoteTagId) }
+    )
+
+    /**
+     * Describes a write to the products, variations or categories table.
+     *
+     * @property localSiteId the site whose rows were written, or null when rows of any site may have changed
+     * @property remoteIds the remote ids of the written rows, or null when any row of the site may have changed.
+     * Variation changes hold the ids of their parent products, since variations are observed per product.
+     */
+    data class ProductTableChange(val localSiteId: Int?, val remoteIds: Set<Long>? = null) {
+        fun affectsSite(siteId: Int) = localSiteId == null || localSiteId == siteId
+
+        fun affectsRow(siteId: Int, remoteId: Long) =
+            affectsSite(siteId) && (remoteIds == null || remoteId in remoteIds)
+
+        internal companion object {
+            /**
+             * A row moved to another site, which shouldn't happen, is reported as a change of every site.
+             */
+            fun ofUpdatedRow(previousSiteId: Int, siteId: Int, vararg remoteIds: Long) =
+                ProductTableChange(siteId.takeIf { it == previousSiteId }, remoteIds.toSet())
+        }
+    }
+
+    /**
+     * Emits the writes to the products of [site], letting callers that hold a list of products reload only
+     * the rows listed in each change.
+     */
+    fun observeProductChanges(site: SiteModel): Flow<ProductTableChange> =
+        productsUpdatesTrigger.changes.filter { it.affectsSite(site.id) }
+
+    /**
+     * Emits the writes to the variations of the product [productId] of [site].
+     */
+    fun observeVariationChanges(site: SiteModel, productId: Long): Flow<ProductTableChange> =
+        variationsUpdatesTrigger.changes.filter { it.affectsRow(site.id, productId) }
+
     fun observeProductsCount(
         site: SiteModel,
         filterOptions: Map<ProductFilterOption, String> = emptyMap(),
         excludeSampleProducts: Boolean = false
     ): Flow<Long> {
-        return productsUpdatesTrigger
-            .onStart { emit(Unit) }
+        return observeProductChanges(site)
+            .onStart { emit(ProductTableChange(site.id)) }
             .debounce(DEBOUNCE_DELAY_FOR_OBSERVERS)
             .mapLatest {
                 getProductCountForSite(site, filterOptions, excludeSampleProducts)
@@ -76,8 +143,8 @@ object ProductSqlUtils {
         excludeSampleProducts: Boolean = false,
         limit: Int? = null
     ): Flow<List<WCProductModel>> {
-        return productsUpdatesTrigger
-            .onStart { emit(Unit) }
+        return observeProductChanges(site)
+            .onStart { emit(ProductTableChange(site.id)) }
             .debounce(DEBOUNCE_DELAY_FOR_OBSERVERS)
             .mapLatest {
                 if (filterOptions.isEmpty()) {
@@ -101,8 +168,8 @@ object ProductSqlUtils {
     }
 
     fun observeVariations(site: SiteModel, productId: Long): Flow<List<WCProductVariationModel>> {
-        return variationsUpdatesTrigger
-            .onStart { emit(Unit) }
+        return observeVariationChanges(site, productId)
+            .onStart { emit(ProductTableChange(site.id, setOf(productId))) }
             .debounce(DEBOUNCE_DELAY_FOR_OBSERVERS)
             .mapLatest {
                 getVariationsForProduct(site, productId)
@@ -111,8 +178,9 @@ object ProductSqlUtils {
     }
 
     fun observeCategories(site: SiteModel, sortType: ProductCategorySorting): Flow<List<WCProductCategoryModel>> {
-        return categoriesUpdatesTrigger
-            .onStart { emit(Unit) }
+        return categoriesUpdatesTrigger.changes
+            .filter { it.affectsSite(site.id) }
+            .onStart { emit(ProductTableChange(site.id)) }
             .debounce(DEBOUNCE_DELAY_FOR_OBSERVERS)
             .mapLatest {
                 getProductCategoriesForSite(site, sortType)
@@ -152,8 +220,9 @@ object ProductSqlUtils {
         site: SiteModel,
         remoteProductId: Long
     ): Flow<List<WCBundledProduct>> {
-        return productsUpdatesTrigger
-            .onStart { emit(Unit) }
+        return productsUpdatesTrigger.changes
+            .filter { it.affectsRow(site.id, remoteProductId) }
+            .onStart { emit(ProductTableChange(site.id, setOf(remoteProductId))) }
             .debounce(DEBOUNCE_DELAY_FOR_OBSERVERS)
             .mapLatest {
                 getBundledProducts(site, remoteProductId)
@@ -176,7 +245,7 @@ object ProductSqlUtils {
         return if (productResult == null) {
             // Insert
             WellSql.insert(product).execute()
-            productsUpdatesTrigger.tryEmit(Unit)
+            productsUpdatesTrigger.trigger(ProductTableChange(product.localSiteId, setOf(product.remoteProductId)))
             1
         } else {
             // Update
@@ -187,18 +256,27 @@ object ProductSqlUtils {
                     .endGroup().endWhere()
                     .put(product, UpdateAllExceptId(WCProductModel::class.java))
                     .execute()
-                    .also(::triggerProductsUpdateIfNeeded)
+                    .also {
+                        val change = ProductTableChange.ofUpdatedRow(
+                            productResult.localSiteId,
+                            product.localSiteId,
+                            productResult.remoteProductId,
+                            product.remoteProductId
+                        )
+                        triggerProductsUpdateIfNeeded(it, change)
+                    }
         }
     }
 
     fun insertOrUpdateProducts(products: List<WCProductModel>): Int {
-        var rowsAffected = 0
+        var writtenProducts = emptyList<WCProductModel>()
         executeInTransaction {
-            products.forEach {
-                rowsAffected += insertOrUpdateProduct(it)
-            }
+            writtenProducts = productsBulkUpsert.insertOrUpdate(products)
         }
-        return rowsAffected
+        writtenProducts.groupBy({ it.localSiteId }, { it.remoteProductId }).forEach { (localSiteId, remoteIds) ->
+            productsUpdatesTrigger.trigger(ProductTableChange(localSiteId, remoteIds.toSet()))
+        }
+        return writtenProducts.size
     }
 
     fun getProductByRemoteId(site: SiteModel, remoteProductId: Long): WCProductModel? {
@@ -224,6 +302,23 @@ object ProductSqlUtils {
                 .asModel.firstOrNull()
     }
 
+    /**
+     * Returns the products of [site] having words starting with every word of [query] in their name, SKU or
+     * descriptions, best matches first.
+     */
+    fun searchProducts(
+        site: SiteModel,
+        query: String,
+        excludeSampleProducts: Boolean = false,
+        limit: Int? = null
+    ): List<WCProductModel> {
+        val filters = mutableMapOf<String, Any>(WCProductModelTable.LOCAL_SITE_ID to site.id)
+        if (excludeSampleProducts) {
+            filters[WCProductModelTable.IS_SAMPLE_PRODUCT] = false
+        }
+        return FullTextSearchIndex.PRODUCTS.searchModels(WCProductModel::class.java, query, filters, limit)
+    }
+
     fun getProductsByRemoteIds(site: SiteModel, remoteProductIds: List<Long>): List<WCProductModel> {
         return WellSql.select(WCProductModel::class.java)
                 .where().beginGroup()
@@ -308,28 +403,11 @@ object ProductSqlUtils {
         val sortOrder = getSortOrder(sortType)
         val sortField = getSortField(sortType)
 
-        val products = queryBuilder
+        return queryBuilder
                 .endGroup().endWhere()
                 .orderBy(sortField, sortOrder)
                 .apply { limit?.let { limit(it) } }
                 .asModel
-
-        return if (sortType == TITLE_ASC || sortType == TITLE_DESC) {
-            sortProductsByName(products, descending = sortType == TITLE_DESC)
-        } else {
-            products
-        }
-    }
-
-    /**
-     * WellSQL doesn't support "COLLATE NOCASE" so we have to manually provide case-insensitive sorting
-     */
-    private fun sortProductsByName(products: List<WCProductModel>, descending: Boolean): List<WCProductModel> {
-        return if (descending) {
-            products.sortedByDescending { it.name.toLowerCase(Locale.getDefault()) }
-        } else {
-            products.sortedBy { it.name.toLowerCase(Locale.getDefault()) }
-        }
     }
 
     fun geProductExistsByRemoteId(site: SiteModel, remoteProductId: Long): Boolean {
@@ -358,7 +436,7 @@ object ProductSqlUtils {
     ): List<WCProductModel> {
         val sortOrder = getSortOrder(sortType)
         val sortField = getSortField(sortType)
-        val products = WellSql.select(WCProductModel::class.java)
+        return WellSql.select(WCProductModel::class.java)
                 .where().beginGroup()
                 .equals(WCProductModelTable.LOCAL_SITE_ID, site.id)
                 .apply {
@@ -370,17 +448,15 @@ object ProductSqlUtils {
                 .orderBy(sortField, sortOrder)
                 .apply { limit?.let { limit(it) } }
                 .asModel
-
-        return if (sortType == TITLE_ASC || sortType == TITLE_DESC) {
-            sortProductsByName(products, descending = sortType == TITLE_DESC)
-        } else {
-            products
-        }
     }
 
+    /**
+     * WellSQL doesn't support "COLLATE NOCASE", so titles are sorted on their lowercase copy, letting the
+     * database sort and page the products.
+     */
     private fun getSortField(sortType: ProductSorting) =
         when (sortType) {
-            TITLE_ASC, TITLE_DESC -> WCProductModelTable.NAME
+            TITLE_ASC, TITLE_DESC -> WCProductModelTable.NAME_SORT_KEY
             DATE_ASC, DATE_DESC -> WCProductModelTable.DATE_CREATED
         }
 
@@ -397,7 +473,7 @@ object ProductSqlUtils {
                 .endGroup()
                 .endWhere()
                 .execute()
-                .also(::triggerProductsUpdateIfNeeded)
+                .also { triggerProductsUpdateIfNeeded(it, ProductTableChange(site.id)) }
     }
 
     fun insertOrUpdateProductVariation(variation: WCProductVariationModel): Int {
@@ -416,7 +492,9 @@ object ProductSqlUtils {
         return if (result == null) {
             // Insert
             WellSql.insert(variation).execute()
-            variationsUpdatesTrigger.tryEmit(Unit)
+            variationsUpdatesTrigger.trigger(
+                ProductTableChange(variation.localSiteId, setOf(variation.remoteProductId))
+            )
             1
         } else {
             // Update
@@ -424,18 +502,27 @@ object ProductSqlUtils {
             WellSql.update(WCProductVariationModel::class.java).whereId(oldId)
                     .put(variation, UpdateAllExceptId(WCProductVariationModel::class.java))
                     .execute()
-                    .also(::triggerVariationsUpdateIfNeeded)
+                    .also {
+                        val change = ProductTableChange.ofUpdatedRow(
+                            result.localSiteId,
+                            variation.localSiteId,
+                            result.remoteProductId,
+                            variation.remoteProductId
+                        )
+                        triggerVariationsUpdateIfNeeded(it, change)
+                    }
         }
     }
 
     fun insertOrUpdateProductVariations(variations: List<WCProductVariationModel>): Int {
-        var rowsAffected = 0
+        var writtenVariations = emptyList<WCProductVariationModel>()
         executeInTransaction {
-            variations.forEach {
-                rowsAffected += insertOrUpdateProductVariation(it)
-            }
+            writtenVariations = variationsBulkUpsert.insertOrUpdate(variations)
         }
-        return rowsAffected
+        writtenVariations.groupBy({ it.localSiteId }, { it.remoteProductId }).forEach { (localSiteId, remoteIds) ->
+            variationsUpdatesTrigger.trigger(ProductTableChange(localSiteId, remoteIds.toSet()))
+        }
+        return writtenVariations.size
     }
 
     fun getVariationsForProduct(site: SiteModel, remoteProductId: Long): List<WCProductVariationModel> {
@@ -457,7 +544,7 @@ object ProductSqlUtils {
                 .endGroup()
                 .endWhere()
                 .execute()
-                .also(::triggerVariationsUpdateIfNeeded)
+                .also { triggerVariationsUpdateIfNeeded(it, ProductTableChange(site.id, setOf(remoteProductId))) }
     }
 
     fun getProductCountForSite(
@@ -616,7 +703,7 @@ object ProductSqlUtils {
                 .equals(WCProductModelTable.REMOTE_PRODUCT_ID, remoteProductId)
                 .endWhere()
                 .execute()
-                .also(::triggerProductsUpdateIfNeeded)
+                .also { triggerProductsUpdateIfNeeded(it, ProductTableChange(site.id, setOf(remoteProductId))) }
     }
 
     fun getProductShippingClassListForSite(
@@ -764,13 +851,14 @@ object ProductSqlUtils {
     }
 
     fun insertOrUpdateProductCategories(productCategories: List<WCProductCategoryModel>): Int {
-        var rowsAffected = 0
+        var writtenCategories = emptyList<WCProductCategoryModel>()
         executeInTransaction {
-            productCategories.forEach {
-                rowsAffected += insertOrUpdateProductCategory(it)
-            }
+            writtenCategories = categoriesBulkUpsert.insertOrUpdate(productCategories)
         }
-        return rowsAffected
+        writtenCategories.groupBy({ it.localSiteId }, { it.remoteCategoryId }).forEach { (localSiteId, remoteIds) ->
+            categoriesUpdatesTrigger.trigger(ProductTableChange(localSiteId, remoteIds.toSet()))
+        }
+        return writtenCategories.size
     }
 
     fun insertOrUpdateProductCategory(productCategory: WCProductCategoryModel): Int {
@@ -788,7 +876,9 @@ object ProductSqlUtils {
         return if (result == null) {
             // Insert
             WellSql.insert(productCategory).execute()
-            categoriesUpdatesTrigger.tryEmit(Unit)
+            categoriesUpdatesTrigger.trigger(
+                ProductTableChange(productCategory.localSiteId, setOf(productCategory.remoteCategoryId))
+            )
             1
         } else {
             // Update
@@ -796,7 +886,15 @@ object ProductSqlUtils {
             WellSql.update(WCProductCategoryModel::class.java).whereId(oldId)
                     .put(productCategory, UpdateAllExceptId(WCProductCategoryModel::class.java))
                     .execute()
-                    .also(::triggerCategoriesUpdateIfNeeded)
+                    .also {
+                        val change = ProductTableChange.ofUpdatedRow(
+                            result.localSiteId,
+                            productCategory.localSiteId,
+                            result.remoteCategoryId,
+                            productCategory.remoteCategoryId
+                        )
+                        triggerCategoriesUpdateIfNeeded(it, change)
+                    }
         }
     }
 
@@ -814,12 +912,12 @@ object ProductSqlUtils {
                 .equals(WCProductCategoryModelTable.LOCAL_SITE_ID, 0) // Should never happen, but sanity cleanup
                 .endWhere()
                 .execute()
-                .also(::triggerCategoriesUpdateIfNeeded)
+                .also { triggerCategoriesUpdateIfNeeded(it, ProductTableChange(site.id)) }
     }
 
     fun deleteAllProductCategories() = WellSql.delete(WCProductCategoryModel::class.java)
         .execute()
-        .also(::triggerCategoriesUpdateIfNeeded)
+        .also { triggerCategoriesUpdateIfNeeded(it, ProductTableChange(localSiteId = null)) }
 
     fun getProductTagsForSite(
         localSiteId: Int
@@ -877,11 +975,11 @@ object ProductSqlUtils {
     }
 
     fun insertOrUpdateProductTags(tags: List<WCProductTagModel>): Int {
-        var rowsAffected = 0
-        tags.forEach {
-            rowsAffected += insertOrUpdateProductTag(it)
+        var writtenTags = emptyList<WCProductTagModel>()
+        executeInTransaction {
+            writtenTags = tagsBulkUpsert.insertOrUpdate(tags)
         }
-        return rowsAffected
+        return writtenTags.size
     }
 
     fun insertOrUpdateProductTag(tag: WCProductTagModel): Int {
@@ -920,16 +1018,16 @@ object ProductSqlUtils {
         }
     }
 
-    private fun triggerProductsUpdateIfNeeded(affectedRows: Int) {
-        if (affectedRows != 0) productsUpdatesTrigger.tryEmit(Unit)
+    private fun triggerProductsUpdateIfNeeded(affectedRows: Int, change: ProductTableChange) {
+        if (affectedRows != 0) productsUpdatesTrigger.trigger(change)
     }
 
-    private fun triggerVariationsUpdateIfNeeded(affectedRows: Int) {
-        if (affectedRows != 0) variationsUpdatesTrigger.tryEmit(Unit)
+    private fun triggerVariationsUpdateIfNeeded(affectedRows: Int, change: ProductTableChange) {
+        if (affectedRows != 0) variationsUpdatesTrigger.trigger(change)
     }
 
-    private fun triggerCategoriesUpdateIfNeeded(affectedRows: Int) {
-        if (affectedRows != 0) categoriesUpdatesTrigger.tryEmit(Unit)
+    private fun triggerCategoriesUpdateIfNeeded(affectedRows: Int, change: ProductTableChange) {
+        if (affectedRows != 0) categoriesUpdatesTrigger.trigger(change)
     }
 
     private fun ConditionClauseBuilder<SelectQuery<WCProductModel>>.applyProductFilterOptions(
@@ -0,0 +1,58 @@
+package org.wordpress.android.fluxc.persistence
+
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.channels.consumeEach
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.flow
+import org.wordpress.android.fluxc.persistence.ProductSqlUtils.ProductTableChange
+import java.util.concurrent.CopyOnWriteArraySet
+
+/**
+ * Delivers the [ProductTableChange]s of a table to every collector of [changes], without dropping any.
+ *
+ * The changes a collector hasn't received yet are merged per site, so a slow collector holds at most one pending
+ * change per site, listing the union of their remote ids, instead of every change written since it fell behind.
+ */
+internal class ProductTableChangeTrigger {
+    private val collectors = CopyOnWriteArraySet<PendingChanges>()
+
+    val changes: Flow<ProductTableChange> = flow {
+        val pendingChanges = PendingChanges()
+        collectors.add(pendingChanges)
+        try {
+            pendingChanges.signals.consumeEach {
+                pendingChanges.takeAll().forEach { change -> emit(change) }
+            }
+        } finally {
+            collectors.remove(pendingChanges)
+        }
+    }
+
+    fun trigger(change: ProductTableChange) {
+        collectors.forEach { it.add(change) }
+    }
+
+    private class PendingChanges {
+        val signals = Channel<Unit>(Channel.CONFLATED)
+
+        // The pending remote ids per site, null ids meaning any row of the site
+        private val remoteIdsBySite = LinkedHashMap<Int?, Set<Long>?>()
+
+        fun add(change: ProductTableChange) {
+            synchronized(this) {
+                val siteId = change.localSiteId
+                remoteIdsBySite[siteId] = when {
+                    !remoteIdsBySite.containsKey(siteId) -> change.remoteIds
+                    change.remoteIds == null -> null
+                    else -> remoteIdsBySite[siteId]?.plus(change.remoteIds)
+                }
+            }
+            signals.trySend(Unit)
+        }
+
+        fun takeAll(): List<ProductTableChange> = synchronized(this) {
+            remoteIdsBySite.map { (siteId, remoteIds) -> ProductTableChange(siteId, remoteIds) }
+                .also { remoteIdsBySite.clear() }
+        }
+    }
+}
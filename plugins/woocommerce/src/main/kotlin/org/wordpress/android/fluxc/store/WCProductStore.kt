@@ -9,6 +9,7 @@ import org.greenrobot.eventbus.ThreadMode
 import org.wordpress.android.fluxc.Dispatcher
 import org.wordpress.android.fluxc.Payload
 import org.wordpress.android.fluxc.action.WCProductAction
+import org.wordpress.android.fluxc.annotations.ActionHandler
 import org.wordpress.android.fluxc.annotations.action.Action
 import org.wordpress.android.fluxc.domain.Addon
 import org.wordpress.android.fluxc.model.LocalOrRemoteId.RemoteId
@@ -45,6 +46,7 @@ import org.wordpress.android.fluxc.network.rest.wpcom.wc.product.CoreProductStoc
 import org.wordpress.android.fluxc.network.rest.wpcom.wc.product.ProductRestClient
 import org.wordpress.android.fluxc.network.rest.wpcom.wc.product.ProductVariationMapper
 import org.wordpress.android.fluxc.persistence.ProductSqlUtils
+import org.wordpress.android.fluxc.persistence.ProductSqlUtils.ProductTableChange
 import org.wordpress.android.fluxc.persistence.ProductStorageHelper
 import org.wordpress.android.fluxc.persistence.dao.AddonsDao
 import org.wordpress.android.fluxc.store.WCProductStore.ProductCategorySorting.NAME_ASC
@@ -61,6 +63,7 @@ import javax.inject.Singleton
 
 @Suppress("LargeClass")
 @Singleton
+@ActionHandler(WCProductAction::class)
 class WCProductStore @Inject constructor(
     dispatcher: Dispatcher,
     private val wcProductRestClient: ProductRestClient,
@@ -825,6 +828,17 @@ class WCProductStore @Inject constructor(
     ): List<WCProductModel> =
         ProductSqlUtils.getProducts(site, filterOptions, sortType, excludedProductIds, searchQuery, skuSearchOptions)
 
+    /**
+     * Returns the locally stored products of [site] having words starting with every word of [query] in their name,
+     * SKU or descriptions, best matches first. Unlike [searchProducts], no request is made.
+     */
+    fun searchProductsLocally(
+        site: SiteModel,
+        query: String,
+        excludeSampleProducts: Boolean = false,
+        limit: Int? = null
+    ): List<WCProductModel> = ProductSqlUtils.searchProducts(site, query, excludeSampleProducts, limit)
+
     fun getProductsForSite(site: SiteModel, sortType: ProductSorting = DEFAULT_PRODUCT_SORTING) =
         ProductSqlUtils.getProductsForSite(site, sortType)
 
@@ -1013,6 +1027,12 @@ class WCProductStore @Inject constructor(
     fun observeVariations(site: SiteModel, productId: Long): Flow<List<WCProductVariationModel>> =
         ProductSqlUtils.observeVariations(site, productId)
 
+    fun observeProductChanges(site: SiteModel): Flow<ProductTableChange> =
+        ProductSqlUtils.observeProductChanges(site)
+
+    fun observeVariationChanges(site: SiteModel, productId: Long): Flow<ProductTableChange> =
+        ProductSqlUtils.observeVariationChanges(site, productId)
+
     fun observeCategories(
         site: SiteModel,
         sortType: ProductCategorySorting = DEFAULT_CATEGORY_SORTING
@@ -4,6 +4,7 @@ import com.google.gson.JsonArray
 import com.google.gson.JsonObject
 import org.assertj.core.api.Assertions
 import org.assertj.core.api.Assertions.assertThat
+import org.assertj.core.api.Assertions.assertThatThrownBy
 import org.junit.Test
 import org.wordpress.android.fluxc.network.rest.wpcom.wc.product.CoreProductType
 
@@ -53,4 +54,96 @@ class WCProductModelTest {
 
         assertThat(result).isFalse
     }
+
+    @Test
+    fun `decoded collections are reused until the column changes`() {
+        val sut = WCProductModel().apply {
+            categories = buildTriplets(count = 2)
+            variations = JsonArray().apply { add(1) }.toString()
+        }
+
+        val categories = sut.getCategoryList()
+        val variations = sut.getVariationIdList()
+
+        assertThat(sut.getCategoryList()).isSameAs(categories)
+        assertThat(sut.getVariationIdList()).isSameAs(variations)
+
+        sut.categories = buildTriplets(count = 3)
+
+        assertThat(sut.getCategoryList()).isNotSameAs(categories).hasSize(3)
+        assertThat(sut.getVariationIdList()).isSameAs(variations)
+    }
+
+    @Test
+    fun `decoded collections are read-only`() {
+        val sut = WCProductModel().apply {
+            categories = buildTriplets(count = 2)
+            variations = JsonArray().apply { add(1) }.toString()
+        }
+
+        assertThatThrownBy { (sut.getCategoryList() as MutableList<WCProductModel.ProductTriplet>).clear() }
+                .isInstanceOf(UnsupportedOperationException::class.java)
+        assertThatThrownBy { (sut.getVariationIdList() as MutableList<Long>).add(2) }
+                .isInstanceOf(UnsupportedOperationException::class.java)
+        assertThat(sut.getCategoryList()).hasSize(2)
+        assertThat(sut.getVariationIdList()).containsExactly(1L)
+    }
+
+    @Test
+    fun `changing a returned image does not change the product images`() {
+        val sut = WCProductModel().apply { images = buildImages(count = 2) }
+
+        sut.getImageListOrEmpty().first().src = "https://example.com/changed.jpg"
+
+        assertThat(sut.getImageListOrEmpty().map { it.src })
+                .containsExactly("https://example.com/image0.jpg", "https://example.com/image1.jpg")
+        assertThat(sut.getFirstImageUrl()).isEqualTo("https://example.com/image0.jpg")
+    }
+
+    @Test
+    fun `changing the options of a returned attribute does not change the product attributes`() {
+        val sut = WCProductModel()
+        sut.addAttribute(WCProductModel.ProductAttribute(1, "Color", true, true, listOf("Red")))
+
+        sut.getAttributeList().first().options.add("Blue")
+        sut.attributeList.first().options.add("Green")
+
+        assertThat(sut.getAttributeList().first().options).containsExactly("Red")
+        assertThat(sut.attributeList.first().options).containsExactly("Red")
+    }
+
+    @Test
+    fun `attribute changes are visible in the decoded attributes`() {
+        val sut = WCProductModel()
+        sut.addAttribute(WCProductModel.ProductAttribute(1, "Color", true, true, listOf("Red")))
+        assertThat(sut.getAttributeList()).hasSize(1)
+
+        sut.addAttribute(WCProductModel.ProductAttribute(2, "Size", true, true, listOf("S")))
+
+        assertThat(sut.getAttributeList().map { it.name }).containsExactly("Size", "Color")
+        assertThat(sut.attributeList).hasSize(2)
+    }
+
+    @Test
+    fun `first image url is read from the images`() {
+        val sut = WCProductModel().apply { images = buildImages(count = 2) }
+
+        assertThat(sut.getFirstImageUrl()).isEqualTo("https://example.com/image0.jpg")
+        assertThat(WCProductModel().getFirstImageUrl()).isNull()
+    }
+
+    private fun buildTriplets(count: Int) = JsonArray().apply {
+        repeat(count) { add(WCProductModel.ProductTriplet(it.toLong(), "Name $it", "slug-$it").toJson()) }
+    }.toString()
+
+    private fun buildImages(count: Int) = JsonArray().apply {
+        repeat(count) { index ->
+            add(JsonObject().apply {
+                addProperty("id", index)
+                addProperty("name", "Image $index")
+                addProperty("src", "https://example.com/image$index.jpg")
+                addProperty("alt", "")
+            })
+        }
+    }.toString()
 }
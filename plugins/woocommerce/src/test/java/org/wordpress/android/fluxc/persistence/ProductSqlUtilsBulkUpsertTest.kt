@@ -0,0 +1,109 @@
+package org.wordpress.android.fluxc.persistence
+
+import androidx.test.core.app.ApplicationProvider
+import com.yarolegovich.wellsql.WellSql
+import kotlinx.coroutines.CoroutineStart
+import kotlinx.coroutines.flow.toList
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.yield
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.wordpress.android.fluxc.model.SiteModel
+import org.wordpress.android.fluxc.model.WCProductModel
+import org.wordpress.android.fluxc.persistence.ProductSqlUtils.ProductTableChange
+
+@RunWith(RobolectricTestRunner::class)
+class ProductSqlUtilsBulkUpsertTest {
+    private val site = SiteModel().apply { id = SITE_ID }
+
+    @Before
+    fun setUp() {
+        val config = WellSqlConfig(ApplicationProvider.getApplicationContext(), WellSqlConfig.ADDON_WOOCOMMERCE)
+        WellSql.init(config)
+        config.reset()
+    }
+
+    @Test
+    fun `bulk upsert inserts new products and updates the stored ones`() {
+        ProductSqlUtils.insertOrUpdateProducts(List(2) { buildProduct(remoteId = it + 1L, name = "Old") })
+
+        val products = List(3) { buildProduct(remoteId = it + 1L, name = "New") }
+        val rowsAffected = ProductSqlUtils.insertOrUpdateProducts(products)
+
+        assertThat(rowsAffected).isEqualTo(3)
+        assertThat(products).allMatch { it.id != 0 }
+        val storedProducts = ProductSqlUtils.getProductsForSite(site)
+        assertThat(storedProducts).hasSize(3)
+        assertThat(storedProducts).allMatch { it.name == "New" }
+    }
+
+    @Test
+    fun `bulk upsert writes a product repeated in the batch once`() {
+        val products = listOf(buildProduct(remoteId = 1L, name = "First"), buildProduct(remoteId = 1L, name = "Last"))
+
+        ProductSqlUtils.insertOrUpdateProducts(products)
+
+        val storedProducts = ProductSqlUtils.getProductsForSite(site)
+        assertThat(storedProducts).hasSize(1)
+        assertThat(storedProducts.single().name).isEqualTo("Last")
+    }
+
+    @Test
+    fun `bulk upsert notifies a single change for the batch`() = runBlocking<Unit> {
+        val changes = mutableListOf<ProductTableChange>()
+        val job = launch(start = CoroutineStart.UNDISPATCHED) {
+            ProductSqlUtils.observeProductChanges(site).toList(changes)
+        }
+
+        ProductSqlUtils.insertOrUpdateProducts(List(PAGE_SIZE) { buildProduct(remoteId = it + 1L) })
+        yield()
+        job.cancel()
+
+        assertThat(changes).containsExactly(ProductTableChange(SITE_ID, (1L..PAGE_SIZE).toSet()))
+    }
+
+    @Test
+    fun `syncing product pages in bulk writes the same rows as writing them one by one`() {
+        // Writes every page twice, as a first sync then a refresh of already stored products
+        repeat(2) { repeat(PAGES) { page -> writeOneByOne(buildPage(page)) } }
+        val perRowProducts = ProductSqlUtils.getProductsForSite(site).map { it.remoteProductId to it.name }
+        ProductSqlUtils.deleteProductsForSite(site)
+
+        repeat(2) { repeat(PAGES) { page -> ProductSqlUtils.insertOrUpdateProducts(buildPage(page)) } }
+        val bulkProducts = ProductSqlUtils.getProductsForSite(site).map { it.remoteProductId to it.name }
+
+        assertThat(bulkProducts).hasSize(PAGES * PAGE_SIZE)
+        assertThat(bulkProducts).containsExactlyInAnyOrderElementsOf(perRowProducts)
+    }
+
+    private fun writeOneByOne(products: List<WCProductModel>) {
+        val db = WellSql.giveMeWritableDb()
+        db.beginTransaction()
+        try {
+            products.forEach { ProductSqlUtils.insertOrUpdateProduct(it) }
+            db.setTransactionSuccessful()
+        } finally {
+            db.endTransaction()
+        }
+    }
+
+    private fun buildPage(page: Int) = List(PAGE_SIZE) {
+        buildProduct(remoteId = page * PAGE_SIZE + it + 1L, name = "Product $it")
+    }
+
+    private fun buildProduct(remoteId: Long, name: String = "") = WCProductModel().apply {
+        localSiteId = SITE_ID
+        remoteProductId = remoteId
+        this.name = name
+    }
+
+    private companion object {
+        const val SITE_ID = 6
+        const val PAGES = 3
+        const val PAGE_SIZE = 100
+    }
+}
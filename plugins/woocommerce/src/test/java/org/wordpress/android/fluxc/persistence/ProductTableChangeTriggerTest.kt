@@ -0,0 +1,72 @@
+package org.wordpress.android.fluxc.persistence
+
+import kotlinx.coroutines.CoroutineStart
+import kotlinx.coroutines.flow.toList
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.yield
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+import org.wordpress.android.fluxc.persistence.ProductSqlUtils.ProductTableChange
+
+class ProductTableChangeTriggerTest {
+    private val trigger = ProductTableChangeTrigger()
+
+    @Test
+    fun `the changes pending for a collector are merged per site`() {
+        val changes = collectWhile {
+            trigger.trigger(ProductTableChange(SITE_ID, setOf(1L)))
+            trigger.trigger(ProductTableChange(OTHER_SITE_ID, setOf(1L)))
+            trigger.trigger(ProductTableChange(SITE_ID, setOf(2L)))
+        }
+
+        assertThat(changes).containsExactly(
+            ProductTableChange(SITE_ID, setOf(1L, 2L)),
+            ProductTableChange(OTHER_SITE_ID, setOf(1L))
+        )
+    }
+
+    @Test
+    fun `a pending change of any row of a site covers the other changes of the site`() {
+        val changes = collectWhile {
+            trigger.trigger(ProductTableChange(SITE_ID, setOf(1L)))
+            trigger.trigger(ProductTableChange(SITE_ID))
+            trigger.trigger(ProductTableChange(SITE_ID, setOf(2L)))
+        }
+
+        assertThat(changes).containsExactly(ProductTableChange(SITE_ID))
+    }
+
+    @Test
+    fun `changes received by a collector are not delivered again`() {
+        val changes = collectWhile {
+            trigger.trigger(ProductTableChange(SITE_ID, setOf(1L)))
+            yield()
+            trigger.trigger(ProductTableChange(SITE_ID, setOf(2L)))
+        }
+
+        assertThat(changes).containsExactly(
+            ProductTableChange(SITE_ID, setOf(1L)),
+            ProductTableChange(SITE_ID, setOf(2L))
+        )
+    }
+
+    /**
+     * Collects the changes triggered by [block], which runs without letting the collector receive them until it
+     * suspends or returns.
+     */
+    private fun collectWhile(block: suspend () -> Unit): List<ProductTableChange> = runBlocking {
+        val changes = mutableListOf<ProductTableChange>()
+        val job = launch(start = CoroutineStart.UNDISPATCHED) { trigger.changes.toList(changes) }
+
+        block()
+        yield()
+        job.cancel()
+        changes
+    }
+
+    private companion object {
+        const val SITE_ID = 6
+        const val OTHER_SITE_ID = 7
+    }
+}